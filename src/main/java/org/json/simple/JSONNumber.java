@@ -0,0 +1,116 @@
+package org.json.simple;
+
+import org.json.simple.parser.Numbers;
+
+import java.math.BigDecimal;
+
+/**
+ * A JSON number kept as the text it was parsed from. The text is converted on the first call of a value
+ * method, and written back unchanged by JSONValue.writeJSONString, so numbers that are only copied from
+ * input to output are never converted and never lose precision.
+ *
+ * @see org.json.simple.parser.JSONParser#setLazyNumbers(boolean)
+ */
+public class JSONNumber extends Number implements JSONAware, Comparable<JSONNumber> {
+	private static final long serialVersionUID = -6304850366306546727L;
+
+	private final String text;
+
+	private transient Number value;
+
+	/**
+	 * @param text a number in JSON syntax
+	 */
+	public JSONNumber(String text) {
+		if (text == null)
+			throw new NullPointerException("text");
+		this.text = text;
+	}
+
+	/**
+	 * @return the number converted the way JSONParser converts numbers: Integer, Long or BigInteger for
+	 * integers, Double or BigDecimal for decimals
+	 * @throws NumberFormatException if the text is not a JSON number, or one the parser rejects because its
+	 *                               exponent is beyond the range of a BigDecimal
+	 */
+	public Number toNumber() {
+		Number number = value;
+		if (number == null)
+			value = number = Numbers.valueOf(text);
+		return number;
+	}
+
+	/**
+	 * @return the exact value of the text
+	 * @throws NumberFormatException if the text is not a JSON number
+	 */
+	public BigDecimal toBigDecimal() {
+		Number number = toNumber();
+		if (number instanceof BigDecimal)
+			return (BigDecimal) number;
+		return new BigDecimal(text);
+	}
+
+	/**
+	 * @return true if the text has no fraction and no exponent
+	 */
+	public boolean isIntegral() {
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c == '.' || c == 'e' || c == 'E')
+				return false;
+		}
+		return true;
+	}
+
+	@Override
+	public int intValue() {
+		return toNumber().intValue();
+	}
+
+	@Override
+	public long longValue() {
+		return toNumber().longValue();
+	}
+
+	@Override
+	public float floatValue() {
+		return toNumber().floatValue();
+	}
+
+	@Override
+	public double doubleValue() {
+		return toNumber().doubleValue();
+	}
+
+	@Override
+	public String toJSONString() {
+		return text;
+	}
+
+	/**
+	 * @return the text of the number as it was parsed
+	 */
+	@Override
+	public String toString() {
+		return text;
+	}
+
+	@Override
+	public int compareTo(JSONNumber other) {
+		return toBigDecimal().compareTo(other.toBigDecimal());
+	}
+
+	/**
+	 * Two JSONNumbers are equal if their converted values are equal, so "1.0" and "1.00" are, "1" and "1.0" are not.
+	 */
+	@Override
+	public boolean equals(Object o) {
+		return this == o || o instanceof JSONNumber && toNumber().equals(((JSONNumber) o).toNumber());
+	}
+
+	@Override
+	public int hashCode() {
+		return toNumber().hashCode();
+	}
+}
@@ -1,6 +1,6 @@
 package org.json.simple;
 
-import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.JSONParserPool;
 import org.json.simple.parser.ParseException;
 import org.json.simple.writer.JSONWriter;
 
@@ -42,8 +42,7 @@ public class JSONValue {
 	 */
 	public static Object parse(Reader in) {
 		try {
-			JSONParser parser = new JSONParser();
-			return parser.parse(in);
+			return JSONParserPool.getShared().parse(in);
 		} catch (Exception e) {
 			return null;
 		}
@@ -68,8 +67,11 @@ public class JSONValue {
 	 * instead
 	 */
 	public static Object parse(String s) {
-		StringReader in = new StringReader(s);
-		return parse(in);
+		try {
+			return JSONParserPool.getShared().parse(s);
+		} catch (Exception e) {
+			return null;
+		}
 	}
 
 	/**
@@ -88,13 +90,11 @@ public class JSONValue {
 	 * @see org.json.simple.parser.JSONParser
 	 */
 	public static Object parseWithException(Reader in) throws IOException, ParseException {
-		JSONParser parser = new JSONParser();
-		return parser.parse(in);
+		return JSONParserPool.getShared().parse(in);
 	}
 
 	public static Object parseWithException(String s) throws ParseException {
-		JSONParser parser = new JSONParser();
-		return parser.parse(s);
+		return JSONParserPool.getShared().parse(s);
 	}
 
 	/**
@@ -0,0 +1,33 @@
+package org.json.simple.parser;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Reads the remaining bytes of a ByteBuffer with bulk gets, without changing the position of the source buffer.
+ */
+class ByteBufferInputStream extends InputStream {
+	private final ByteBuffer buf;
+
+	ByteBufferInputStream(ByteBuffer buf) {
+		this.buf = buf.duplicate();
+	}
+
+	public int read() {
+		return buf.hasRemaining() ? buf.get() & 0xFF : -1;
+	}
+
+	public int read(byte[] b, int off, int len) {
+		if (len == 0)
+			return 0;
+		int n = Math.min(len, buf.remaining());
+		if (n == 0)
+			return -1;
+		buf.get(b, off, n);
+		return n;
+	}
+
+	public int available() {
+		return buf.remaining();
+	}
+}
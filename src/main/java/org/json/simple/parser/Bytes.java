@@ -0,0 +1,164 @@
+package org.json.simple.parser;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Classifies eight bytes at a time in a long read in little-endian order, so that byte i of the input
+ * is bits 8i to 8i + 7 of the word. A mask has the high bit of every matching byte set and no other bit.
+ * Also decodes UTF-8 for the scanners.
+ */
+final class Bytes {
+	private static final long ONES = 0x0101010101010101L;
+	private static final long LOW_BITS = 0x7F7F7F7F7F7F7F7FL;
+	static final long HIGH_BITS = 0x8080808080808080L;
+
+	static final long QUOTES = pattern('"');
+	static final long BACKSLASHES = pattern('\\');
+	static final long COMMAS = pattern(',');
+	static final long COLONS = pattern(':');
+
+	/**
+	 * '[' and '{' differ only in bit 5, and so do ']' and '}'
+	 */
+	private static final long BIT_5 = pattern(0x20);
+	private static final long OPENING_BRACES = pattern('{');
+	private static final long CLOSING_BRACES = pattern('}');
+
+	private Bytes() {
+	}
+
+	/**
+	 * @return a word with every byte equal to c
+	 */
+	static long pattern(int c) {
+		return (c & 0xFFL) * ONES;
+	}
+
+	/**
+	 * @return the mask of the bytes of word equal to the byte of pattern, without false positives
+	 */
+	static long equal(long word, long pattern) {
+		long t = word ^ pattern;
+		return ~(((t & LOW_BITS) + LOW_BITS) | t | LOW_BITS);
+	}
+
+	/**
+	 * @return the mask of the '[' and '{' bytes of word
+	 */
+	static long opening(long word) {
+		return equal(word | BIT_5, OPENING_BRACES);
+	}
+
+	/**
+	 * @return the mask of the ']' and '}' bytes of word
+	 */
+	static long closing(long word) {
+		return equal(word | BIT_5, CLOSING_BRACES);
+	}
+
+	/**
+	 * @return the mask of the bytes that follow an odd number of the bytes of mask, counting
+	 * the byte itself
+	 */
+	static long prefixParity(long mask) {
+		mask ^= mask << 8;
+		mask ^= mask << 16;
+		mask ^= mask << 32;
+		return mask;
+	}
+
+	/**
+	 * @return the number of bytes in mask
+	 */
+	static int count(long mask) {
+		return Long.bitCount(mask);
+	}
+
+	/**
+	 * @return the index in its word of the first byte of a non-zero mask
+	 */
+	static int first(long mask) {
+		return Long.numberOfTrailingZeros(mask) >>> 3;
+	}
+
+	/**
+	 * @param words a little-endian buffer
+	 * @return the index of the first '"' or '\' in [from, to), or to
+	 */
+	static int indexOfQuoteOrBackslash(ByteBuffer words, int from, int to) {
+		for (; from + 8 <= to; from += 8) {
+			long word = words.getLong(from);
+			long mask = equal(word, QUOTES) | equal(word, BACKSLASHES);
+			if (mask != 0)
+				return from + first(mask);
+		}
+		for (; from < to; from++) {
+			byte c = words.get(from);
+			if (c == '"' || c == '\\')
+				break;
+		}
+		return from;
+	}
+
+	/**
+	 * Decodes the UTF-8 bytes in[start, end) into out, rejecting overlong forms,
+	 * encoded surrogates, code points above U+10FFFF and truncated sequences.
+	 * A sequence never produces more chars than it has bytes.
+	 *
+	 * @return the number of chars written, or the complement ~i of the index i of the first malformed byte
+	 */
+	static int decodeUtf8(byte[] in, int start, int end, char[] out) {
+		int i = start;
+		int j = 0;
+		while (i < end) {
+			int b = in[i];
+			if (b >= 0) {
+				out[j++] = (char) b;
+				i++;
+				continue;
+			}
+			b &= 0xFF;
+			int lead = i;
+			int cp;
+			int min;
+			int max;
+			int n;
+			if (b >= 0xC2 && b <= 0xDF) {
+				cp = b & 0x1F;
+				n = 1;
+				min = 0x80;
+				max = 0xBF;
+			} else if (b >= 0xE0 && b <= 0xEF) {
+				cp = b & 0x0F;
+				n = 2;
+				min = b == 0xE0 ? 0xA0 : 0x80;
+				max = b == 0xED ? 0x9F : 0xBF;
+			} else if (b >= 0xF0 && b <= 0xF4) {
+				cp = b & 0x07;
+				n = 3;
+				min = b == 0xF0 ? 0x90 : 0x80;
+				max = b == 0xF4 ? 0x8F : 0xBF;
+			} else {
+				return ~lead;
+			}
+			i++;
+			for (int k = 0; k < n; k++, i++) {
+				if (i >= end)
+					return ~lead;
+				int c = in[i] & 0xFF;
+				if (c < min || c > max)
+					return ~i;
+				cp = (cp << 6) | (c & 0x3F);
+				min = 0x80;
+				max = 0xBF;
+			}
+			if (cp >= 0x10000) {
+				out[j++] = Character.highSurrogate(cp);
+				out[j++] = Character.lowSurrogate(cp);
+			} else {
+				out[j++] = (char) cp;
+			}
+		}
+		return j;
+	}
+}
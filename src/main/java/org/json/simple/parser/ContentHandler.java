@@ -58,6 +58,19 @@ public interface ContentHandler {
 	 */
 	boolean startObjectEntry(String key) throws ParseException, IOException;
 
+	/**
+	 * Asked before startObjectEntry whether the entry should be skipped. The value of a skipped entry is
+	 * only scanned for its end: its strings are not unescaped, its numbers are not converted and no
+	 * callback is made for the entry, not even startObjectEntry or endObjectEntry.
+	 * @param key - Key of a JSON object entry.
+	 * @return true to skip the entry; false, the default, to receive it.
+	 * @throws ParseException JSONParser will stop and throw the same exception to the caller when receiving this exception.
+	 * @throws IOException    reads errors
+	 */
+	default boolean skipObjectEntry(String key) throws ParseException, IOException {
+		return false;
+	}
+
 	/**
 	 * Receive notification of the end of the value of previous object entry.
 	 *
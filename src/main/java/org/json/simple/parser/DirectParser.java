@@ -0,0 +1,591 @@
+package org.json.simple.parser;
+
+import org.json.simple.JSONNumber;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The engine of a JSONParser set to {@link JSONParser#ENGINE_DIRECT}: a hand-written scanner and parser that
+ * read the input of a Yylex in place while the whole input is in its buffer. parse builds a document in one
+ * pass, keeping the open objects and arrays on an explicit stack instead of going through tokens and the
+ * JSONParser state machine, and next scans the tokens of content handler, cursor and sequence parses.
+ * Both accept what Yylex and JSONParser accept, separators included, and create the same values.
+ * <p>
+ * Only well-formed input is read here. Anything else, from a lone backslash in a string to every kind of
+ * error, is left to the Yylex, which is never moved by this class: parse returns FALLBACK without having
+ * changed anything, and next returns null with offset() at the start of the token, for the Yylex to be moved
+ * there. The errors are thus those of the Yylex, at the same positions.
+ */
+final class DirectParser {
+	/**
+	 * returned by parse for input that has to be parsed by the Yylex
+	 */
+	static final Object FALLBACK = new Object();
+
+	/*
+	 * The marker in numberTypes of an object on the stack, and the states of parse: a value is expected,
+	 * the content of an array or of an object, or the value of an object entry after its key.
+	 */
+	private static final int OBJECT = -1;
+	private static final int S_VALUE = 0;
+	private static final int S_IN_ARRAY = 1;
+	private static final int S_IN_OBJECT = 2;
+	private static final int S_PASSED_PAIR_KEY = 3;
+
+	private final Yylex lexer;
+
+	/*
+	 * The input: exactly one of chars and bytes is set, base is the offset of position 0, end the offset just
+	 * after the input, pos the offset where the next token is scanned from and tokenStart the offset of the
+	 * last token.
+	 */
+	private char[] chars;
+	private byte[] bytes;
+	private int base;
+	private int end;
+	private int pos;
+	private int tokenStart;
+
+	private final Yytoken valueToken = new Yytoken(Yytoken.TYPE_VALUE, null);
+	private final StringBuilder sb = new StringBuilder();
+	private char[] decodeBuffer;
+
+	/*
+	 * The objects and arrays being built by parse: numberTypes holds the widest number type of each array
+	 * or OBJECT, keys the key of the entry being read in each object.
+	 */
+	private Object[] containers = new Object[16];
+	private int[] numberTypes = new int[16];
+	private String[] keys = new String[16];
+
+	DirectParser(Yylex lexer) {
+		this.lexer = lexer;
+	}
+
+	/**
+	 * Starts reading the input of the lexer from where the lexer is.
+	 */
+	void start() {
+		chars = lexer.yychars();
+		bytes = lexer.yybytes();
+		base = lexer.yybase();
+		end = lexer.yyend();
+		pos = tokenStart = lexer.yyoffset();
+	}
+
+	/**
+	 * Drops the input, so that a parser kept for reuse does not hold on to it.
+	 */
+	void clear() {
+		chars = null;
+		bytes = null;
+		valueToken.value = null;
+		base = end = pos = tokenStart = 0;
+	}
+
+	/**
+	 * @return true if the stacks and buffers did not grow past maxBuffer, so that this parser can be kept
+	 * by a released JSONParser
+	 */
+	boolean fits(int maxBuffer) {
+		return containers.length <= maxBuffer && sb.capacity() <= maxBuffer
+				&& (decodeBuffer == null || decodeBuffer.length <= maxBuffer);
+	}
+
+	/**
+	 * @return the offset in the buffer where the next token is scanned from
+	 */
+	int offset() {
+		return pos;
+	}
+
+	/**
+	 * Continues from an offset the lexer moved to.
+	 */
+	void seek(int offset) {
+		pos = tokenStart = offset;
+	}
+
+	/**
+	 * @return the position of the beginning of the last token
+	 */
+	int getPosition() {
+		return tokenStart - base;
+	}
+
+	/**
+	 * Scans the next token.
+	 *
+	 * @param keyExpected true if a string can only be an object key, see Yylex.keyExpected
+	 * @return the token, Yytoken.EOF at the end of input, or null if the token is left to the lexer
+	 */
+	Yytoken next(boolean keyExpected) {
+		int i = whitespace(pos);
+		tokenStart = i;
+		if (i == end) {
+			pos = i;
+			return Yytoken.EOF;
+		}
+		Object value;
+		int c = bytes != null ? bytes[i] : chars[i];
+		switch (c) {
+			case '{':
+				pos = i + 1;
+				return Yytoken.LEFT_BRACE;
+			case '}':
+				pos = i + 1;
+				return Yytoken.RIGHT_BRACE;
+			case '[':
+				pos = i + 1;
+				return Yytoken.LEFT_SQUARE;
+			case ']':
+				pos = i + 1;
+				return Yytoken.RIGHT_SQUARE;
+			case ',':
+				pos = i + 1;
+				return Yytoken.COMMA;
+			case ':':
+				pos = i + 1;
+				return Yytoken.COLON;
+			case '"':
+				value = string(i, keyExpected);
+				if (value == FALLBACK)
+					break;
+				// the lexer reports a string at its closing quote
+				tokenStart = pos - 1;
+				valueToken.value = value;
+				return valueToken;
+			default:
+				value = primitive(i, c);
+		}
+		if (value == FALLBACK) {
+			pos = tokenStart = i;
+			return null;
+		}
+		valueToken.value = value;
+		return valueToken;
+	}
+
+	/**
+	 * Parses a value with the rules of JSONParser: commas are optional and may repeat inside objects and
+	 * arrays, and so may the colon after a key.
+	 *
+	 * @param containerFactory the factory for objects and arrays, or null
+	 * @param sequence         true to stop after the value instead of requiring the end of input,
+	 *                         see JSONParser.parseNext
+	 * @return the value, JSONParser.END_OF_SEQUENCE if a sequence has only whitespace left, or FALLBACK
+	 */
+	Object parse(ContainerFactory containerFactory, boolean sequence) {
+		char[] chars = this.chars;
+		byte[] bytes = this.bytes;
+		int end = this.end;
+		int start = pos;
+		int depth = 0;
+		int high = 0;
+		int state = S_VALUE;
+		int i = start;
+		try {
+			while (true) {
+				i = whitespace(i);
+				if (i == end) {
+					if (sequence && state == S_VALUE) {
+						pos = tokenStart = end;
+						return JSONParser.END_OF_SEQUENCE;
+					}
+					return fallback(start);
+				}
+				int c = bytes != null ? bytes[i] : chars[i];
+				Object value;
+				switch (state) {
+					case S_IN_ARRAY:
+						if (c == ',') {
+							i++;
+							continue;
+						}
+						if (c == ']') {
+							if (--depth == 0)
+								return finish(containers[0], i, i + 1, sequence, start);
+							state = numberTypes[depth - 1] == OBJECT ? S_IN_OBJECT : S_IN_ARRAY;
+							i++;
+							continue;
+						}
+						break;
+					case S_IN_OBJECT:
+						if (c == ',') {
+							i++;
+							continue;
+						}
+						if (c == '}') {
+							if (--depth == 0)
+								return finish(containers[0], i, i + 1, sequence, start);
+							state = numberTypes[depth - 1] == OBJECT ? S_IN_OBJECT : S_IN_ARRAY;
+							i++;
+							continue;
+						}
+						if (c != '"')
+							return fallback(start);
+						value = string(i, true);
+						if (value == FALLBACK)
+							return fallback(start);
+						keys[depth - 1] = (String) value;
+						i = pos;
+						state = S_PASSED_PAIR_KEY;
+						continue;
+					case S_PASSED_PAIR_KEY:
+						if (c == ':') {
+							i++;
+							continue;
+						}
+						break;
+				}
+
+				// a value in state S_VALUE, S_IN_ARRAY or S_PASSED_PAIR_KEY
+				Object container;
+				int type;
+				if (c == '{') {
+					container = JSONParser.createObjectContainer(containerFactory);
+					type = OBJECT;
+				} else if (c == '[') {
+					container = JSONParser.createArrayContainer(containerFactory);
+					type = JSONParser.NUMBER_TYPE_NONE;
+				} else {
+					value = c == '"' ? string(i, false) : primitive(i, c);
+					if (value == FALLBACK)
+						return fallback(start);
+					if (state == S_VALUE)
+						return finish(value, c == '"' ? pos - 1 : i, pos, sequence, start);
+					i = pos;
+					if (state == S_IN_ARRAY) {
+						numberTypes[depth - 1] = JSONParser.addArrayValue((List) containers[depth - 1], numberTypes[depth - 1], value);
+					} else {
+						((Map) containers[depth - 1]).put(keys[depth - 1], value);
+						state = S_IN_OBJECT;
+					}
+					continue;
+				}
+
+				// the new object or array is added to its parent before its content is read, as JSONParser does
+				if (state == S_IN_ARRAY) {
+					((List) containers[depth - 1]).add(container);
+					numberTypes[depth - 1] = JSONParser.NUMBER_TYPE_OTHER;
+				} else if (state == S_PASSED_PAIR_KEY) {
+					((Map) containers[depth - 1]).put(keys[depth - 1], container);
+				}
+				if (depth == containers.length) {
+					containers = Arrays.copyOf(containers, depth * 2);
+					numberTypes = Arrays.copyOf(numberTypes, depth * 2);
+					keys = Arrays.copyOf(keys, depth * 2);
+				}
+				containers[depth] = container;
+				numberTypes[depth++] = type;
+				high = Math.max(high, depth);
+				state = type == OBJECT ? S_IN_OBJECT : S_IN_ARRAY;
+				i++;
+			}
+		} finally {
+			Arrays.fill(containers, 0, high, null);
+			Arrays.fill(keys, 0, high, null);
+		}
+	}
+
+	/**
+	 * Ends parse after the value whose last token is [last, after).
+	 */
+	private Object finish(Object value, int last, int after, boolean sequence, int start) {
+		if (sequence) {
+			pos = after;
+			tokenStart = last;
+			return value;
+		}
+		if (whitespace(after) != end)
+			return fallback(start);
+		pos = tokenStart = end;
+		return value;
+	}
+
+	private Object fallback(int start) {
+		pos = tokenStart = start;
+		return FALLBACK;
+	}
+
+	/**
+	 * @return the offset of the first char or byte from i on that is not whitespace, or end
+	 */
+	private int whitespace(int i) {
+		int end = this.end;
+		if (bytes != null) {
+			byte[] b = bytes;
+			while (i < end && (b[i] == ' ' || b[i] == '\n' || b[i] == '\r' || b[i] == '\t'))
+				i++;
+		} else {
+			char[] b = chars;
+			while (i < end && (b[i] == ' ' || b[i] == '\n' || b[i] == '\r' || b[i] == '\t'))
+				i++;
+		}
+		return i;
+	}
+
+	/**
+	 * Scans a number, true, false or null starting with c at offset i and sets pos after it.
+	 *
+	 * @return the value, or FALLBACK
+	 */
+	private Object primitive(int i, int c) {
+		switch (c) {
+			case 't':
+				return literal(i, "true", Boolean.TRUE);
+			case 'f':
+				return literal(i, "false", Boolean.FALSE);
+			case 'n':
+				return literal(i, "null", null);
+			case '-':
+			case '0':
+			case '1':
+			case '2':
+			case '3':
+			case '4':
+			case '5':
+			case '6':
+			case '7':
+			case '8':
+			case '9':
+				return number(i);
+			default:
+				return FALLBACK;
+		}
+	}
+
+	private Object literal(int i, String text, Object value) {
+		int n = text.length();
+		if (end - i < n)
+			return FALLBACK;
+		for (int k = 1; k < n; k++) {
+			if (charAt(i + k) != text.charAt(k))
+				return FALLBACK;
+		}
+		pos = i + n;
+		return value;
+	}
+
+	/**
+	 * Scans the longest match of '-'?[0-9]+('.'[0-9]+)?([eE][-+]?[0-9]+)? at offset start, as the lexer does.
+	 */
+	private Object number(int start) {
+		int i = start;
+		if (charAt(i) == '-')
+			i++;
+		int digits = i;
+		i = digits(i);
+		if (i == digits)
+			return FALLBACK;
+		boolean decimal = false;
+		if (i + 1 < end && charAt(i) == '.' && isDigit(charAt(i + 1))) {
+			decimal = true;
+			i = digits(i + 2);
+		}
+		if (i + 1 < end && (charAt(i) == 'e' || charAt(i) == 'E')) {
+			int j = i + 1;
+			if (charAt(j) == '-' || charAt(j) == '+')
+				j++;
+			if (j < end && isDigit(charAt(j))) {
+				decimal = true;
+				i = digits(j + 1);
+			}
+		}
+		Object value;
+		if (lexer.lazyNumbers)
+			value = decimal && !Numbers.inRange(chars, bytes, start, i) ? null : new JSONNumber(Numbers.text(chars, bytes, start, i));
+		else
+			value = decimal ? Numbers.decimal(chars, bytes, start, i) : Numbers.integer(chars, bytes, start, i);
+		// a decimal beyond the BigDecimal range is reported by the lexer
+		if (value == null)
+			return FALLBACK;
+		pos = i;
+		return value;
+	}
+
+	private int digits(int i) {
+		while (i < end && isDigit(charAt(i)))
+			i++;
+		return i;
+	}
+
+	private static boolean isDigit(int c) {
+		return c >= '0' && c <= '9';
+	}
+
+	/**
+	 * @return the char at offset i, or the byte as a negative number if it is not ASCII
+	 */
+	private int charAt(int i) {
+		return bytes != null ? bytes[i] : chars[i];
+	}
+
+	/**
+	 * Scans the string whose opening quote is at offset i and sets pos after it. As in Yylex.zzString, keys are
+	 * taken from the symbol table and other strings are converted to temporal values.
+	 *
+	 * @param key true if the string is an object key
+	 * @return the value, or FALLBACK
+	 */
+	private Object string(int i, boolean key) {
+		int start = i + 1;
+		int end = this.end;
+		int run;
+		JSONSymbolTable symbolTable = key ? lexer.getSymbolTable() : null;
+		String s;
+		if (bytes != null) {
+			byte[] b = bytes;
+			int ascii = 0;
+			for (run = start; run < end && b[run] != '"' && b[run] != '\\'; run++)
+				ascii |= b[run];
+			if (run == end)
+				return FALLBACK;
+			if (b[run] == '\\')
+				return escaped(start, run, key);
+			if (symbolTable != null) {
+				s = symbolTable.intern(b, start, run - start);
+				if (s == null) {
+					int n = decode(start, run);
+					if (n < 0)
+						return FALLBACK;
+					s = symbolTable.intern(decodeBuffer, 0, n);
+				}
+			} else if (ascii >= 0) {
+				s = new String(b, start, run - start, StandardCharsets.ISO_8859_1);
+			} else {
+				int n = decode(start, run);
+				if (n < 0)
+					return FALLBACK;
+				s = new String(decodeBuffer, 0, n);
+			}
+		} else {
+			char[] b = chars;
+			run = start;
+			while (run < end && b[run] != '"' && b[run] != '\\')
+				run++;
+			if (run == end)
+				return FALLBACK;
+			if (b[run] == '\\')
+				return escaped(start, run, key);
+			s = symbolTable != null ? symbolTable.intern(b, start, run - start) : new String(b, start, run - start);
+		}
+		pos = run + 1;
+		return key ? s : Temporals.convert(s, lexer.temporalTypes);
+	}
+
+	/**
+	 * Continues string at the backslash at offset i, after the unescaped run from start.
+	 */
+	private Object escaped(int start, int i, boolean key) {
+		StringBuilder sb = this.sb;
+		sb.setLength(0);
+		int end = this.end;
+		while (true) {
+			if (!append(start, i))
+				return FALLBACK;
+			if (i == end)
+				return FALLBACK;
+			int c = charAt(i);
+			if (c == '"')
+				break;
+			// a backslash
+			if (i + 1 == end)
+				return FALLBACK;
+			switch (charAt(i + 1)) {
+				case '"':
+					sb.append('"');
+					break;
+				case '\\':
+					sb.append('\\');
+					break;
+				case '/':
+					sb.append('/');
+					break;
+				case 'b':
+					sb.append('\b');
+					break;
+				case 'f':
+					sb.append('\f');
+					break;
+				case 'n':
+					sb.append('\n');
+					break;
+				case 'r':
+					sb.append('\r');
+					break;
+				case 't':
+					sb.append('\t');
+					break;
+				case 'u':
+					if (end - i < 6)
+						return FALLBACK;
+					int ch = 0;
+					for (int k = i + 2; k < i + 6; k++) {
+						int digit = hex(charAt(k));
+						if (digit < 0)
+							return FALLBACK;
+						ch = (ch << 4) | digit;
+					}
+					sb.append((char) ch);
+					i += 4;
+					break;
+				default:
+					// a lone backslash, kept by the lexer
+					return FALLBACK;
+			}
+			i += 2;
+			start = i;
+			while (i < end && (c = charAt(i)) != '"' && c != '\\')
+				i++;
+		}
+		pos = i + 1;
+		if (key) {
+			JSONSymbolTable symbolTable = lexer.getSymbolTable();
+			return symbolTable != null ? symbolTable.intern(sb) : sb.toString();
+		}
+		return Temporals.convert(sb.toString(), lexer.temporalTypes);
+	}
+
+	private static int hex(int c) {
+		if (c >= '0' && c <= '9')
+			return c - '0';
+		if (c >= 'a' && c <= 'f')
+			return c - 'a' + 10;
+		if (c >= 'A' && c <= 'F')
+			return c - 'A' + 10;
+		return -1;
+	}
+
+	/**
+	 * Appends the buffer range [start, end) to sb.
+	 *
+	 * @return false if the bytes are not well-formed UTF-8
+	 */
+	private boolean append(int start, int end) {
+		if (bytes == null) {
+			sb.append(chars, start, end - start);
+			return true;
+		}
+		int n = decode(start, end);
+		if (n < 0)
+			return false;
+		sb.append(decodeBuffer, 0, n);
+		return true;
+	}
+
+	/**
+	 * Decodes the bytes [start, end) into decodeBuffer.
+	 *
+	 * @return the number of chars, or a negative number if the bytes are not well-formed UTF-8
+	 */
+	private int decode(int start, int end) {
+		int len = end - start;
+		if (decodeBuffer == null || decodeBuffer.length < len)
+			decodeBuffer = new char[Math.max(len, 256)];
+		return Bytes.decodeUtf8(bytes, start, end, decodeBuffer);
+	}
+}
@@ -0,0 +1,446 @@
+package org.json.simple.parser;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pull parser over JSON text: the caller moves through the text one event at a time with {@link #next()}
+ * and may stop at any point.
+ * <pre>
+ * JSONCursor cursor = new JSONCursor(text);
+ * while (cursor.next() != JSONCursor.END_DOCUMENT) {
+ *     if (cursor.currentEvent() == JSONCursor.KEY &amp;&amp; "id".equals(cursor.getString())) {
+ *         cursor.next();
+ *         return cursor.getLong();
+ *     }
+ * }
+ * </pre>
+ * The events come from the content handler mode of {@link JSONParser}, which the cursor drives one
+ * callback at a time, so the cursor accepts exactly the text the parser accepts and returns the same
+ * values. Please note that JSONCursor is NOT thread-safe.
+ */
+public class JSONCursor {
+	/**
+	 * no event has been read yet
+	 */
+	public static final int NONE = 0;
+	public static final int START_OBJECT = 1;
+	public static final int END_OBJECT = 2;
+	public static final int START_ARRAY = 3;
+	public static final int END_ARRAY = 4;
+	/**
+	 * the key of an object entry, see {@link #getString()}
+	 */
+	public static final int KEY = 5;
+	/**
+	 * a string, number, boolean or null, see {@link #getValue()}
+	 */
+	public static final int VALUE = 6;
+	public static final int END_DOCUMENT = 7;
+
+	private final JSONParser parser;
+	private final Handler handler = new Handler();
+
+	private int event = NONE;
+	private String key;
+	private Object value;
+	private int depth;
+	private boolean entrySkipped;
+
+	/**
+	 * Creates a cursor without input, to be given input with one of the reset methods.
+	 */
+	public JSONCursor() {
+		this(new JSONParser());
+	}
+
+	/**
+	 * Creates a cursor without input that reads with the given parser and its options.
+	 *
+	 * @param parser the parser, which must not be used for anything else while the cursor is in use
+	 */
+	public JSONCursor(JSONParser parser) {
+		this.parser = parser;
+	}
+
+	public JSONCursor(String s) {
+		this();
+		reset(s);
+	}
+
+	public JSONCursor(Reader in) {
+		this();
+		reset(in);
+	}
+
+	public JSONCursor(InputStream in) {
+		this();
+		reset(in);
+	}
+
+	public JSONCursor(byte[] b) {
+		this();
+		reset(b);
+	}
+
+	/**
+	 * Starts over with text scanned in memory.
+	 *
+	 * @param s the JSON text
+	 */
+	public void reset(String s) {
+		parser.reset(s);
+		clear();
+	}
+
+	/**
+	 * Starts over with a character reader.
+	 *
+	 * @param in the JSON text
+	 */
+	public void reset(Reader in) {
+		parser.reset(in);
+		clear();
+	}
+
+	/**
+	 * Starts over with a byte stream, read as UTF-8.
+	 *
+	 * @param in the JSON text
+	 */
+	public void reset(InputStream in) {
+		parser.reset(in);
+		clear();
+	}
+
+	/**
+	 * Starts over with UTF-8 encoded bytes, scanned in place.
+	 *
+	 * @param b the JSON text
+	 */
+	public void reset(byte[] b) {
+		parser.reset(b, 0, b.length);
+		clear();
+	}
+
+	/**
+	 * Starts over with the chars <tt>s[off, off + len)</tt>, scanned in place.
+	 */
+	void reset(char[] s, int off, int len) {
+		parser.reset(s, off, len);
+		clear();
+	}
+
+	/**
+	 * Starts over with the UTF-8 encoded bytes <tt>b[off, off + len)</tt>, scanned in place.
+	 */
+	void reset(byte[] b, int off, int len) {
+		parser.reset(b, off, len);
+		clear();
+	}
+
+	private void clear() {
+		event = NONE;
+		key = null;
+		value = null;
+		depth = 0;
+		entrySkipped = false;
+	}
+
+	/**
+	 * Moves to the next event.
+	 *
+	 * @return the new current event, END_DOCUMENT once the text has been read completely
+	 * @throws IOException    if the input fails
+	 * @throws ParseException if the text is not valid JSON
+	 */
+	public int next() throws IOException, ParseException {
+		if (event == END_DOCUMENT)
+			return END_DOCUMENT;
+		if (event == END_OBJECT || event == END_ARRAY)
+			depth--;
+		key = null;
+		value = null;
+		entrySkipped = false;
+		handler.event = END_DOCUMENT;
+		parser.resume(handler);
+		event = handler.event;
+		if (event == START_OBJECT || event == START_ARRAY)
+			depth++;
+		return event;
+	}
+
+	/**
+	 * @return false once END_DOCUMENT has been reached
+	 */
+	public boolean hasNext() {
+		return event != END_DOCUMENT;
+	}
+
+	/**
+	 * @return the current event, NONE before the first call of {@link #next()}
+	 */
+	public int currentEvent() {
+		return event;
+	}
+
+	/**
+	 * @return the number of objects and arrays around the current event; a START event counts its
+	 * own container, an END event does too
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * @return the key of a KEY event, or the value of a VALUE event that is a string
+	 * @throws IllegalStateException if the current event is neither
+	 */
+	public String getString() {
+		if (event == KEY)
+			return key;
+		if (event == VALUE && value instanceof String)
+			return (String) value;
+		throw new IllegalStateException("Not a string: " + describe());
+	}
+
+	/**
+	 * @return the value of a VALUE event as the parser returns it: String, Number, Boolean, a java.time value or null
+	 * @throws IllegalStateException if the current event is not VALUE
+	 */
+	public Object getValue() {
+		if (event != VALUE)
+			throw new IllegalStateException("Not a value: " + describe());
+		return value;
+	}
+
+	/**
+	 * @return the number of a VALUE event as a long
+	 * @throws IllegalStateException if the current event is not a number
+	 */
+	public long getLong() {
+		return getNumber().longValue();
+	}
+
+	/**
+	 * @return the number of a VALUE event as an int
+	 * @throws IllegalStateException if the current event is not a number
+	 */
+	public int getInt() {
+		return getNumber().intValue();
+	}
+
+	/**
+	 * @return the number of a VALUE event as a double
+	 * @throws IllegalStateException if the current event is not a number
+	 */
+	public double getDouble() {
+		return getNumber().doubleValue();
+	}
+
+	/**
+	 * @return the number of a VALUE event
+	 * @throws IllegalStateException if the current event is not a number
+	 */
+	public Number getNumber() {
+		if (event == VALUE && value instanceof Number)
+			return (Number) value;
+		throw new IllegalStateException("Not a number: " + describe());
+	}
+
+	/**
+	 * @return the boolean of a VALUE event
+	 * @throws IllegalStateException if the current event is not a boolean
+	 */
+	public boolean getBoolean() {
+		if (event == VALUE && value instanceof Boolean)
+			return (Boolean) value;
+		throw new IllegalStateException("Not a boolean: " + describe());
+	}
+
+	/**
+	 * @return true if the current event is a null VALUE
+	 */
+	public boolean isNull() {
+		return event == VALUE && value == null;
+	}
+
+	/**
+	 * If the current event is START_OBJECT or START_ARRAY, moves to the matching END event.
+	 * Does nothing for other events. The children are only scanned for the closing bracket,
+	 * they are not unescaped, converted or validated.
+	 *
+	 * @throws IOException    if the input fails
+	 * @throws ParseException if the input ends before the closing bracket
+	 */
+	public void skipChildren() throws IOException, ParseException {
+		if (event != START_OBJECT && event != START_ARRAY)
+			return;
+		parser.skipContainer();
+		event = event == START_OBJECT ? END_OBJECT : END_ARRAY;
+	}
+
+	/**
+	 * Reads the current value: at VALUE the value itself, at START_OBJECT or START_ARRAY the whole
+	 * object or array, built like {@link JSONParser#parse(String)} builds it, after which the current
+	 * event is the matching END event; at KEY the value of the entry, after which the current event is
+	 * the last event of the value.
+	 *
+	 * @return String, Number, Boolean, a java.time value, JSONObject, JSONArray or null
+	 * @throws IOException    if the input fails
+	 * @throws ParseException if the text is not valid JSON
+	 * @throws IllegalStateException at any other event
+	 */
+	@SuppressWarnings("unchecked")
+	public Object readValue() throws IOException, ParseException {
+		if (event == KEY && !entrySkipped)
+			next();
+		if (event == VALUE)
+			return value;
+		if (event != START_OBJECT && event != START_ARRAY)
+			throw new IllegalStateException("Not at a value: " + describe());
+
+		int start = depth;
+		ArrayList<Object> containers = new ArrayList<>();
+		String entryKey = null;
+		while (true) {
+			Object child;
+			switch (event) {
+				case START_OBJECT:
+					child = new JSONObject();
+					break;
+				case START_ARRAY:
+					child = new JSONArray();
+					break;
+				case KEY:
+					entryKey = key;
+					next();
+					continue;
+				case VALUE:
+					child = value;
+					break;
+				default:
+					Object done = containers.remove(containers.size() - 1);
+					if (done instanceof List)
+						JSONParser.unifyNumbers((List) done);
+					if (depth == start)
+						return done;
+					next();
+					continue;
+			}
+			if (!containers.isEmpty()) {
+				Object parent = containers.get(containers.size() - 1);
+				if (parent instanceof Map)
+					((Map) parent).put(entryKey, child);
+				else
+					((List) parent).add(child);
+			}
+			if (event == START_OBJECT || event == START_ARRAY)
+				containers.add(child);
+			next();
+		}
+	}
+
+	/**
+	 * Moves past a value without reading it: at KEY past the value of the entry, after which the
+	 * current event is still KEY; at START_OBJECT or START_ARRAY like {@link #skipChildren()}.
+	 * Does nothing for other events.
+	 *
+	 * @throws IOException    if the input fails
+	 * @throws ParseException if the entry has no value or the input ends inside it
+	 */
+	public void skipValue() throws IOException, ParseException {
+		if (event == KEY) {
+			if (!entrySkipped)
+				parser.skipEntryValue();
+			entrySkipped = true;
+		} else {
+			skipChildren();
+		}
+	}
+
+	/**
+	 * @return the position of the current event in the text, a byte offset for byte input
+	 */
+	public int getPosition() {
+		return parser.getPosition();
+	}
+
+	private String describe() {
+		switch (event) {
+			case NONE:
+				return "no event";
+			case START_OBJECT:
+				return "start of object";
+			case END_OBJECT:
+				return "end of object";
+			case START_ARRAY:
+				return "start of array";
+			case END_ARRAY:
+				return "end of array";
+			case KEY:
+				return "key " + key;
+			case VALUE:
+				return "value " + value;
+			default:
+				return "end of document";
+		}
+	}
+
+	/**
+	 * Stops the parser after every callback that makes an event.
+	 */
+	private class Handler implements ContentHandler {
+		int event;
+
+		public void startJSON() {
+		}
+
+		public void endJSON() {
+			event = END_DOCUMENT;
+		}
+
+		public boolean startObject() {
+			event = START_OBJECT;
+			return false;
+		}
+
+		public boolean endObject() {
+			event = END_OBJECT;
+			return false;
+		}
+
+		public boolean startObjectEntry(String key) {
+			event = KEY;
+			JSONCursor.this.key = key;
+			return false;
+		}
+
+		public boolean endObjectEntry() {
+			return true;
+		}
+
+		public boolean startArray() {
+			event = START_ARRAY;
+			return false;
+		}
+
+		public boolean endArray() {
+			event = END_ARRAY;
+			return false;
+		}
+
+		public boolean primitive(Object value) {
+			event = VALUE;
+			JSONCursor.this.value = value;
+			return false;
+		}
+	}
+}
@@ -5,15 +5,18 @@
 package org.json.simple.parser;
 
 import org.json.simple.JSONArray;
+import org.json.simple.JSONNumber;
 import org.json.simple.JSONObject;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
-import java.io.StringReader;
-import java.util.LinkedList;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 
 /**
@@ -31,24 +34,115 @@ public class JSONParser {
 	public static final int S_END = 6;
 	public static final int S_IN_ERROR = -1;
 
-	private LinkedList<Integer> handlerStatusStack;
+	/**
+	 * the engine of every parse unless another one is set: the Yylex scanner and the state machine of this class
+	 */
+	public static final int ENGINE_LEXER = 0;
+
+	/**
+	 * the hand-written engine for in-memory input, see {@link #setEngine(int)}
+	 */
+	public static final int ENGINE_DIRECT = 1;
+
+	static final int NUMBER_TYPE_NONE = 0;
+	static final int NUMBER_TYPE_INTEGER = 1;
+	static final int NUMBER_TYPE_LONG = 2;
+	static final int NUMBER_TYPE_DOUBLE = 3;
+	static final int NUMBER_TYPE_OTHER = 4;
+
+	/**
+	 * returned by parseNext at the end of input
+	 */
+	static final Object END_OF_SEQUENCE = new Object();
+
+	/*
+	 * The parser state lives in plain arrays that grow with the nesting depth and are reused
+	 * across parses; numberTypeStack runs parallel to valueStack and tracks the widest number
+	 * type of each array being built.
+	 */
+	private int[] statusStack = new int[16];
+	private int statusDepth;
+	private Object[] valueStack = new Object[16];
+	private int[] numberTypeStack = new int[16];
+	private int valueDepth;
+	private boolean handlerResumable;
+
 	private Yylex lexer = new Yylex((Reader) null);
 	private Yytoken token = null;
 	private int status = S_INIT;
 
-	private int peekStatus(LinkedList<Integer> statusStack) {
-		if (statusStack.size() == 0)
-			return -1;
-		return statusStack.getFirst();
-	}
+	/*
+	 * The limits checked here rather than in the lexer. Tokens are counted while limited is true:
+	 * limitDepth is the number of open objects and arrays, entryCounts the keys or elements read in
+	 * each of them and deadline the System.nanoTime() after which the parse fails.
+	 */
+	private boolean limited;
+	private int maxDepth = Integer.MAX_VALUE;
+	private int maxEntries = Integer.MAX_VALUE;
+	private long timeout;
+	private int deadlineInterval;
+	private int limitDepth;
+	private int[] entryCounts;
+	private long deadline;
+	private int deadlineCountdown;
+
+	private static volatile int defaultEngine = ENGINE_LEXER;
+
+	/*
+	 * engine is -1 for the default engine until setEngine is called. direct is true while directParser
+	 * reads the current input in place of the lexer, which then stays where directParser started, or
+	 * last handed over to the lexer, until it is moved to directParser.offset().
+	 */
+	private int engine = -1;
+	private DirectParser directParser;
+	private boolean direct;
 
 	/**
 	 * Reset the parser to the initial state without resetting the underlying reader.
 	 */
 	public void reset() {
+		if (direct)
+			lexer.yyseek(directParser.offset());
+		resetState();
+	}
+
+	/**
+	 * Resets the parser state after the lexer was reset or moved, and chooses the engine for the input.
+	 */
+	private void resetState() {
 		token = null;
 		status = S_INIT;
-		handlerStatusStack = null;
+		statusDepth = 0;
+		clearValues();
+		handlerResumable = false;
+		limitDepth = 0;
+		startDeadline();
+		direct = (engine < 0 ? defaultEngine : engine) == ENGINE_DIRECT && lexer.yyinMemory() && !limited
+				&& !lexer.limited && !lexer.validating && !lexer.lineTokens;
+		if (direct) {
+			if (directParser == null)
+				directParser = new DirectParser(lexer);
+			directParser.start();
+		}
+		else if (directParser != null)
+			directParser.clear();
+	}
+
+	/**
+	 * Leaves the rest of the current input to the lexer.
+	 */
+	private void handOver() {
+		if (direct) {
+			direct = false;
+			lexer.yyseek(directParser.offset());
+		}
+	}
+
+	private void startDeadline() {
+		if (timeout > 0) {
+			deadline = System.nanoTime() + timeout * 1000000L;
+			deadlineCountdown = deadlineInterval;
+		}
 	}
 
 	/**
@@ -58,36 +152,373 @@ public class JSONParser {
 	 */
 	public void reset(Reader in) {
 		lexer.yyreset(in);
+		resetState();
+	}
+
+	/**
+	 * Reset the parser to the initial state with a new byte stream. The stream is read as UTF-8.
+	 *
+	 * @param in - The new byte stream.
+	 */
+	public void reset(InputStream in) {
+		lexer.yyreset(in);
+		resetState();
+	}
+
+	/**
+	 * Reset the parser to the initial state with in-memory text.
+	 *
+	 * @param s the new text
+	 */
+	void reset(CharSequence s) {
+		lexer.yyreset(s);
+		resetState();
+	}
+
+	/**
+	 * Reset the parser to the initial state with chars scanned in place.
+	 *
+	 * @param s   the new input
+	 * @param off offset of the first char
+	 * @param len number of chars
+	 */
+	void reset(char[] s, int off, int len) {
+		lexer.yyreset(s, off, len);
+		resetState();
+	}
+
+	/**
+	 * Reset the parser to the initial state with UTF-8 encoded bytes, scanned in place.
+	 *
+	 * @param b   the new input
+	 * @param off offset of the first byte
+	 * @param len number of bytes
+	 */
+	void reset(byte[] b, int off, int len) {
+		lexer.yyreset(b, off, len);
+		resetState();
+	}
+
+	/**
+	 * Reset the parser to the initial state with the remaining UTF-8 encoded bytes of buf.
+	 *
+	 * @param buf the new input, its position is not changed
+	 */
+	void reset(ByteBuffer buf) {
+		lexer.yyreset(buf);
+		resetState();
+	}
+
+	/**
+	 * Returns the parser to its initial configuration for reuse by a JSONParserPool: the input is dropped,
+	 * options are set back to their defaults and buffers or stacks that grew past maxBuffer are replaced.
+	 *
+	 * @param maxBuffer the largest buffer length that is kept
+	 */
+	void release(int maxBuffer) {
 		reset();
+		engine = -1;
+		direct = false;
+		if (directParser != null) {
+			directParser.clear();
+			if (!directParser.fits(maxBuffer))
+				directParser = null;
+		}
+		lexer.yyrelease(maxBuffer);
+		lexer.setSymbolTable(null);
+		lexer.temporalTypes = Temporals.ALL;
+		lexer.lazyNumbers = false;
+		lexer.validating = false;
+		lexer.stacklessErrors = false;
+		setLimits(null);
+		entryCounts = null;
+		if (statusStack.length > maxBuffer)
+			statusStack = new int[16];
+		if (valueStack.length > maxBuffer) {
+			valueStack = new Object[16];
+			numberTypeStack = new int[16];
+		}
+	}
+
+	/**
+	 * Use a symbol table for object keys. Every key is then looked up by its chars in the scanner buffer
+	 * and parsed objects share one String instance per distinct key.
+	 *
+	 * @param symbolTable the table to intern keys into, may be shared by several parsers; null turns interning off
+	 */
+	public void setSymbolTable(JSONSymbolTable symbolTable) {
+		lexer.setSymbolTable(symbolTable);
+	}
+
+	/**
+	 * Choose which java.time types string values are converted to. By default strings in the shape written
+	 * for Instant, LocalDateTime and ZonedDateTime are converted to those types; call this method without
+	 * arguments to keep every string a String.
+	 *
+	 * @param types any of java.time.Instant, java.time.LocalDateTime and java.time.ZonedDateTime
+	 * @throws IllegalArgumentException if another type is given
+	 */
+	public void setTemporalTypes(Class<?>... types) {
+		lexer.temporalTypes = Temporals.mask(types);
+	}
+
+	/**
+	 * Set the size of the buffer used to read from a Reader or InputStream, 16384 by default. In-memory
+	 * text is copied into a buffer sized to the text, up to this size. A buffer that had to grow past
+	 * this size for a long token is given up when the next input is set.
+	 *
+	 * @param bufferSize buffer size in chars or bytes
+	 * @throws IllegalArgumentException if bufferSize is not positive
+	 */
+	public void setBufferSize(int bufferSize) {
+		if (bufferSize < 1)
+			throw new IllegalArgumentException("bufferSize: " + bufferSize);
+		lexer.bufferSize = bufferSize;
+	}
+
+	/**
+	 * In lazy mode every number is returned as a {@link JSONNumber} holding the number's text; it is converted
+	 * only when one of its value methods is called and written back unchanged. Lists of lazy numbers are not
+	 * unified to a common type.
+	 *
+	 * @param lazyNumbers true to return numbers as JSONNumber
+	 */
+	public void setLazyNumbers(boolean lazyNumbers) {
+		lexer.lazyNumbers = lazyNumbers;
+	}
+
+	/**
+	 * Create the ParseExceptions this parser throws without a stack trace, which is most of their cost,
+	 * for callers that only need the error type and position.
+	 *
+	 * @param stackless true to leave out stack traces
+	 */
+	public void setStacklessExceptions(boolean stackless) {
+		lexer.stacklessErrors = stackless;
+	}
+
+	/**
+	 * @param validating true to have the lexer check values without creating them, see Yylex.validating
+	 */
+	void setValidating(boolean validating) {
+		if (validating)
+			handOver();
+		lexer.validating = validating;
+	}
+
+	/**
+	 * Choose the engine for in-memory input: strings, char and byte arrays and heap ByteBuffers. With
+	 * ENGINE_DIRECT a document is parsed in a single pass by a hand-written parser that reads the input in
+	 * place, and content handler, JSONCursor and sequence parses read their tokens from a hand-written
+	 * scanner. Values, errors and positions are the same as with ENGINE_LEXER, which reads every input
+	 * through the Yylex scanner. Readers, streams, files, input fed in chunks, line-delimited values and
+	 * parses with limits always use the lexer, and so does in-memory input from the first error or unusual
+	 * escape on. The engine takes effect with the next input; until one is set, the parser uses the
+	 * engine of {@link #setDefaultEngine(int)}.
+	 *
+	 * @param engine ENGINE_LEXER or ENGINE_DIRECT
+	 * @throws IllegalArgumentException for any other engine
+	 */
+	public void setEngine(int engine) {
+		if (engine != ENGINE_LEXER && engine != ENGINE_DIRECT)
+			throw new IllegalArgumentException("engine: " + engine);
+		this.engine = engine;
+		if (engine == ENGINE_LEXER)
+			handOver();
 	}
 
 	/**
-	 * @return The position of the beginning of the current token.
+	 * @return the engine of the parsers that were not given one with {@link #setEngine(int)}, ENGINE_LEXER
+	 * unless {@link #setDefaultEngine(int)} chose another
+	 */
+	public static int getDefaultEngine() {
+		return defaultEngine;
+	}
+
+	/**
+	 * Choose the engine of the parsers that were not given one with {@link #setEngine(int)}, including
+	 * those of JSONValue, JSONReader and the shared JSONParserPool. Each parser takes it up with its
+	 * next input.
+	 *
+	 * @param engine ENGINE_LEXER or ENGINE_DIRECT
+	 * @throws IllegalArgumentException for any other engine
+	 */
+	public static void setDefaultEngine(int engine) {
+		if (engine != ENGINE_LEXER && engine != ENGINE_DIRECT)
+			throw new IllegalArgumentException("engine: " + engine);
+		defaultEngine = engine;
+	}
+
+	/**
+	 * Bound what this parser accepts. The limits are copied, so later changes to the ParserLimits take
+	 * effect when it is set again; a deadline starts with each new input.
+	 *
+	 * @param limits the limits, or null for none
+	 */
+	public void setLimits(ParserLimits limits) {
+		if (limits == null)
+			limits = new ParserLimits();
+		maxDepth = limits.getMaxDepth();
+		maxEntries = limits.getMaxEntries();
+		timeout = limits.getTimeout();
+		deadlineInterval = limits.getDeadlineInterval();
+		lexer.maxLength = limits.getMaxLength();
+		lexer.maxStringLength = limits.getMaxStringLength();
+		lexer.maxNumberLength = limits.getMaxNumberLength();
+		limited = maxDepth != Integer.MAX_VALUE || maxEntries != Integer.MAX_VALUE || timeout > 0;
+		lexer.limited = lexer.maxLength != Long.MAX_VALUE || lexer.maxStringLength != Integer.MAX_VALUE
+				|| lexer.maxNumberLength != Integer.MAX_VALUE;
+		if (maxEntries != Integer.MAX_VALUE && entryCounts == null)
+			entryCounts = new int[16];
+		if (limited || lexer.limited)
+			handOver();
+		startDeadline();
+	}
+
+	/**
+	 * @return The position of the beginning of the current token, or -1 if it does not fit in an int.
+	 * For byte input the position is a byte offset.
 	 */
 	public int getPosition() {
-		return lexer.getPosition();
+		return direct ? directParser.getPosition() : lexer.getPosition();
 	}
 
 	public Object parse(String s) throws ParseException {
 		return parse(s, (ContainerFactory) null);
 	}
 
+	/**
+	 * Parse JSON text from a string. The text is scanned in memory, without a reader.
+	 *
+	 * @param s                input
+	 * @param containerFactory - Use this factory to create your own JSON object and JSON array containers.
+	 * @return see {@link #parse(Reader, ContainerFactory)}
+	 * @throws ParseException Something went wrong
+	 */
 	public Object parse(String s, ContainerFactory containerFactory) throws ParseException {
-		StringReader in = new StringReader(s);
-		try {
-			return parse(in, containerFactory);
-		} catch (IOException ie) {
-			/*
-			 * Actually it will never happen.
-			 */
-			throw new ParseException(-1, ParseException.ERROR_UNEXPECTED_EXCEPTION, ie);
-		}
+		lexer.yyreset(s);
+		resetState();
+		return parseInMemory(containerFactory);
+	}
+
+	public Object parse(char[] s) throws ParseException {
+		return parse(s, 0, s.length, (ContainerFactory) null);
+	}
+
+	/**
+	 * Parse JSON text from a char array. The array is scanned in place, it is neither copied nor modified.
+	 *
+	 * @param s                input
+	 * @param off              offset of the first char of the JSON text
+	 * @param len              length of the JSON text
+	 * @param containerFactory - Use this factory to create your own JSON object and JSON array containers.
+	 * @return see {@link #parse(Reader, ContainerFactory)}
+	 * @throws ParseException Something went wrong
+	 */
+	public Object parse(char[] s, int off, int len, ContainerFactory containerFactory) throws ParseException {
+		lexer.yyreset(s, off, len);
+		resetState();
+		return parseInMemory(containerFactory);
+	}
+
+	public Object parse(CharSequence s) throws ParseException {
+		return parse(s, (ContainerFactory) null);
+	}
+
+	public Object parse(CharSequence s, ContainerFactory containerFactory) throws ParseException {
+		lexer.yyreset(s);
+		resetState();
+		return parseInMemory(containerFactory);
 	}
 
 	public Object parse(Reader in) throws IOException, ParseException {
 		return parse(in, (ContainerFactory) null);
 	}
 
+	public Object parse(byte[] b) throws ParseException {
+		return parse(b, 0, b.length, (ContainerFactory) null);
+	}
+
+	public Object parse(byte[] b, ContainerFactory containerFactory) throws ParseException {
+		return parse(b, 0, b.length, containerFactory);
+	}
+
+	/**
+	 * Parse UTF-8 encoded JSON text from a byte array. The bytes are scanned in place and only
+	 * string tokens are decoded.
+	 *
+	 * @param b                input
+	 * @param off              offset of the first byte of the JSON text
+	 * @param len              length of the JSON text in bytes
+	 * @param containerFactory - Use this factory to create your own JSON object and JSON array containers.
+	 * @return see {@link #parse(Reader, ContainerFactory)}
+	 * @throws ParseException Something went wrong, including malformed UTF-8
+	 */
+	public Object parse(byte[] b, int off, int len, ContainerFactory containerFactory) throws ParseException {
+		lexer.yyreset(b, off, len);
+		resetState();
+		return parseInMemory(containerFactory);
+	}
+
+	public Object parse(InputStream in) throws IOException, ParseException {
+		return parse(in, (ContainerFactory) null);
+	}
+
+	/**
+	 * Parse UTF-8 encoded JSON text from a byte stream without decoding it into characters first.
+	 *
+	 * @param in               input, read as UTF-8
+	 * @param containerFactory - Use this factory to create your own JSON object and JSON array containers.
+	 * @return see {@link #parse(Reader, ContainerFactory)}
+	 * @throws IOException    Something went wrong
+	 * @throws ParseException Something went wrong, including malformed UTF-8
+	 */
+	public Object parse(InputStream in, ContainerFactory containerFactory) throws IOException, ParseException {
+		reset(in);
+		return parse(containerFactory);
+	}
+
+	public Object parse(ByteBuffer buf) throws ParseException {
+		return parse(buf, (ContainerFactory) null);
+	}
+
+	/**
+	 * Parse the remaining UTF-8 encoded bytes of a buffer. The position of the buffer is not changed.
+	 *
+	 * @param buf              input
+	 * @param containerFactory - Use this factory to create your own JSON object and JSON array containers.
+	 * @return see {@link #parse(Reader, ContainerFactory)}
+	 * @throws ParseException Something went wrong, including malformed UTF-8
+	 */
+	public Object parse(ByteBuffer buf, ContainerFactory containerFactory) throws ParseException {
+		lexer.yyreset(buf);
+		resetState();
+		return parseInMemory(containerFactory);
+	}
+
+	public Object parse(Path file) throws IOException, ParseException {
+		return parse(file, (ContainerFactory) null);
+	}
+
+	/**
+	 * Parse a UTF-8 encoded JSON file. The file is memory-mapped, in windows of up to 1 GB so that files of
+	 * any size can be parsed, and scanned from the mapping in buffer-sized copies: it is not read through
+	 * a Reader, only strings are decoded, and the file is never held in the heap as a whole.
+	 * Positions are byte offsets in the file; past 2 GB, where they do not fit in an int, the position of a
+	 * ParseException and {@link #getPosition()} are -1, while limits still apply to the whole file.
+	 *
+	 * @param file             input, read as UTF-8
+	 * @param containerFactory - Use this factory to create your own JSON object and JSON array containers.
+	 * @return see {@link #parse(Reader, ContainerFactory)}
+	 * @throws IOException    Something went wrong
+	 * @throws ParseException Something went wrong, including malformed UTF-8
+	 */
+	public Object parse(Path file, ContainerFactory containerFactory) throws IOException, ParseException {
+		try (InputStream in = new MappedFileInputStream(file)) {
+			return parse(in, containerFactory);
+		}
+	}
+
 	/**
 	 * Parse JSON text into java object from the input source.
 	 *
@@ -105,29 +536,123 @@ public class JSONParser {
 	 */
 	public Object parse(Reader in, ContainerFactory containerFactory) throws IOException, ParseException {
 		reset(in);
-		LinkedList<Integer> statusStack = new LinkedList<>();
-		LinkedList<Object> valueStack = new LinkedList<>();
+		return parse(containerFactory);
+	}
+
+	private Object parseInMemory(ContainerFactory containerFactory) throws ParseException {
+		try {
+			return parse(containerFactory);
+		} catch (IOException ie) {
+			/*
+			 * Actually it will never happen.
+			 */
+			throw error(-1, ParseException.ERROR_UNEXPECTED_EXCEPTION, ie);
+		}
+	}
 
+	/**
+	 * Parses the next of a sequence of values in the current input, leaving the scanner just after it
+	 * instead of requiring the end of input.
+	 *
+	 * @param containerFactory the factory for objects and arrays, or null
+	 * @param lineDelimited    if true, every value must be on a line of its own: a value that spans lines
+	 *                         or is followed by more than whitespace on its line is an error, and empty
+	 *                         lines are skipped
+	 * @return the value, or END_OF_SEQUENCE if only whitespace is left
+	 * @throws IOException    Something went wrong
+	 * @throws ParseException Something went wrong
+	 * @see #skipLine()
+	 */
+	Object parseNext(ContainerFactory containerFactory, boolean lineDelimited) throws IOException, ParseException {
+		lexer.lineTokens = lineDelimited;
+		reset();
+		try {
+			return parse(containerFactory, true);
+		} finally {
+			lexer.lineTokens = false;
+		}
+	}
+
+	/**
+	 * Parses the current input as an object key: a string that is looked up and not converted as a key
+	 * is, with nothing after it.
+	 *
+	 * @return the key
+	 * @throws IOException    Something went wrong
+	 * @throws ParseException if the input is not a single string
+	 */
+	String parseKey() throws IOException, ParseException {
+		status = S_IN_OBJECT;
+		nextToken();
+		if (token.type != Yytoken.TYPE_VALUE || !(token.value instanceof String)) {
+			status = S_IN_ERROR;
+			throw unexpectedToken();
+		}
+		String key = (String) token.value;
+		status = S_IN_FINISHED_VALUE;
+		nextToken();
+		if (token.type != Yytoken.TYPE_EOF) {
+			status = S_IN_ERROR;
+			throw unexpectedToken();
+		}
+		status = S_END;
+		return key;
+	}
+
+	/**
+	 * Moves past the rest of the line after a line-delimited value failed to parse, unless the failure
+	 * was at a line break.
+	 *
+	 * @throws IOException    Something went wrong
+	 * @throws ParseException Something went wrong
+	 */
+	void skipLine() throws IOException, ParseException {
+		lexer.yyskipLine();
+		limitDepth = 0;
+	}
+
+	private Object parse(ContainerFactory containerFactory) throws IOException, ParseException {
+		return parse(containerFactory, false);
+	}
+
+	private Object parse(ContainerFactory containerFactory, boolean sequence) throws IOException, ParseException {
+		if (direct && status == S_INIT) {
+			Object value = directParser.parse(containerFactory, sequence);
+			if (value != DirectParser.FALLBACK) {
+				if (value != END_OF_SEQUENCE)
+					status = S_IN_FINISHED_VALUE;
+				return value;
+			}
+			// the lexer is still at the start of the value and parses it again
+			direct = false;
+		}
 		try {
 			do {
 				nextToken();
 				switch (status) {
 					case S_INIT:
 						switch (token.type) {
+							case Yytoken.TYPE_NEWLINE:
+								break;
+							case Yytoken.TYPE_EOF:
+								if (sequence)
+									return END_OF_SEQUENCE;
+								status = S_IN_ERROR;
+								break;
 							case Yytoken.TYPE_VALUE:
 								status = S_IN_FINISHED_VALUE;
-								statusStack.addFirst(status);
-								valueStack.addFirst(token.value);
+								pushStatus(status);
+								pushValue(token.value);
 								break;
 							case Yytoken.TYPE_LEFT_BRACE:
 								status = S_IN_OBJECT;
-								statusStack.addFirst(status);
-								valueStack.addFirst(createObjectContainer(containerFactory));
+								pushStatus(status);
+								pushValue(createObjectContainer(containerFactory));
 								break;
 							case Yytoken.TYPE_LEFT_SQUARE:
 								status = S_IN_ARRAY;
-								statusStack.addFirst(status);
-								valueStack.addFirst(createArrayContainer(containerFactory));
+								pushStatus(status);
+								pushValue(createArrayContainer(containerFactory));
 								break;
 							default:
 								status = S_IN_ERROR;
@@ -136,9 +661,9 @@ public class JSONParser {
 
 					case S_IN_FINISHED_VALUE:
 						if (token.type == Yytoken.TYPE_EOF)
-							return valueStack.removeFirst();
+							return popValue();
 						else
-							throw new ParseException(getPosition(), ParseException.ERROR_UNEXPECTED_TOKEN, token);
+							throw unexpectedToken();
 
 					case S_IN_OBJECT:
 						switch (token.type) {
@@ -147,18 +672,18 @@ public class JSONParser {
 							case Yytoken.TYPE_VALUE:
 								if (token.value instanceof String) {
 									String key = (String) token.value;
-									valueStack.addFirst(key);
+									pushValue(key);
 									status = S_PASSED_PAIR_KEY;
-									statusStack.addFirst(status);
+									pushStatus(status);
 								} else {
 									status = S_IN_ERROR;
 								}
 								break;
 							case Yytoken.TYPE_RIGHT_BRACE:
-								if (valueStack.size() > 1) {
-									statusStack.removeFirst();
-									valueStack.removeFirst();
-									status = peekStatus(statusStack);
+								if (valueDepth > 1) {
+									statusDepth--;
+									popValue();
+									status = peekStatus();
 								} else {
 									status = S_IN_FINISHED_VALUE;
 								}
@@ -174,31 +699,31 @@ public class JSONParser {
 							case Yytoken.TYPE_COLON:
 								break;
 							case Yytoken.TYPE_VALUE:
-								statusStack.removeFirst();
-								String key = (String) valueStack.removeFirst();
-								Map parent = (Map) valueStack.getFirst();
+								statusDepth--;
+								String key = (String) popValue();
+								Map parent = (Map) peekValue();
 								parent.put(key, token.value);
-								status = peekStatus(statusStack);
+								status = peekStatus();
 								break;
 							case Yytoken.TYPE_LEFT_SQUARE:
-								statusStack.removeFirst();
-								key = (String) valueStack.removeFirst();
-								parent = (Map) valueStack.getFirst();
+								statusDepth--;
+								key = (String) popValue();
+								parent = (Map) peekValue();
 								List newArray = createArrayContainer(containerFactory);
 								parent.put(key, newArray);
 								status = S_IN_ARRAY;
-								statusStack.addFirst(status);
-								valueStack.addFirst(newArray);
+								pushStatus(status);
+								pushValue(newArray);
 								break;
 							case Yytoken.TYPE_LEFT_BRACE:
-								statusStack.removeFirst();
-								key = (String) valueStack.removeFirst();
-								parent = (Map) valueStack.getFirst();
+								statusDepth--;
+								key = (String) popValue();
+								parent = (Map) peekValue();
 								Map newObject = createObjectContainer(containerFactory);
 								parent.put(key, newObject);
 								status = S_IN_OBJECT;
-								statusStack.addFirst(status);
-								valueStack.addFirst(newObject);
+								pushStatus(status);
+								pushValue(newObject);
 								break;
 							default:
 								status = S_IN_ERROR;
@@ -210,91 +735,253 @@ public class JSONParser {
 							case Yytoken.TYPE_COMMA:
 								break;
 							case Yytoken.TYPE_VALUE:
-								List listValue = (List) valueStack.getFirst();
-								listValue.add(token.value);
-								String type = null;
-								for (Object o : listValue) {
-									String currType;
-									if (o instanceof Integer) {
-										currType = "Integer";
-									} else if (o instanceof Long) {
-										currType = "Long";
-									} else if (o instanceof Double) {
-										currType = "Double";
-									} else {
-										currType = "Other";
-										type = currType;
-										break;
-									}
-									if (type == null) {
-										type = currType;
-									} else if ("Long".equals(currType) && "Integer".equals(type)) {
-										type = currType;
-									} else if ("Double".equals(currType) && ("Integer".equals(type) || "Long".equals(type))) {
-										type = currType;
-									}
-								}
-								if ("Long".equals(type)) {
-									for (int i = 0; i < listValue.size(); i++) {
-										listValue.set(i, Long.valueOf(listValue.get(i).toString()));
-									}
-								} else if ("Double".equals(type)) {
-									for (int i = 0; i < listValue.size(); i++) {
-										listValue.set(i, Double.valueOf(listValue.get(i).toString()));
-									}
-								}
-
+								addArrayValue(token.value);
 								break;
 							case Yytoken.TYPE_RIGHT_SQUARE:
-								if (valueStack.size() > 1) {
-									statusStack.removeFirst();
-									valueStack.removeFirst();
-									status = peekStatus(statusStack);
+								if (valueDepth > 1) {
+									statusDepth--;
+									popValue();
+									status = peekStatus();
 								} else {
 									status = S_IN_FINISHED_VALUE;
 								}
 								break;
 							case Yytoken.TYPE_LEFT_BRACE:
-								listValue = (List) valueStack.getFirst();
 								Map newObject = createObjectContainer(containerFactory);
-								listValue.add(newObject);
+								addArrayContainer(newObject);
 								status = S_IN_OBJECT;
-								statusStack.addFirst(status);
-								valueStack.addFirst(newObject);
+								pushStatus(status);
+								pushValue(newObject);
 								break;
 							case Yytoken.TYPE_LEFT_SQUARE:
-								listValue = (List) valueStack.getFirst();
 								List newArray = createArrayContainer(containerFactory);
-								listValue.add(newArray);
+								addArrayContainer(newArray);
 								status = S_IN_ARRAY;
-								statusStack.addFirst(status);
-								valueStack.addFirst(newArray);
+								pushStatus(status);
+								pushValue(newArray);
 								break;
 							default:
 								status = S_IN_ERROR;
 						}//inner switch
 						break;
 					case S_IN_ERROR:
-						throw new ParseException(getPosition(), ParseException.ERROR_UNEXPECTED_TOKEN, token);
+						throw unexpectedToken();
 				}//switch
 				if (status == S_IN_ERROR) {
-					throw new ParseException(getPosition(), ParseException.ERROR_UNEXPECTED_TOKEN, token);
+					throw unexpectedToken();
+				}
+				if (sequence && status == S_IN_FINISHED_VALUE) {
+					if (lexer.lineTokens) {
+						nextToken();
+						if (token.type != Yytoken.TYPE_NEWLINE && token.type != Yytoken.TYPE_EOF)
+							throw unexpectedToken();
+					}
+					return popValue();
 				}
 			} while (token.type != Yytoken.TYPE_EOF);
-		} catch (IOException ie) {
-			throw ie;
+		} finally {
+			clearValues();
+		}
+
+		throw unexpectedToken();
+	}
+
+	private void pushStatus(int status) {
+		if (statusDepth == statusStack.length)
+			statusStack = Arrays.copyOf(statusStack, statusDepth * 2);
+		statusStack[statusDepth++] = status;
+	}
+
+	private int peekStatus() {
+		if (statusDepth == 0)
+			return -1;
+		return statusStack[statusDepth - 1];
+	}
+
+	private void pushValue(Object value) {
+		if (valueDepth == valueStack.length) {
+			valueStack = Arrays.copyOf(valueStack, valueDepth * 2);
+			numberTypeStack = Arrays.copyOf(numberTypeStack, valueDepth * 2);
 		}
+		numberTypeStack[valueDepth] = NUMBER_TYPE_NONE;
+		valueStack[valueDepth++] = value;
+	}
+
+	private Object peekValue() {
+		return valueStack[valueDepth - 1];
+	}
+
+	private Object popValue() {
+		Object value = valueStack[--valueDepth];
+		valueStack[valueDepth] = null;
+		return value;
+	}
 
-		throw new ParseException(getPosition(), ParseException.ERROR_UNEXPECTED_TOKEN, token);
+	/**
+	 * Drops the references held by the value stack so that a parser kept for reuse does not retain a document.
+	 */
+	private void clearValues() {
+		Arrays.fill(valueStack, 0, valueDepth, null);
+		valueDepth = 0;
+	}
+
+	private static int numberType(Object value) {
+		if (value instanceof Integer)
+			return NUMBER_TYPE_INTEGER;
+		if (value instanceof Long)
+			return NUMBER_TYPE_LONG;
+		if (value instanceof Double)
+			return NUMBER_TYPE_DOUBLE;
+		return NUMBER_TYPE_OTHER;
+	}
+
+	/**
+	 * Adds a primitive to the array on top of the value stack, see {@link #addArrayValue(List, int, Object)}.
+	 */
+	private void addArrayValue(Object value) {
+		numberTypeStack[valueDepth - 1] = addArrayValue((List) peekValue(), numberTypeStack[valueDepth - 1], value);
+	}
+
+	/**
+	 * Adds a primitive to an array, keeping a list that holds nothing but Integer, Long and Double values
+	 * converted to the widest of those types. The widest type seen so far is kept next to the array, so
+	 * each element is converted at most twice instead of the whole list being rescanned on every add.
+	 *
+	 * @param list     the array
+	 * @param listType the widest number type of the list so far, NUMBER_TYPE_NONE for an empty list
+	 * @param value    the primitive
+	 * @return the widest number type of the list with the value
+	 */
+	@SuppressWarnings("unchecked")
+	static int addArrayValue(List list, int listType, Object value) {
+		int valueType = numberType(value);
+		if (listType == NUMBER_TYPE_OTHER || valueType == NUMBER_TYPE_OTHER) {
+			list.add(value);
+			return NUMBER_TYPE_OTHER;
+		}
+		if (valueType < listType) {
+			list.add(convertNumber(value, listType));
+			return listType;
+		}
+		if (valueType > listType && listType != NUMBER_TYPE_NONE) {
+			for (ListIterator it = list.listIterator(); it.hasNext(); )
+				it.set(convertNumber(it.next(), valueType));
+		}
+		list.add(value);
+		return valueType;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void addArrayContainer(Object container) {
+		((List) peekValue()).add(container);
+		numberTypeStack[valueDepth - 1] = NUMBER_TYPE_OTHER;
+	}
+
+	/**
+	 * Converts the numbers of a list built outside the parser the way addArrayValue converts the numbers
+	 * of the lists the parser builds: the Integer, Long and Double values before the first element of
+	 * any other type are converted to the widest of those types.
+	 *
+	 * @param list the list to convert in place
+	 */
+	@SuppressWarnings("unchecked")
+	static void unifyNumbers(List list) {
+		int widest = NUMBER_TYPE_NONE;
+		boolean mixed = false;
+		int end = 0;
+		for (Object value : list) {
+			int type = numberType(value);
+			if (type == NUMBER_TYPE_OTHER)
+				break;
+			if (widest != NUMBER_TYPE_NONE && type != widest)
+				mixed = true;
+			widest = Math.max(widest, type);
+			end++;
+		}
+		if (mixed) {
+			for (ListIterator it = list.subList(0, end).listIterator(); it.hasNext(); )
+				it.set(convertNumber(it.next(), widest));
+		}
+	}
+
+	private static Object convertNumber(Object value, int type) {
+		if (type == NUMBER_TYPE_LONG)
+			return ((Number) value).longValue();
+		if (type == NUMBER_TYPE_DOUBLE)
+			return ((Number) value).doubleValue();
+		return value;
 	}
 
 	private void nextToken() throws ParseException, IOException {
+		if (direct) {
+			token = directParser.next(status == S_IN_OBJECT);
+			if (token != null)
+				return;
+			handOver();
+		}
+		lexer.keyExpected = status == S_IN_OBJECT;
 		token = lexer.yylex();
 		if (token == null)
-			token = new Yytoken(Yytoken.TYPE_EOF, null);
+			token = Yytoken.EOF;
+		if (limited)
+			countToken();
+	}
+
+	/**
+	 * Counts the current token towards the depth, entries and deadline limits.
+	 */
+	private void countToken() throws ParseException {
+		switch (token.type) {
+			case Yytoken.TYPE_VALUE:
+				countEntry();
+				break;
+			case Yytoken.TYPE_LEFT_BRACE:
+			case Yytoken.TYPE_LEFT_SQUARE:
+				countEntry();
+				if (limitDepth == maxDepth)
+					throw error(getPosition(), ParseException.ERROR_DEPTH_LIMIT, maxDepth);
+				limitDepth++;
+				if (maxEntries != Integer.MAX_VALUE) {
+					if (limitDepth == entryCounts.length)
+						entryCounts = Arrays.copyOf(entryCounts, limitDepth * 2);
+					entryCounts[limitDepth] = 0;
+				}
+				break;
+			case Yytoken.TYPE_RIGHT_BRACE:
+			case Yytoken.TYPE_RIGHT_SQUARE:
+				if (limitDepth > 0)
+					limitDepth--;
+				break;
+		}
+		if (timeout > 0 && --deadlineCountdown <= 0) {
+			deadlineCountdown = deadlineInterval;
+			if (System.nanoTime() - deadline > 0)
+				throw error(getPosition(), ParseException.ERROR_DEADLINE, timeout);
+		}
+	}
+
+	/**
+	 * Counts the current token as an entry of the enclosing container if it starts an element of an
+	 * array or is the key of an object. Commas are not counted, as the lenient grammar allows extra ones.
+	 */
+	private void countEntry() throws ParseException {
+		if (limitDepth > 0 && maxEntries != Integer.MAX_VALUE && (status == S_IN_ARRAY || status == S_IN_OBJECT)
+				&& ++entryCounts[limitDepth] > maxEntries)
+			throw error(getPosition(), ParseException.ERROR_ENTRIES_LIMIT, maxEntries);
 	}
 
-	private Map createObjectContainer(ContainerFactory containerFactory) {
+	private ParseException error(int position, int errorType, Object unexpectedObject) {
+		return new ParseException(position, errorType, unexpectedObject, !lexer.stacklessErrors);
+	}
+
+	/**
+	 * The lexer reuses its value token, so the exception gets a copy of the current token.
+	 */
+	private ParseException unexpectedToken() {
+		return error(getPosition(), ParseException.ERROR_UNEXPECTED_TOKEN, new Yytoken(token.type, token.value));
+	}
+
+	static Map createObjectContainer(ContainerFactory containerFactory) {
 		if (containerFactory == null)
 			return new JSONObject();
 		Map m = containerFactory.createObjectContainer();
@@ -304,7 +991,7 @@ public class JSONParser {
 		return m;
 	}
 
-	private List createArrayContainer(ContainerFactory containerFactory) {
+	static List createArrayContainer(ContainerFactory containerFactory) {
 		if (containerFactory == null)
 			return new JSONArray();
 		List l = containerFactory.creatArrayContainer();
@@ -319,21 +1006,80 @@ public class JSONParser {
 	}
 
 	public void parse(String s, ContentHandler contentHandler, boolean isResume) throws ParseException {
-		StringReader in = new StringReader(s);
-		try {
-			parse(in, contentHandler, isResume);
-		} catch (IOException ie) {
-			/*
-			 * Actually it will never happen.
-			 */
-			throw new ParseException(-1, ParseException.ERROR_UNEXPECTED_EXCEPTION, ie);
+		if (!isResume || !handlerResumable) {
+			lexer.yyreset(s);
+			resetState();
+			handlerResumable = true;
 		}
+		parseInMemory(contentHandler);
+	}
+
+	public void parse(char[] s, ContentHandler contentHandler) throws ParseException {
+		lexer.yyreset(s, 0, s.length);
+		resetState();
+		handlerResumable = true;
+		parseInMemory(contentHandler);
 	}
 
 	public void parse(Reader in, ContentHandler contentHandler) throws IOException, ParseException {
 		parse(in, contentHandler, false);
 	}
 
+	public void parse(byte[] b, ContentHandler contentHandler) throws ParseException {
+		lexer.yyreset(b, 0, b.length);
+		resetState();
+		handlerResumable = true;
+		parseInMemory(contentHandler);
+	}
+
+	public void parse(ByteBuffer buf, ContentHandler contentHandler) throws ParseException {
+		lexer.yyreset(buf);
+		resetState();
+		handlerResumable = true;
+		parseInMemory(contentHandler);
+	}
+
+	public void parse(InputStream in, ContentHandler contentHandler) throws IOException, ParseException {
+		parse(in, contentHandler, false);
+	}
+
+	/**
+	 * Stream processing of a UTF-8 encoded JSON file, memory-mapped as by {@link #parse(Path, ContainerFactory)}.
+	 * The file is closed when this method returns, so a parse stopped by the handler cannot be resumed.
+	 *
+	 * @param file           input, read as UTF-8
+	 * @param contentHandler contentHandler
+	 * @throws IOException    Something went wrong
+	 * @throws ParseException Something went wrong, including malformed UTF-8
+	 */
+	public void parse(Path file, ContentHandler contentHandler) throws IOException, ParseException {
+		try (InputStream in = new MappedFileInputStream(file)) {
+			parse(in, contentHandler);
+		} finally {
+			handlerResumable = false;
+		}
+	}
+
+	/**
+	 * Stream processing of UTF-8 encoded JSON text.
+	 *
+	 * @param in             input, read as UTF-8
+	 * @param contentHandler contentHandler
+	 * @param isResume       - Indicates if it continues previous parsing operation.
+	 *                       If set to true, resume parsing the old stream, and parameter 'in' will be ignored.
+	 *                       If this method is called for the first time in this instance, isResume will be ignored.
+	 * @throws IOException    Something went wrong
+	 * @throws ParseException Something went wrong, including malformed UTF-8
+	 * @see #parse(Reader, ContentHandler, boolean)
+	 */
+	public void parse(InputStream in, ContentHandler contentHandler, boolean isResume) throws IOException, ParseException {
+		if (!isResume || !handlerResumable) {
+			reset(in);
+			handlerResumable = true;
+		}
+		parse(contentHandler);
+	}
+
 	/**
 	 * Stream processing of JSON text.
 	 *
@@ -349,39 +1095,169 @@ public class JSONParser {
 	public void parse(Reader in, ContentHandler contentHandler, boolean isResume) throws IOException, ParseException {
 		if (!isResume) {
 			reset(in);
-			handlerStatusStack = new LinkedList<>();
+			handlerResumable = true;
 		} else {
-			if (handlerStatusStack == null) {
+			if (!handlerResumable) {
 				isResume = false;
 				reset(in);
-				handlerStatusStack = new LinkedList<>();
+				handlerResumable = true;
 			}
 		}
+		parse(contentHandler);
+	}
+
+	/**
+	 * Continues a content handler parse of the current input from where the handler last stopped it.
+	 *
+	 * @param contentHandler the handler
+	 * @throws IOException    Something went wrong
+	 * @throws ParseException Something went wrong
+	 */
+	void resume(ContentHandler contentHandler) throws IOException, ParseException {
+		parse(contentHandler);
+	}
+
+	/**
+	 * Moves a content handler parse that stopped at startObjectEntry past the value of the entry,
+	 * without calling the handler for the value or for the end of the entry.
+	 *
+	 * @throws IOException    Something went wrong
+	 * @throws ParseException Something went wrong
+	 */
+	void skipEntryValue() throws IOException, ParseException {
+		skip(0, true);
+		statusDepth--;
+		status = peekStatus();
+	}
+
+	/**
+	 * Moves past a value with Yylex.yyskip, on behalf of the direct engine if it reads the input.
+	 *
+	 * @param colons true to move past the colons between an entry key and its value first
+	 */
+	private void skip(int depth, boolean colons) throws IOException, ParseException {
+		if (!direct) {
+			if (colons)
+				lexer.yyskipColons();
+			lexer.yyskip(depth);
+			return;
+		}
+		handOver();
+		if (colons)
+			lexer.yyskipColons();
+		lexer.yyskip(depth);
+		directParser.seek(lexer.yyoffset());
+		direct = true;
+	}
+
+	/**
+	 * Moves a content handler parse past the rest of the object or array whose start was the last
+	 * callback, as if its closing bracket had been read, without calling the handler for its content
+	 * or its end.
+	 *
+	 * @throws IOException    Something went wrong
+	 * @throws ParseException Something went wrong
+	 */
+	void skipContainer() throws IOException, ParseException {
+		skip(1, false);
+		if (limitDepth > 0)
+			limitDepth--;
+		if (statusDepth > 1) {
+			statusDepth--;
+			status = peekStatus();
+		} else {
+			status = S_IN_FINISHED_VALUE;
+		}
+	}
+
+	/**
+	 * Starts a content handler parse of UTF-8 bytes that are fed in chunks.
+	 */
+	void resetFeed() {
+		lexer.yyresetFeed();
+		resetState();
+		handlerResumable = true;
+	}
+
+	/**
+	 * Feeds the bytes <tt>b[off, off + len)</tt> and continues the content handler parse.
+	 *
+	 * @return true if the parse used up the input fed so far, false if the handler stopped it
+	 * or the parse is finished
+	 * @throws ParseException Something went wrong
+	 */
+	boolean feed(byte[] b, int off, int len, ContentHandler contentHandler) throws ParseException {
+		lexer.yyfeed(b, off, len);
+		parseInMemory(contentHandler);
+		return token == Yytoken.NEED_INPUT;
+	}
+
+	/**
+	 * Feeds the remaining bytes of buf and continues the content handler parse.
+	 *
+	 * @see #feed(byte[], int, int, ContentHandler)
+	 */
+	boolean feed(ByteBuffer buf, ContentHandler contentHandler) throws ParseException {
+		lexer.yyfeed(buf);
+		parseInMemory(contentHandler);
+		return token == Yytoken.NEED_INPUT;
+	}
+
+	/**
+	 * Marks the end of the fed input and continues the content handler parse.
+	 *
+	 * @throws ParseException Something went wrong, including input that ends inside the value
+	 */
+	void feedEnd(ContentHandler contentHandler) throws ParseException {
+		lexer.yyfeedEnd();
+		parseInMemory(contentHandler);
+	}
 
-		LinkedList<Integer> statusStack = handlerStatusStack;
+	/**
+	 * @return true if a content handler parse has read the end of input
+	 */
+	boolean isFinished() {
+		return status == S_END;
+	}
+
+	private void parseInMemory(ContentHandler contentHandler) throws ParseException {
+		try {
+			parse(contentHandler);
+		} catch (IOException ie) {
+			/*
+			 * Actually it will never happen.
+			 */
+			throw error(-1, ParseException.ERROR_UNEXPECTED_EXCEPTION, ie);
+		}
+	}
 
+	private void parse(ContentHandler contentHandler) throws IOException, ParseException {
 		try {
 			do {
 				switch (status) {
 					case S_INIT:
-						contentHandler.startJSON();
+						// a parse that ran out of fed input has called startJSON already
+						if (token != Yytoken.NEED_INPUT)
+							contentHandler.startJSON();
 						nextToken();
+						if (token == Yytoken.NEED_INPUT)
+							return;
 						switch (token.type) {
 							case Yytoken.TYPE_VALUE:
 								status = S_IN_FINISHED_VALUE;
-								statusStack.addFirst(status);
+								pushStatus(status);
 								if (!contentHandler.primitive(token.value))
 									return;
 								break;
 							case Yytoken.TYPE_LEFT_BRACE:
 								status = S_IN_OBJECT;
-								statusStack.addFirst(status);
+								pushStatus(status);
 								if (!contentHandler.startObject())
 									return;
 								break;
 							case Yytoken.TYPE_LEFT_SQUARE:
 								status = S_IN_ARRAY;
-								statusStack.addFirst(status);
+								pushStatus(status);
 								if (!contentHandler.startArray())
 									return;
 								break;
@@ -392,25 +1268,34 @@ public class JSONParser {
 
 					case S_IN_FINISHED_VALUE:
 						nextToken();
+						if (token == Yytoken.NEED_INPUT)
+							return;
 						if (token.type == Yytoken.TYPE_EOF) {
 							contentHandler.endJSON();
 							status = S_END;
 							return;
 						} else {
 							status = S_IN_ERROR;
-							throw new ParseException(getPosition(), ParseException.ERROR_UNEXPECTED_TOKEN, token);
+							throw unexpectedToken();
 						}
 
 					case S_IN_OBJECT:
 						nextToken();
+						if (token == Yytoken.NEED_INPUT)
+							return;
 						switch (token.type) {
 							case Yytoken.TYPE_COMMA:
 								break;
 							case Yytoken.TYPE_VALUE:
 								if (token.value instanceof String) {
 									String key = (String) token.value;
+									// skipping needs the whole value at hand, fed input may end inside it
+									if (!lexer.yyawaitingInput() && contentHandler.skipObjectEntry(key)) {
+										skip(0, true);
+										break;
+									}
 									status = S_PASSED_PAIR_KEY;
-									statusStack.addFirst(status);
+									pushStatus(status);
 									if (!contentHandler.startObjectEntry(key))
 										return;
 								} else {
@@ -418,9 +1303,9 @@ public class JSONParser {
 								}
 								break;
 							case Yytoken.TYPE_RIGHT_BRACE:
-								if (statusStack.size() > 1) {
-									statusStack.removeFirst();
-									status = peekStatus(statusStack);
+								if (statusDepth > 1) {
+									statusDepth--;
+									status = peekStatus();
 								} else {
 									status = S_IN_FINISHED_VALUE;
 								}
@@ -435,30 +1320,32 @@ public class JSONParser {
 
 					case S_PASSED_PAIR_KEY:
 						nextToken();
+						if (token == Yytoken.NEED_INPUT)
+							return;
 						switch (token.type) {
 							case Yytoken.TYPE_COLON:
 								break;
 							case Yytoken.TYPE_VALUE:
-								statusStack.removeFirst();
-								status = peekStatus(statusStack);
+								statusDepth--;
+								status = peekStatus();
 								if (!contentHandler.primitive(token.value))
 									return;
 								if (!contentHandler.endObjectEntry())
 									return;
 								break;
 							case Yytoken.TYPE_LEFT_SQUARE:
-								statusStack.removeFirst();
-								statusStack.addFirst(S_IN_PAIR_VALUE);
+								statusDepth--;
+								pushStatus(S_IN_PAIR_VALUE);
 								status = S_IN_ARRAY;
-								statusStack.addFirst(status);
+								pushStatus(status);
 								if (!contentHandler.startArray())
 									return;
 								break;
 							case Yytoken.TYPE_LEFT_BRACE:
-								statusStack.removeFirst();
-								statusStack.addFirst(S_IN_PAIR_VALUE);
+								statusDepth--;
+								pushStatus(S_IN_PAIR_VALUE);
 								status = S_IN_OBJECT;
-								statusStack.addFirst(status);
+								pushStatus(status);
 								if (!contentHandler.startObject())
 									return;
 								break;
@@ -472,14 +1359,16 @@ public class JSONParser {
 						 * S_IN_PAIR_VALUE is just a marker to indicate the end of an object entry, it doesn't proccess any token,
 						 * therefore delay consuming token until next round.
 						 */
-						statusStack.removeFirst();
-						status = peekStatus(statusStack);
+						statusDepth--;
+						status = peekStatus();
 						if (!contentHandler.endObjectEntry())
 							return;
 						break;
 
 					case S_IN_ARRAY:
 						nextToken();
+						if (token == Yytoken.NEED_INPUT)
+							return;
 						switch (token.type) {
 							case Yytoken.TYPE_COMMA:
 								break;
@@ -488,9 +1377,9 @@ public class JSONParser {
 									return;
 								break;
 							case Yytoken.TYPE_RIGHT_SQUARE:
-								if (statusStack.size() > 1) {
-									statusStack.removeFirst();
-									status = peekStatus(statusStack);
+								if (statusDepth > 1) {
+									statusDepth--;
+									status = peekStatus();
 								} else {
 									status = S_IN_FINISHED_VALUE;
 								}
@@ -499,13 +1388,13 @@ public class JSONParser {
 								break;
 							case Yytoken.TYPE_LEFT_BRACE:
 								status = S_IN_OBJECT;
-								statusStack.addFirst(status);
+								pushStatus(status);
 								if (!contentHandler.startObject())
 									return;
 								break;
 							case Yytoken.TYPE_LEFT_SQUARE:
 								status = S_IN_ARRAY;
-								statusStack.addFirst(status);
+								pushStatus(status);
 								if (!contentHandler.startArray())
 									return;
 								break;
@@ -518,10 +1407,10 @@ public class JSONParser {
 						return;
 
 					case S_IN_ERROR:
-						throw new ParseException(getPosition(), ParseException.ERROR_UNEXPECTED_TOKEN, token);
+						throw unexpectedToken();
 				}//switch
 				if (status == S_IN_ERROR) {
-					throw new ParseException(getPosition(), ParseException.ERROR_UNEXPECTED_TOKEN, token);
+					throw unexpectedToken();
 				}
 			} while (token.type != Yytoken.TYPE_EOF);
 		} catch (Throwable e) {
@@ -530,6 +1419,6 @@ public class JSONParser {
 		}
 
 		status = S_IN_ERROR;
-		throw new ParseException(getPosition(), ParseException.ERROR_UNEXPECTED_TOKEN, token);
+		throw unexpectedToken();
 	}
 }
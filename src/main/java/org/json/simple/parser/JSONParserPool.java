@@ -0,0 +1,129 @@
+package org.json.simple.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded pool of JSONParser instances, so that parsing many small documents does not allocate
+ * a scanner buffer per document.
+ * <p>
+ * Parsers are kept in a fixed array of slots taken and returned with compare-and-set, not per thread,
+ * so the pool stays small however many threads (virtual threads included) use it. When every slot is
+ * empty a new parser is created, and a released parser that finds no free slot is dropped.
+ * <p>
+ * Parsers are handed out in their default configuration; a parser configured after acquire() is set
+ * back to the defaults by release(), which also drops the input and replaces buffers that grew past
+ * the pool's limit.
+ */
+public class JSONParserPool {
+	/**
+	 * default largest buffer length, in chars or bytes, a pooled parser keeps
+	 */
+	public static final int DEFAULT_MAX_BUFFER = 64 * 1024;
+
+	private static final JSONParserPool SHARED = new JSONParserPool();
+
+	private final AtomicReferenceArray<JSONParser> slots;
+	private final int mask;
+	private final int maxBuffer;
+
+	/**
+	 * Creates a pool with two slots per available processor.
+	 */
+	public JSONParserPool() {
+		this(2 * Runtime.getRuntime().availableProcessors(), DEFAULT_MAX_BUFFER);
+	}
+
+	/**
+	 * @param size      the number of parsers kept, rounded up to a power of two
+	 * @param maxBuffer the largest buffer length, in chars or bytes, a pooled parser keeps
+	 */
+	public JSONParserPool(int size, int maxBuffer) {
+		if (size < 1 || maxBuffer < 1)
+			throw new IllegalArgumentException("size: " + size + ", maxBuffer: " + maxBuffer);
+		int capacity = Integer.highestOneBit(size);
+		if (capacity < size)
+			capacity <<= 1;
+		this.slots = new AtomicReferenceArray<>(capacity);
+		this.mask = capacity - 1;
+		this.maxBuffer = maxBuffer;
+	}
+
+	/**
+	 * @return the pool used by JSONValue and JSONReader
+	 */
+	public static JSONParserPool getShared() {
+		return SHARED;
+	}
+
+	/**
+	 * @return a parser in its default configuration, to be given back with {@link #release(JSONParser)}
+	 */
+	public JSONParser acquire() {
+		int start = start();
+		for (int i = 0; i <= mask; i++) {
+			int slot = (start + i) & mask;
+			JSONParser parser = slots.get(slot);
+			if (parser != null && slots.compareAndSet(slot, parser, null))
+				return parser;
+		}
+		return new JSONParser();
+	}
+
+	/**
+	 * Gives a parser back to the pool. The parser must not be used by the caller afterwards.
+	 *
+	 * @param parser a parser from {@link #acquire()}, or any other parser
+	 */
+	public void release(JSONParser parser) {
+		parser.release(maxBuffer);
+		int start = start();
+		for (int i = 0; i <= mask; i++) {
+			int slot = (start + i) & mask;
+			if (slots.get(slot) == null && slots.compareAndSet(slot, null, parser))
+				return;
+		}
+	}
+
+	/**
+	 * Parses a string with a pooled parser.
+	 *
+	 * @param s the JSON text
+	 * @return see {@link JSONParser#parse(String)}
+	 * @throws ParseException if the text is not valid JSON
+	 */
+	public Object parse(String s) throws ParseException {
+		JSONParser parser = acquire();
+		try {
+			return parser.parse(s);
+		} finally {
+			release(parser);
+		}
+	}
+
+	/**
+	 * Parses the text of a reader with a pooled parser.
+	 *
+	 * @param in the JSON text
+	 * @return see {@link JSONParser#parse(Reader)}
+	 * @throws IOException    if the reader fails
+	 * @throws ParseException if the text is not valid JSON
+	 */
+	public Object parse(Reader in) throws IOException, ParseException {
+		JSONParser parser = acquire();
+		try {
+			return parser.parse(in);
+		} finally {
+			release(parser);
+		}
+	}
+
+	/**
+	 * Spreads threads over the slots so that they rarely contend for the same one.
+	 */
+	private int start() {
+		long id = Thread.currentThread().getId();
+		return (int) (id ^ (id >>> 32)) * 0x9E3779B9 >>> 16;
+	}
+}
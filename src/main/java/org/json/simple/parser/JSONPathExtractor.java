@@ -0,0 +1,277 @@
+package org.json.simple.parser;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Extracts the values at a fixed set of paths from JSON text, without building the rest of the document.
+ * <p>
+ * Paths start with <tt>$</tt> followed by any number of steps: <tt>.key</tt> or <tt>['key']</tt> for an
+ * object entry, <tt>[2]</tt> for an array element, <tt>.*</tt> or <tt>[*]</tt> for every entry or element.
+ * <pre>
+ * JSONPathExtractor extractor = new JSONPathExtractor("$.user.id", "$.items[*].sku");
+ * JSONObject values = extractor.extract(text);
+ * Object id = values.get("$.user.id");             // absent if the document has no user.id
+ * JSONArray skus = (JSONArray) values.get("$.items[*].sku");
+ * </pre>
+ * Only the values at the requested paths are built; everything else is skipped by scanning for its end.
+ * A path without wildcards matches at most once, and as soon as every path is such a path and all
+ * of them have matched, the rest of the input is not read. A path with wildcards maps to a JSONArray of
+ * its matches, empty if there are none; matches in arrays are in document order.
+ * <p>
+ * An extractor is immutable and may be shared by threads; every extract call uses its own parser.
+ */
+public class JSONPathExtractor {
+	/**
+	 * step that matches any key or index
+	 */
+	static final Object ANY = new Object();
+
+	private final String[] paths;
+
+	/**
+	 * the steps of each path: String keys, Integer indexes or ANY
+	 */
+	private final Object[][] steps;
+
+	private final boolean[] wildcard;
+
+	private final int singleValued;
+
+	/**
+	 * @param paths the paths to extract
+	 * @throws IllegalArgumentException if a path is malformed
+	 */
+	public JSONPathExtractor(String... paths) {
+		this.paths = paths.clone();
+		this.steps = new Object[paths.length][];
+		this.wildcard = new boolean[paths.length];
+		int singleValued = 0;
+		for (int i = 0; i < paths.length; i++) {
+			steps[i] = compile(paths[i]);
+			for (Object step : steps[i])
+				wildcard[i] |= step == ANY;
+			if (!wildcard[i])
+				singleValued++;
+		}
+		this.singleValued = singleValued;
+	}
+
+	/**
+	 * @return the steps of the path: String keys, Integer indexes or ANY
+	 * @throws IllegalArgumentException if the path is malformed
+	 */
+	static Object[] compile(String path) {
+		if (path == null || !path.startsWith("$"))
+			throw new IllegalArgumentException("Path must start with $: " + path);
+		List<Object> steps = new ArrayList<>();
+		int i = 1;
+		int len = path.length();
+		while (i < len) {
+			char c = path.charAt(i);
+			if (c == '.') {
+				int end = i + 1;
+				while (end < len && path.charAt(end) != '.' && path.charAt(end) != '[')
+					end++;
+				String key = path.substring(i + 1, end);
+				if (key.isEmpty())
+					throw new IllegalArgumentException("Empty key at " + i + ": " + path);
+				steps.add(key.equals("*") ? ANY : key);
+				i = end;
+			} else if (c == '[') {
+				int end = path.indexOf(']', i);
+				if (end < 0)
+					throw new IllegalArgumentException("Unclosed [ at " + i + ": " + path);
+				String step = path.substring(i + 1, end);
+				if (step.equals("*")) {
+					steps.add(ANY);
+				} else if (step.length() >= 2 && (step.charAt(0) == '\'' || step.charAt(0) == '"')
+						&& step.charAt(step.length() - 1) == step.charAt(0)) {
+					steps.add(step.substring(1, step.length() - 1));
+				} else {
+					try {
+						int index = Integer.parseInt(step);
+						if (index < 0)
+							throw new IllegalArgumentException("Negative index at " + i + ": " + path);
+						steps.add(index);
+					} catch (NumberFormatException e) {
+						throw new IllegalArgumentException("Bad step at " + i + ": " + path);
+					}
+				}
+				i = end + 1;
+			} else {
+				throw new IllegalArgumentException("Unexpected character at " + i + ": " + path);
+			}
+		}
+		return steps.toArray();
+	}
+
+	public JSONObject extract(String s) throws ParseException {
+		try {
+			return extract(new JSONCursor(s));
+		} catch (IOException e) {
+			throw new ParseException(-1, ParseException.ERROR_UNEXPECTED_EXCEPTION, e);
+		}
+	}
+
+	public JSONObject extract(byte[] b) throws ParseException {
+		try {
+			return extract(new JSONCursor(b));
+		} catch (IOException e) {
+			throw new ParseException(-1, ParseException.ERROR_UNEXPECTED_EXCEPTION, e);
+		}
+	}
+
+	public JSONObject extract(Reader in) throws IOException, ParseException {
+		return extract(new JSONCursor(in));
+	}
+
+	public JSONObject extract(InputStream in) throws IOException, ParseException {
+		return extract(new JSONCursor(in));
+	}
+
+	/**
+	 * Extracts the values from the value the cursor is at, or from the next value if no event has been
+	 * read yet. When this method returns, the cursor is at the last event read, which is the end of the
+	 * value unless extraction stopped early.
+	 *
+	 * @param cursor the cursor to read from
+	 * @return the values found, keyed by path
+	 * @throws IOException    if the input fails
+	 * @throws ParseException if the text read is not valid JSON
+	 */
+	@SuppressWarnings("unchecked")
+	public JSONObject extract(JSONCursor cursor) throws IOException, ParseException {
+		Extraction extraction = new Extraction();
+		for (int i = 0; i < paths.length; i++) {
+			if (wildcard[i])
+				extraction.result.put(paths[i], new JSONArray());
+		}
+		if (cursor.currentEvent() == JSONCursor.NONE)
+			cursor.next();
+		int[] all = new int[paths.length];
+		for (int i = 0; i < all.length; i++)
+			all[i] = i;
+		if (all.length > 0)
+			visit(cursor, all, all.length, 0, extraction);
+		return extraction.result;
+	}
+
+	/**
+	 * State of one extract call.
+	 */
+	private class Extraction {
+		final JSONObject result = new JSONObject();
+		int missing = singleValued;
+
+		@SuppressWarnings("unchecked")
+		void found(int path, Object value) {
+			if (wildcard[path]) {
+				((JSONArray) result.get(paths[path])).add(value);
+			} else if (!result.containsKey(paths[path])) {
+				result.put(paths[path], value);
+				missing--;
+			}
+		}
+
+		boolean done() {
+			return missing == 0 && singleValued == paths.length;
+		}
+	}
+
+	/**
+	 * Visits the value the cursor is at.
+	 *
+	 * @param alive the paths whose first <tt>depth</tt> steps lead to this value, in alive[0, count)
+	 * @return false to stop reading
+	 */
+	private boolean visit(JSONCursor cursor, int[] alive, int count, int depth, Extraction extraction)
+			throws IOException, ParseException {
+		boolean ends = false;
+		for (int i = 0; i < count; i++)
+			ends |= steps[alive[i]].length == depth;
+		if (ends) {
+			// build the value once, longer paths through it are followed in the built value
+			Object value = cursor.readValue();
+			for (int i = 0; i < count; i++)
+				follow(value, alive[i], depth, extraction);
+			return !extraction.done();
+		}
+
+		int event = cursor.currentEvent();
+		if (event == JSONCursor.START_OBJECT) {
+			int[] next = new int[count];
+			while (cursor.next() == JSONCursor.KEY) {
+				String key = cursor.getString();
+				int nextCount = 0;
+				for (int i = 0; i < count; i++) {
+					Object step = steps[alive[i]][depth];
+					if (step == ANY || key.equals(step))
+						next[nextCount++] = alive[i];
+				}
+				if (nextCount == 0) {
+					cursor.skipValue();
+				} else {
+					cursor.next();
+					if (!visit(cursor, next, nextCount, depth + 1, extraction))
+						return false;
+				}
+			}
+		} else if (event == JSONCursor.START_ARRAY) {
+			int[] next = new int[count];
+			int index = 0;
+			while (cursor.next() != JSONCursor.END_ARRAY) {
+				int nextCount = 0;
+				for (int i = 0; i < count; i++) {
+					Object step = steps[alive[i]][depth];
+					if (step == ANY || (step instanceof Integer && (Integer) step == index))
+						next[nextCount++] = alive[i];
+				}
+				index++;
+				if (nextCount == 0) {
+					cursor.skipChildren();
+				} else {
+					if (!visit(cursor, next, nextCount, depth + 1, extraction))
+						return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Follows the steps of a path from <tt>depth</tt> on through a built value.
+	 */
+	private void follow(Object value, int path, int depth, Extraction extraction) {
+		Object[] pathSteps = steps[path];
+		if (depth == pathSteps.length) {
+			extraction.found(path, value);
+			return;
+		}
+		Object step = pathSteps[depth];
+		if (value instanceof Map) {
+			Map map = (Map) value;
+			if (step == ANY) {
+				for (Object child : map.values())
+					follow(child, path, depth + 1, extraction);
+			} else if (step instanceof String && map.containsKey(step)) {
+				follow(map.get(step), path, depth + 1, extraction);
+			}
+		} else if (value instanceof List) {
+			List list = (List) value;
+			if (step == ANY) {
+				for (Object child : list)
+					follow(child, path, depth + 1, extraction);
+			} else if (step instanceof Integer && (Integer) step < list.size()) {
+				follow(list.get((Integer) step), path, depth + 1, extraction);
+			}
+		}
+	}
+}
@@ -0,0 +1,120 @@
+package org.json.simple.parser;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Parses UTF-8 encoded JSON text that arrives in chunks, such as reads from a non-blocking
+ * <tt>SocketChannel</tt>, and reports it to a ContentHandler. The parser never waits for input:
+ * each feed call parses as far as the bytes fed so far allow and returns {@link #NEED_INPUT} when
+ * they run out. Chunks may end anywhere, inside a string, an escape, a number or a multi-byte
+ * character; the incomplete token is kept and completed by the next chunk.
+ * <pre>
+ * JSONPushParser parser = new JSONPushParser(handler);
+ * while (channel.read(buf) &gt;= 0) {
+ *     buf.flip();
+ *     parser.feed(buf);
+ *     buf.clear();
+ * }
+ * parser.end();
+ * </pre>
+ * As the end of a number or of the document can only be known from the bytes after it, the last
+ * number of the input and endJSON are reported by {@link #end()}.
+ * <p>
+ * When the handler stops the parse by returning false, feed returns {@link #STOPPED} and the bytes
+ * not parsed yet are kept; feeding more bytes, or none, continues the parse. The handler is not asked
+ * to skip object entries, as the input fed may end inside the value to skip.
+ * <p>
+ * A push parser is not thread-safe.
+ *
+ * @see ContentHandler
+ */
+public class JSONPushParser {
+	/**
+	 * All bytes fed so far have been parsed.
+	 */
+	public static final int NEED_INPUT = 0;
+
+	/**
+	 * The handler stopped the parse.
+	 */
+	public static final int STOPPED = 1;
+
+	/**
+	 * The end of input has been parsed and endJSON has been called.
+	 */
+	public static final int FINISHED = 2;
+
+	private final JSONParser parser;
+
+	private final ContentHandler contentHandler;
+
+	public JSONPushParser(ContentHandler contentHandler) {
+		this(new JSONParser(), contentHandler);
+	}
+
+	/**
+	 * @param parser         the parser to use, with its options; it must not be used for anything else
+	 *                       while this push parser is in use
+	 * @param contentHandler the handler
+	 */
+	public JSONPushParser(JSONParser parser, ContentHandler contentHandler) {
+		if (contentHandler == null)
+			throw new NullPointerException("contentHandler");
+		this.parser = parser;
+		this.contentHandler = contentHandler;
+		parser.resetFeed();
+	}
+
+	/**
+	 * Drops the input fed so far and starts a new document.
+	 */
+	public void reset() {
+		parser.resetFeed();
+	}
+
+	public int feed(byte[] b) throws ParseException {
+		return feed(b, 0, b.length);
+	}
+
+	/**
+	 * Parses the bytes <tt>b[off, off + len)</tt> after the bytes fed so far. The bytes are copied.
+	 *
+	 * @return NEED_INPUT or STOPPED
+	 * @throws ParseException        if the text fed is not valid JSON
+	 * @throws IllegalStateException if end has been called
+	 */
+	public int feed(byte[] b, int off, int len) throws ParseException {
+		return parser.feed(b, off, len, contentHandler) ? NEED_INPUT : STOPPED;
+	}
+
+	/**
+	 * Parses the remaining bytes of <tt>buf</tt> after the bytes fed so far. The bytes are copied
+	 * and the position of buf is moved to its limit.
+	 *
+	 * @return NEED_INPUT or STOPPED
+	 * @throws ParseException        if the text fed is not valid JSON
+	 * @throws IllegalStateException if end has been called
+	 */
+	public int feed(ByteBuffer buf) throws ParseException {
+		return parser.feed(buf, contentHandler) ? NEED_INPUT : STOPPED;
+	}
+
+	/**
+	 * Parses the rest of the bytes fed as the end of input. If the handler stops the parse,
+	 * call end again to continue it.
+	 *
+	 * @return FINISHED or STOPPED
+	 * @throws ParseException if the text fed is not valid JSON, or ends inside the value
+	 */
+	public int end() throws ParseException {
+		parser.feedEnd(contentHandler);
+		return parser.isFinished() ? FINISHED : STOPPED;
+	}
+
+	/**
+	 * @return the number of bytes parsed so far
+	 */
+	public int getPosition() {
+		return parser.getPosition();
+	}
+}
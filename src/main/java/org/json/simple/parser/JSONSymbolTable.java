@@ -0,0 +1,165 @@
+package org.json.simple.parser;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A bounded table of canonical object keys. JSON documents of the same kind repeat the same field names over and
+ * over; with a symbol table the parser looks every key up by its hash and chars straight from the scanner buffer,
+ * and only creates a String the first time a key is seen. Parsed documents then share their key instances.
+ * <p>
+ * The table never grows beyond its capacity: a new key that finds no free slot among its probes replaces one of
+ * the keys there. It can be shared between parsers and threads; a lookup racing with a replacement at worst misses
+ * and creates an equal String.
+ *
+ * @see org.json.simple.parser.JSONParser#setSymbolTable(JSONSymbolTable)
+ */
+public class JSONSymbolTable {
+	/**
+	 * Keys longer than this are not worth keeping, they are created as plain strings.
+	 */
+	public static final int MAX_KEY_LENGTH = 64;
+
+	private static final int PROBES = 4;
+
+	private final String[] symbols;
+	private final int mask;
+
+	/**
+	 * Constructs a symbol table holding up to 1024 keys.
+	 */
+	public JSONSymbolTable() {
+		this(1024);
+	}
+
+	/**
+	 * @param capacity maximum number of keys, rounded up to a power of two
+	 */
+	public JSONSymbolTable(int capacity) {
+		if (capacity <= 0)
+			throw new IllegalArgumentException("capacity: " + capacity);
+		int size = Integer.highestOneBit(Math.max(capacity, PROBES) - 1) << 1;
+		symbols = new String[size];
+		mask = size - 1;
+	}
+
+	/**
+	 * @param buf text
+	 * @param off offset of the key
+	 * @param len length of the key
+	 * @return the canonical String with the chars <tt>buf[off, off + len)</tt>
+	 */
+	public String intern(char[] buf, int off, int len) {
+		if (len > MAX_KEY_LENGTH)
+			return new String(buf, off, len);
+		int hash = 0;
+		for (int i = off, end = off + len; i < end; i++)
+			hash = 31 * hash + buf[i];
+		String[] symbols = this.symbols;
+		int free = -1;
+		for (int p = 0; p < PROBES; p++) {
+			int slot = (hash + p) & mask;
+			String s = symbols[slot];
+			if (s == null) {
+				if (free < 0)
+					free = slot;
+			} else if (s.hashCode() == hash && s.length() == len && matches(s, buf, off)) {
+				return s;
+			}
+		}
+		String s = new String(buf, off, len);
+		symbols[free >= 0 ? free : victim(hash)] = s;
+		return s;
+	}
+
+	/**
+	 * @param buf UTF-8 encoded text
+	 * @param off offset of the key
+	 * @param len length of the key in bytes
+	 * @return the canonical String for the bytes <tt>buf[off, off + len)</tt>, or null if they are not all ASCII
+	 */
+	String intern(byte[] buf, int off, int len) {
+		int hash = 0;
+		for (int i = off, end = off + len; i < end; i++) {
+			int b = buf[i];
+			if (b < 0)
+				return null;
+			hash = 31 * hash + b;
+		}
+		if (len > MAX_KEY_LENGTH)
+			return new String(buf, off, len, StandardCharsets.ISO_8859_1);
+		String[] symbols = this.symbols;
+		int free = -1;
+		for (int p = 0; p < PROBES; p++) {
+			int slot = (hash + p) & mask;
+			String s = symbols[slot];
+			if (s == null) {
+				if (free < 0)
+					free = slot;
+			} else if (s.hashCode() == hash && s.length() == len && matches(s, buf, off)) {
+				return s;
+			}
+		}
+		String s = new String(buf, off, len, StandardCharsets.ISO_8859_1);
+		symbols[free >= 0 ? free : victim(hash)] = s;
+		return s;
+	}
+
+	/**
+	 * @param text key
+	 * @return the canonical String with the same chars as text
+	 */
+	public String intern(CharSequence text) {
+		int len = text.length();
+		if (len > MAX_KEY_LENGTH)
+			return text.toString();
+		int hash = 0;
+		for (int i = 0; i < len; i++)
+			hash = 31 * hash + text.charAt(i);
+		String[] symbols = this.symbols;
+		int free = -1;
+		for (int p = 0; p < PROBES; p++) {
+			int slot = (hash + p) & mask;
+			String s = symbols[slot];
+			if (s == null) {
+				if (free < 0)
+					free = slot;
+			} else if (s.hashCode() == hash && s.contentEquals(text)) {
+				return s;
+			}
+		}
+		String s = text.toString();
+		symbols[free >= 0 ? free : victim(hash)] = s;
+		return s;
+	}
+
+	/**
+	 * Removes all keys.
+	 */
+	public void clear() {
+		Arrays.fill(symbols, null);
+	}
+
+	/**
+	 * @return the slot a new key replaces when all its probes are taken
+	 */
+	private int victim(int hash) {
+		return (hash + ((hash >>> 16) & (PROBES - 1))) & mask;
+	}
+
+	private static boolean matches(String s, char[] buf, int off) {
+		for (int i = 0, len = s.length(); i < len; i++) {
+			if (s.charAt(i) != buf[off + i])
+				return false;
+		}
+		return true;
+	}
+
+	private static boolean matches(String s, byte[] buf, int off) {
+		for (int i = 0, len = s.length(); i < len; i++) {
+			if (s.charAt(i) != buf[off + i])
+				return false;
+		}
+		return true;
+	}
+}
@@ -0,0 +1,603 @@
+package org.json.simple.parser;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * A read-only JSON document kept in a few flat arrays rather than as a tree of maps, lists and boxed values.
+ * <p>
+ * Structure and scalars are words of one long array, the tape: a container is a start word, its contents
+ * and an end word, an object entry is a key word followed by its value, an int is a single word and
+ * any other number a word followed by its bits. The characters of strings and keys are in one shared
+ * char array, and every distinct key is stored once however often it occurs. Values of other types the
+ * parser may produce, such as BigDecimal or temporal values, are kept as they are.
+ * <p>
+ * Values are addressed by node, the index of their first word, and the document itself is node 0.
+ * <pre>
+ * JSONTape tape = JSONTape.parse(text);
+ * long id = tape.getLong("$.user.id");
+ * for (int item = tape.first(tape.find("$.items")); item != -1; item = tape.next(item))
+ *     System.out.println(tape.getString(tape.get(item, "sku")));
+ * JSONObject user = tape.getObject("$.user");
+ * </pre>
+ * {@link #getValue(int)} builds the JSONObject, JSONArray or value of a node on demand, equal to what
+ * JSONParser returns for the same text. Paths have the syntax of {@link JSONPathExtractor}, without
+ * wildcards. A tape is immutable and may be shared by threads.
+ */
+public class JSONTape {
+	public static final int OBJECT = 1;
+	public static final int ARRAY = 2;
+	public static final int STRING = 3;
+	public static final int NUMBER = 4;
+	public static final int BOOLEAN = 5;
+	public static final int NULL = 6;
+	/**
+	 * type of the values that are neither of the above, such as temporal values
+	 */
+	public static final int OTHER = 7;
+
+	/*
+	 * Tags, in the top byte of a word. The other bits are the payload: the index of the end word for
+	 * a start word, the number of values for an end word, the offset in chars for a key or string,
+	 * the value of an int, the index in others for other values.
+	 */
+	private static final int TAG_START_OBJECT = 1;
+	private static final int TAG_END_OBJECT = 2;
+	private static final int TAG_START_ARRAY = 3;
+	private static final int TAG_END_ARRAY = 4;
+	private static final int TAG_KEY = 5;
+	private static final int TAG_STRING = 6;
+	private static final int TAG_INT = 7;
+	private static final int TAG_LONG = 8;
+	private static final int TAG_DOUBLE = 9;
+	private static final int TAG_TRUE = 10;
+	private static final int TAG_FALSE = 11;
+	private static final int TAG_NULL = 12;
+	private static final int TAG_OTHER = 13;
+
+	private static final long PAYLOAD = (1L << 56) - 1;
+
+	private final long[] tape;
+
+	/**
+	 * every string or key as two chars holding its length followed by its chars
+	 */
+	private final char[] chars;
+
+	private final Object[] others;
+
+	private JSONTape(long[] tape, char[] chars, Object[] others) {
+		this.tape = tape;
+		this.chars = chars;
+		this.others = others;
+	}
+
+	public static JSONTape parse(String s) throws ParseException {
+		Builder builder = new Builder();
+		JSONParser parser = JSONParserPool.getShared().acquire();
+		try {
+			parser.parse(s, builder);
+		} finally {
+			JSONParserPool.getShared().release(parser);
+		}
+		return builder.getTape();
+	}
+
+	/**
+	 * @param b UTF-8 encoded JSON text, scanned in place
+	 */
+	public static JSONTape parse(byte[] b) throws ParseException {
+		Builder builder = new Builder();
+		JSONParser parser = JSONParserPool.getShared().acquire();
+		try {
+			parser.parse(b, builder);
+		} finally {
+			JSONParserPool.getShared().release(parser);
+		}
+		return builder.getTape();
+	}
+
+	public static JSONTape parse(Reader in) throws IOException, ParseException {
+		Builder builder = new Builder();
+		JSONParser parser = JSONParserPool.getShared().acquire();
+		try {
+			parser.parse(in, builder);
+		} finally {
+			JSONParserPool.getShared().release(parser);
+		}
+		return builder.getTape();
+	}
+
+	/**
+	 * @param in UTF-8 encoded JSON text
+	 */
+	public static JSONTape parse(InputStream in) throws IOException, ParseException {
+		Builder builder = new Builder();
+		JSONParser parser = JSONParserPool.getShared().acquire();
+		try {
+			parser.parse(in, builder);
+		} finally {
+			JSONParserPool.getShared().release(parser);
+		}
+		return builder.getTape();
+	}
+
+	/**
+	 * @param file UTF-8 encoded JSON file, read through memory mappings
+	 */
+	public static JSONTape parse(Path file) throws IOException, ParseException {
+		Builder builder = new Builder();
+		JSONParser parser = JSONParserPool.getShared().acquire();
+		try {
+			parser.parse(file, builder);
+		} finally {
+			JSONParserPool.getShared().release(parser);
+		}
+		return builder.getTape();
+	}
+
+	private int tag(int node) {
+		return (int) (tape[node] >>> 56);
+	}
+
+	private int payload(int node) {
+		return (int) (tape[node] & PAYLOAD);
+	}
+
+	/**
+	 * @return the node after the value at node and everything in it
+	 */
+	private int skip(int node) {
+		switch (tag(node)) {
+		case TAG_START_OBJECT:
+		case TAG_START_ARRAY:
+			return payload(node) + 1;
+		case TAG_LONG:
+		case TAG_DOUBLE:
+			return node + 2;
+		default:
+			return node + 1;
+		}
+	}
+
+	/**
+	 * @return the value node at index, which is past the key of an object entry, or -1 at an end word
+	 */
+	private int valueAt(int index) {
+		int tag = tag(index);
+		if (tag == TAG_END_OBJECT || tag == TAG_END_ARRAY)
+			return -1;
+		return tag == TAG_KEY ? index + 1 : index;
+	}
+
+	private void checkContainer(int node) {
+		int tag = tag(node);
+		if (tag != TAG_START_OBJECT && tag != TAG_START_ARRAY)
+			throw new IllegalArgumentException("Not an object or array: " + node);
+	}
+
+	/**
+	 * @return one of OBJECT, ARRAY, STRING, NUMBER, BOOLEAN, NULL and OTHER
+	 */
+	public int getType(int node) {
+		switch (tag(node)) {
+		case TAG_START_OBJECT:
+			return OBJECT;
+		case TAG_START_ARRAY:
+			return ARRAY;
+		case TAG_STRING:
+			return STRING;
+		case TAG_INT:
+		case TAG_LONG:
+		case TAG_DOUBLE:
+			return NUMBER;
+		case TAG_TRUE:
+		case TAG_FALSE:
+			return BOOLEAN;
+		case TAG_NULL:
+			return NULL;
+		case TAG_OTHER:
+			return others[payload(node)] instanceof Number ? NUMBER : OTHER;
+		default:
+			throw new IllegalArgumentException("Not a value: " + node);
+		}
+	}
+
+	/**
+	 * @param node an object or array
+	 * @return the number of elements, or of entries including those of repeated keys
+	 */
+	public int size(int node) {
+		checkContainer(node);
+		return payload(payload(node));
+	}
+
+	/**
+	 * @param node an object or array
+	 * @return the first value in it, or -1 if it is empty
+	 */
+	public int first(int node) {
+		checkContainer(node);
+		return valueAt(node + 1);
+	}
+
+	/**
+	 * @param node a value in an object or array
+	 * @return the value after it, or -1 if it is the last one
+	 */
+	public int next(int node) {
+		return valueAt(skip(node));
+	}
+
+	/**
+	 * @param node a value in an object
+	 * @return its key
+	 */
+	public String getKey(int node) {
+		if (node < 1 || tag(node - 1) != TAG_KEY)
+			throw new IllegalArgumentException("Not an object entry: " + node);
+		return string(payload(node - 1));
+	}
+
+	/**
+	 * @param node an object
+	 * @return the value of the key, the last one if the key occurs more than once, or -1
+	 */
+	public int get(int node, String key) {
+		if (tag(node) != TAG_START_OBJECT)
+			throw new IllegalArgumentException("Not an object: " + node);
+		int found = -1;
+		for (int value = first(node); value != -1; value = next(value)) {
+			if (keyEquals(payload(value - 1), key))
+				found = value;
+		}
+		return found;
+	}
+
+	/**
+	 * @param node an array
+	 * @return the element at index, or -1
+	 */
+	public int get(int node, int index) {
+		if (tag(node) != TAG_START_ARRAY)
+			throw new IllegalArgumentException("Not an array: " + node);
+		int value = first(node);
+		for (int i = 0; i < index && value != -1; i++)
+			value = next(value);
+		return index < 0 ? -1 : value;
+	}
+
+	/**
+	 * @param path a path such as <tt>$.items[2].sku</tt>
+	 * @return the node at the path, or -1 if there is none
+	 * @throws IllegalArgumentException if the path is malformed or has wildcards
+	 */
+	public int find(String path) {
+		int node = 0;
+		for (Object step : JSONPathExtractor.compile(path)) {
+			if (step == JSONPathExtractor.ANY)
+				throw new IllegalArgumentException("Wildcards are not supported: " + path);
+			int tag = tag(node);
+			if (step instanceof String && tag == TAG_START_OBJECT)
+				node = get(node, (String) step);
+			else if (step instanceof Integer && tag == TAG_START_ARRAY)
+				node = get(node, (int) (Integer) step);
+			else
+				node = -1;
+			if (node == -1)
+				break;
+		}
+		return node;
+	}
+
+	public String getString(int node) {
+		if (tag(node) == TAG_STRING)
+			return string(payload(node));
+		return (String) getValue(node);
+	}
+
+	public Number getNumber(int node) {
+		return (Number) getValue(node);
+	}
+
+	public long getLong(int node) {
+		int tag = tag(node);
+		if (tag == TAG_INT)
+			return payload(node);
+		if (tag == TAG_LONG)
+			return tape[node + 1];
+		return getNumber(node).longValue();
+	}
+
+	public double getDouble(int node) {
+		if (tag(node) == TAG_DOUBLE)
+			return Double.longBitsToDouble(tape[node + 1]);
+		return getNumber(node).doubleValue();
+	}
+
+	public boolean getBoolean(int node) {
+		int tag = tag(node);
+		if (tag == TAG_TRUE || tag == TAG_FALSE)
+			return tag == TAG_TRUE;
+		return (Boolean) getValue(node);
+	}
+
+	public boolean isNull(int node) {
+		return tag(node) == TAG_NULL;
+	}
+
+	/**
+	 * @return the value at node, with objects and arrays built as JSONObject and JSONArray
+	 */
+	@SuppressWarnings("unchecked")
+	public Object getValue(int node) {
+		switch (tag(node)) {
+		case TAG_START_OBJECT: {
+			JSONObject object = new JSONObject();
+			for (int value = first(node); value != -1; value = next(value))
+				object.put(string(payload(value - 1)), getValue(value));
+			return object;
+		}
+		case TAG_START_ARRAY: {
+			JSONArray array = new JSONArray();
+			array.ensureCapacity(size(node));
+			for (int value = first(node); value != -1; value = next(value))
+				array.add(getValue(value));
+			JSONParser.unifyNumbers(array);
+			return array;
+		}
+		case TAG_STRING:
+			return string(payload(node));
+		case TAG_INT:
+			return payload(node);
+		case TAG_LONG:
+			return tape[node + 1];
+		case TAG_DOUBLE:
+			return Double.longBitsToDouble(tape[node + 1]);
+		case TAG_TRUE:
+			return Boolean.TRUE;
+		case TAG_FALSE:
+			return Boolean.FALSE;
+		case TAG_NULL:
+			return null;
+		case TAG_OTHER:
+			return others[payload(node)];
+		default:
+			throw new IllegalArgumentException("Not a value: " + node);
+		}
+	}
+
+	/**
+	 * @return the value of the whole document
+	 */
+	public Object getValue() {
+		return getValue(0);
+	}
+
+	/**
+	 * @return the value at the path, or null if there is none
+	 */
+	public Object getValue(String path) {
+		int node = find(path);
+		return node == -1 ? null : getValue(node);
+	}
+
+	/**
+	 * @return the object at the path, or null if there is none
+	 * @throws ClassCastException if the value at the path is not an object
+	 */
+	public JSONObject getObject(String path) {
+		return (JSONObject) getValue(path);
+	}
+
+	/**
+	 * @return the array at the path, or null if there is none
+	 * @throws ClassCastException if the value at the path is not an array
+	 */
+	public JSONArray getArray(String path) {
+		return (JSONArray) getValue(path);
+	}
+
+	/**
+	 * @return the string at the path, or null if there is none
+	 */
+	public String getString(String path) {
+		int node = find(path);
+		return node == -1 ? null : getString(node);
+	}
+
+	/**
+	 * @throws NoSuchElementException if there is no value at the path
+	 */
+	public long getLong(String path) {
+		int node = find(path);
+		if (node == -1)
+			throw new NoSuchElementException(path);
+		return getLong(node);
+	}
+
+	private String string(int offset) {
+		int length = chars[offset] << 16 | chars[offset + 1];
+		return new String(chars, offset + 2, length);
+	}
+
+	private boolean keyEquals(int offset, String key) {
+		int length = chars[offset] << 16 | chars[offset + 1];
+		if (length != key.length())
+			return false;
+		offset += 2;
+		for (int i = 0; i < length; i++) {
+			if (chars[offset + i] != key.charAt(i))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Builds a tape from the events of a parse, so that a tape can be built with any parser
+	 * configuration and from any input:
+	 * <pre>
+	 * JSONTape.Builder builder = new JSONTape.Builder();
+	 * parser.parse(in, builder);
+	 * JSONTape tape = builder.getTape();
+	 * </pre>
+	 * A builder can be used for one parse after another.
+	 */
+	public static class Builder implements ContentHandler {
+		private long[] tape = new long[64];
+		private int size;
+		private char[] chars = new char[256];
+		private int charCount;
+		private final List<Object> others = new ArrayList<>();
+		/**
+		 * the offset in chars of every key seen
+		 */
+		private final Map<String, Integer> keys = new HashMap<>();
+		/**
+		 * the start word of every open container
+		 */
+		private int[] starts = new int[16];
+		private int[] counts = new int[16];
+		private int depth;
+
+		/**
+		 * @return the tape of the last document parsed
+		 * @throws IllegalStateException if no complete document has been parsed
+		 */
+		public JSONTape getTape() {
+			if (size == 0 || depth != 0)
+				throw new IllegalStateException("No complete document");
+			return new JSONTape(Arrays.copyOf(tape, size), Arrays.copyOf(chars, charCount), others.toArray());
+		}
+
+		private void add(int tag, long payload) {
+			if (size == tape.length)
+				tape = Arrays.copyOf(tape, size * 2);
+			tape[size++] = (long) tag << 56 | payload;
+		}
+
+		private void addBits(int tag, long bits) {
+			add(tag, 0);
+			if (size == tape.length)
+				tape = Arrays.copyOf(tape, size * 2);
+			tape[size++] = bits;
+		}
+
+		/**
+		 * @return the offset of the string in chars
+		 */
+		private int addString(String s) {
+			int length = s.length();
+			if (chars.length - charCount < length + 2)
+				chars = Arrays.copyOf(chars, Math.max(chars.length * 2, charCount + length + 2));
+			int offset = charCount;
+			chars[charCount++] = (char) (length >>> 16);
+			chars[charCount++] = (char) length;
+			s.getChars(0, length, chars, charCount);
+			charCount += length;
+			return offset;
+		}
+
+		/**
+		 * Counts a value in the enclosing container.
+		 */
+		private void value() {
+			if (depth > 0)
+				counts[depth - 1]++;
+		}
+
+		private void start(int tag) {
+			value();
+			if (depth == starts.length) {
+				starts = Arrays.copyOf(starts, depth * 2);
+				counts = Arrays.copyOf(counts, depth * 2);
+			}
+			starts[depth] = size;
+			counts[depth++] = 0;
+			add(tag, 0);
+		}
+
+		private void end(int tag) {
+			int start = starts[--depth];
+			tape[start] |= size;
+			add(tag, counts[depth]);
+		}
+
+		public void startJSON() {
+			size = 0;
+			charCount = 0;
+			others.clear();
+			keys.clear();
+			depth = 0;
+		}
+
+		public void endJSON() {
+		}
+
+		public boolean startObject() {
+			start(TAG_START_OBJECT);
+			return true;
+		}
+
+		public boolean endObject() {
+			end(TAG_END_OBJECT);
+			return true;
+		}
+
+		public boolean startObjectEntry(String key) {
+			Integer offset = keys.get(key);
+			if (offset == null) {
+				offset = addString(key);
+				keys.put(key, offset);
+			}
+			add(TAG_KEY, offset);
+			return true;
+		}
+
+		public boolean endObjectEntry() {
+			return true;
+		}
+
+		public boolean startArray() {
+			start(TAG_START_ARRAY);
+			return true;
+		}
+
+		public boolean endArray() {
+			end(TAG_END_ARRAY);
+			return true;
+		}
+
+		public boolean primitive(Object value) {
+			value();
+			if (value == null) {
+				add(TAG_NULL, 0);
+			} else if (value instanceof String) {
+				add(TAG_STRING, addString((String) value));
+			} else if (value.getClass() == Integer.class) {
+				add(TAG_INT, (Integer) value & 0xFFFFFFFFL);
+			} else if (value.getClass() == Long.class) {
+				addBits(TAG_LONG, (Long) value);
+			} else if (value.getClass() == Double.class) {
+				addBits(TAG_DOUBLE, Double.doubleToRawLongBits((Double) value));
+			} else if (value instanceof Boolean) {
+				add((Boolean) value ? TAG_TRUE : TAG_FALSE, 0);
+			} else {
+				add(TAG_OTHER, others.size());
+				others.add(value);
+			}
+			return true;
+		}
+	}
+}
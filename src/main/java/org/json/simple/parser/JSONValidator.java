@@ -0,0 +1,115 @@
+package org.json.simple.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Checks whether text is a single valid JSON value, for callers that only need a yes or no.
+ * <pre>
+ * if (!JSONValidator.isValid(body))
+ *     return badRequest();
+ * </pre>
+ * The text goes through the same lexer and state machine as a parse, with the same rules, but no
+ * strings, numbers, objects or arrays are created, and an error costs no stack trace. Parsers are
+ * taken from the shared JSONParserPool.
+ */
+public class JSONValidator {
+	/**
+	 * Accepts every callback and keeps nothing.
+	 */
+	private static final ContentHandler IGNORE = new ContentHandler() {
+		public void startJSON() {
+		}
+
+		public void endJSON() {
+		}
+
+		public boolean startObject() {
+			return true;
+		}
+
+		public boolean endObject() {
+			return true;
+		}
+
+		public boolean startObjectEntry(String key) {
+			return true;
+		}
+
+		public boolean endObjectEntry() {
+			return true;
+		}
+
+		public boolean startArray() {
+			return true;
+		}
+
+		public boolean endArray() {
+			return true;
+		}
+
+		public boolean primitive(Object value) {
+			return true;
+		}
+	};
+
+	private JSONValidator() {
+	}
+
+	/**
+	 * @param s JSON text
+	 * @return true if s is one JSON value, with nothing but whitespace around it
+	 */
+	public static boolean isValid(CharSequence s) {
+		JSONParser parser = acquire();
+		try {
+			parser.reset(s);
+			parser.resume(IGNORE);
+			return true;
+		} catch (ParseException | IOException e) {
+			return false;
+		} finally {
+			JSONParserPool.getShared().release(parser);
+		}
+	}
+
+	/**
+	 * @param b UTF-8 encoded JSON text
+	 * @return true if b is one JSON value, with nothing but whitespace around it, and well-formed UTF-8
+	 */
+	public static boolean isValid(byte[] b) {
+		JSONParser parser = acquire();
+		try {
+			parser.parse(b, IGNORE);
+			return true;
+		} catch (ParseException e) {
+			return false;
+		} finally {
+			JSONParserPool.getShared().release(parser);
+		}
+	}
+
+	/**
+	 * @param in JSON text, read to the end of the value and whatever follows it up to the first error
+	 * @return true if the input is one JSON value, with nothing but whitespace around it
+	 * @throws IOException if reading fails
+	 */
+	public static boolean isValid(Reader in) throws IOException {
+		JSONParser parser = acquire();
+		try {
+			parser.parse(in, IGNORE);
+			return true;
+		} catch (ParseException e) {
+			return false;
+		} finally {
+			JSONParserPool.getShared().release(parser);
+		}
+	}
+
+	private static JSONParser acquire() {
+		JSONParser parser = JSONParserPool.getShared().acquire();
+		parser.setValidating(true);
+		parser.setStacklessExceptions(true);
+		return parser;
+	}
+}
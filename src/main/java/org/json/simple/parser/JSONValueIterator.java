@@ -0,0 +1,206 @@
+package org.json.simple.parser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates over a sequence of top-level JSON values, such as newline-delimited JSON (NDJSON) or
+ * concatenated JSON. Values may be separated by any whitespace, or by nothing at all where that
+ * is unambiguous, as in <tt>{}{}</tt>. All values are read with one parser and one buffer.
+ * <pre>
+ * try (JSONValueIterator values = new JSONValueIterator(new FileInputStream("events.ndjson"))) {
+ *     values.setSkipMalformed(true);
+ *     values.stream().forEach(System.out::println);
+ * }
+ * </pre>
+ * With {@link #setSkipMalformed(boolean)} the input is read line by line: every value must be on a
+ * line of its own, and a line that is not one valid value, including a value cut short by the end
+ * of its line, is skipped and counted. Empty lines are skipped either way.
+ * <p>
+ * As Iterator methods cannot throw checked exceptions, hasNext and next throw a RuntimeException
+ * caused by the IOException or ParseException. An iterator is not thread-safe.
+ */
+public class JSONValueIterator implements Iterator<Object>, Closeable {
+	private static final Object NOT_READ = new Object();
+
+	private final JSONParser parser;
+
+	private final Closeable input;
+
+	private ContainerFactory containerFactory;
+
+	private boolean skipMalformed;
+
+	private int skipped;
+
+	/**
+	 * the value read ahead by hasNext, END_OF_SEQUENCE at the end, or NOT_READ
+	 */
+	private Object next = NOT_READ;
+
+	public JSONValueIterator(String s) {
+		this(new JSONParser(), s);
+	}
+
+	public JSONValueIterator(Reader in) {
+		this(new JSONParser(), in);
+	}
+
+	/**
+	 * @param b input, UTF-8 encoded and scanned in place
+	 */
+	public JSONValueIterator(byte[] b) {
+		this(new JSONParser(), b, 0, b.length);
+	}
+
+	/**
+	 * @param in input, read as UTF-8
+	 */
+	public JSONValueIterator(InputStream in) {
+		this(new JSONParser(), in);
+	}
+
+	/**
+	 * @param parser the parser to read with, with its options; it must not be used for anything else
+	 *               while this iterator is in use
+	 * @param s      input
+	 */
+	public JSONValueIterator(JSONParser parser, String s) {
+		this.parser = parser;
+		this.input = null;
+		parser.reset(s);
+	}
+
+	/**
+	 * @param parser the parser to read with, with its options; it must not be used for anything else
+	 *               while this iterator is in use
+	 * @param b      input, UTF-8 encoded and scanned in place
+	 * @param off    offset of the first byte
+	 * @param len    number of bytes
+	 */
+	public JSONValueIterator(JSONParser parser, byte[] b, int off, int len) {
+		this.parser = parser;
+		this.input = null;
+		parser.reset(b, off, len);
+	}
+
+	/**
+	 * @param parser the parser to read with, with its options; it must not be used for anything else
+	 *               while this iterator is in use
+	 * @param in     input
+	 */
+	public JSONValueIterator(JSONParser parser, Reader in) {
+		this.parser = parser;
+		this.input = in;
+		parser.reset(in);
+	}
+
+	/**
+	 * @param parser the parser to read with, with its options; it must not be used for anything else
+	 *               while this iterator is in use
+	 * @param in     input, read as UTF-8
+	 */
+	public JSONValueIterator(JSONParser parser, InputStream in) {
+		this.parser = parser;
+		this.input = in;
+		parser.reset(in);
+	}
+
+	/**
+	 * @param containerFactory the factory for the objects and arrays of the following values, or null
+	 */
+	public void setContainerFactory(ContainerFactory containerFactory) {
+		this.containerFactory = containerFactory;
+	}
+
+	/**
+	 * Read the following values line by line, skipping the lines that are not one valid value.
+	 *
+	 * @param skipMalformed true to skip malformed lines, false to fail on them
+	 */
+	public void setSkipMalformed(boolean skipMalformed) {
+		this.skipMalformed = skipMalformed;
+	}
+
+	/**
+	 * @return the number of lines skipped as malformed so far
+	 */
+	public int getSkippedCount() {
+		return skipped;
+	}
+
+	/**
+	 * @return true if there is another value
+	 * @throws RuntimeException caused by an IOException or ParseException
+	 */
+	@Override
+	public boolean hasNext() {
+		if (next == NOT_READ) {
+			try {
+				next = readNext();
+			} catch (IOException | ParseException e) {
+				next = JSONParser.END_OF_SEQUENCE;
+				throw new RuntimeException(e);
+			}
+		}
+		return next != JSONParser.END_OF_SEQUENCE;
+	}
+
+	/**
+	 * @return the next value: a JSONObject, JSONArray, String, Number, Boolean or null
+	 * @throws RuntimeException caused by an IOException or ParseException
+	 */
+	@Override
+	public Object next() {
+		if (!hasNext())
+			throw new NoSuchElementException();
+		Object value = next;
+		next = NOT_READ;
+		return value;
+	}
+
+	private Object readNext() throws IOException, ParseException {
+		while (true) {
+			try {
+				return parser.parseNext(containerFactory, skipMalformed);
+			} catch (ParseException e) {
+				if (!skipMalformed)
+					throw e;
+				skipped++;
+				parser.skipLine();
+			}
+		}
+	}
+
+	/**
+	 * @return the remaining values as a sequential, ordered stream that closes this iterator when closed
+	 */
+	public Stream<Object> stream() {
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+				.onClose(() -> {
+					try {
+						close();
+					} catch (IOException e) {
+						throw new RuntimeException(e);
+					}
+				});
+	}
+
+	/**
+	 * Closes the input.
+	 */
+	@Override
+	public void close() throws IOException {
+		next = JSONParser.END_OF_SEQUENCE;
+		if (input != null)
+			input.close();
+	}
+}
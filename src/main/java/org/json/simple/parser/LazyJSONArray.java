@@ -0,0 +1,264 @@
+package org.json.simple.parser;
+
+import org.json.simple.JSONArray;
+
+import java.io.IOException;
+import java.io.ObjectStreamException;
+import java.io.Writer;
+import java.text.DateFormat;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * A JSONArray from {@link LazyJSONParser} that keeps the range of its text and parses it on first access.
+ * <p>
+ * Any List or JSONArray method parses the elements first, except the ones that write JSON text: until
+ * then those write the original text unchanged. The objects and arrays among the elements are lazy in
+ * turn. Parse errors show up on first access, as a RuntimeException caused by the ParseException.
+ */
+public class LazyJSONArray<T> extends JSONArray<T> {
+	private static final long serialVersionUID = -2093526393787127435L;
+
+	/**
+	 * the text of the elements, or null once they are parsed
+	 */
+	private transient LazySource source;
+	private transient int start;
+	private transient int end;
+
+	LazyJSONArray() {
+	}
+
+	LazyJSONArray(LazySource source, int start, int end) {
+		this.source = source;
+		this.start = start;
+		this.end = end;
+	}
+
+	/**
+	 * @return true once the elements have been parsed
+	 */
+	public boolean isParsed() {
+		return source == null;
+	}
+
+	private void parse() {
+		LazySource source = this.source;
+		if (source == null)
+			return;
+		this.source = null;
+		try {
+			source.parse(start, end, this);
+		} catch (ParseException e) {
+			super.clear();
+			this.source = source;
+			throw new RuntimeException(e);
+		}
+	}
+
+	public void trimToSize() {
+		parse();
+		super.trimToSize();
+	}
+
+	public void ensureCapacity(int minCapacity) {
+		parse();
+		super.ensureCapacity(minCapacity);
+	}
+
+	public int size() {
+		parse();
+		return super.size();
+	}
+
+	public boolean isEmpty() {
+		parse();
+		return super.isEmpty();
+	}
+
+	public boolean contains(Object o) {
+		parse();
+		return super.contains(o);
+	}
+
+	public boolean containsAll(Collection<?> c) {
+		parse();
+		return super.containsAll(c);
+	}
+
+	public int indexOf(Object o) {
+		parse();
+		return super.indexOf(o);
+	}
+
+	public int lastIndexOf(Object o) {
+		parse();
+		return super.lastIndexOf(o);
+	}
+
+	public Object[] toArray() {
+		parse();
+		return super.toArray();
+	}
+
+	public <E> E[] toArray(E[] a) {
+		parse();
+		return super.toArray(a);
+	}
+
+	public T get(int index) {
+		parse();
+		return super.get(index);
+	}
+
+	public T set(int index, T element) {
+		parse();
+		return super.set(index, element);
+	}
+
+	public boolean add(T element) {
+		parse();
+		return super.add(element);
+	}
+
+	public void add(int index, T element) {
+		parse();
+		super.add(index, element);
+	}
+
+	public T remove(int index) {
+		parse();
+		return super.remove(index);
+	}
+
+	public boolean remove(Object o) {
+		parse();
+		return super.remove(o);
+	}
+
+	public void clear() {
+		parse();
+		super.clear();
+	}
+
+	public boolean addAll(Collection<? extends T> c) {
+		parse();
+		return super.addAll(c);
+	}
+
+	public boolean addAll(int index, Collection<? extends T> c) {
+		parse();
+		return super.addAll(index, c);
+	}
+
+	public boolean removeAll(Collection<?> c) {
+		parse();
+		return super.removeAll(c);
+	}
+
+	public boolean retainAll(Collection<?> c) {
+		parse();
+		return super.retainAll(c);
+	}
+
+	public boolean removeIf(Predicate<? super T> filter) {
+		parse();
+		return super.removeIf(filter);
+	}
+
+	public void replaceAll(UnaryOperator<T> operator) {
+		parse();
+		super.replaceAll(operator);
+	}
+
+	public void sort(Comparator<? super T> c) {
+		parse();
+		super.sort(c);
+	}
+
+	public void forEach(Consumer<? super T> action) {
+		parse();
+		super.forEach(action);
+	}
+
+	public Iterator<T> iterator() {
+		parse();
+		return super.iterator();
+	}
+
+	public ListIterator<T> listIterator() {
+		parse();
+		return super.listIterator();
+	}
+
+	public ListIterator<T> listIterator(int index) {
+		parse();
+		return super.listIterator(index);
+	}
+
+	public List<T> subList(int fromIndex, int toIndex) {
+		parse();
+		return super.subList(fromIndex, toIndex);
+	}
+
+	public Spliterator<T> spliterator() {
+		parse();
+		return super.spliterator();
+	}
+
+	public Object clone() {
+		parse();
+		return super.clone();
+	}
+
+	public boolean equals(Object o) {
+		parse();
+		return super.equals(o);
+	}
+
+	public int hashCode() {
+		parse();
+		return super.hashCode();
+	}
+
+	public void writeJSONString(Writer out) throws IOException {
+		if (source != null)
+			source.write(out, start, end);
+		else
+			super.writeJSONString(out);
+	}
+
+	public void writeJSONString(Writer out, DateFormat dateFormat) throws IOException {
+		if (source != null)
+			source.write(out, start, end);
+		else
+			super.writeJSONString(out, dateFormat);
+	}
+
+	public String toJSONString() {
+		if (source != null)
+			return source.text(start, end);
+		return super.toJSONString();
+	}
+
+	public String toJSONString(DateFormat dateFormat) {
+		if (source != null)
+			return source.text(start, end);
+		return super.toJSONString(dateFormat);
+	}
+
+	/**
+	 * Serializes the parsed elements.
+	 */
+	private Object writeReplace() throws ObjectStreamException {
+		parse();
+		return this;
+	}
+}
@@ -0,0 +1,226 @@
+package org.json.simple.parser;
+
+import org.json.simple.JSONObject;
+
+import java.io.IOException;
+import java.io.ObjectStreamException;
+import java.io.Writer;
+import java.text.DateFormat;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A JSONObject from {@link LazyJSONParser} that keeps the range of its text and parses it on first access.
+ * <p>
+ * Any Map or JSONObject method parses the entries first, except the ones that write JSON text: until
+ * then those write the original text unchanged. The objects and arrays among the entries are lazy in
+ * turn. Parse errors show up on first access, as a RuntimeException caused by the ParseException.
+ */
+public class LazyJSONObject<K, V> extends JSONObject<K, V> {
+	private static final long serialVersionUID = 4915339207409167712L;
+
+	/**
+	 * the text of the entries, or null once they are parsed
+	 */
+	private transient LazySource source;
+	private transient int start;
+	private transient int end;
+
+	LazyJSONObject() {
+	}
+
+	LazyJSONObject(LazySource source, int start, int end) {
+		this.source = source;
+		this.start = start;
+		this.end = end;
+	}
+
+	/**
+	 * @return true once the entries have been parsed
+	 */
+	public boolean isParsed() {
+		return source == null;
+	}
+
+	private void parse() {
+		LazySource source = this.source;
+		if (source == null)
+			return;
+		this.source = null;
+		try {
+			source.parse(start, end, this);
+		} catch (ParseException e) {
+			super.clear();
+			this.source = source;
+			throw new RuntimeException(e);
+		}
+	}
+
+	public int size() {
+		parse();
+		return super.size();
+	}
+
+	public boolean isEmpty() {
+		parse();
+		return super.isEmpty();
+	}
+
+	public V get(Object key) {
+		parse();
+		return super.get(key);
+	}
+
+	public V getOrDefault(Object key, V defaultValue) {
+		parse();
+		return super.getOrDefault(key, defaultValue);
+	}
+
+	public boolean containsKey(Object key) {
+		parse();
+		return super.containsKey(key);
+	}
+
+	public boolean containsValue(Object value) {
+		parse();
+		return super.containsValue(value);
+	}
+
+	public V put(K key, V value) {
+		parse();
+		return super.put(key, value);
+	}
+
+	public void putAll(Map<? extends K, ? extends V> m) {
+		parse();
+		super.putAll(m);
+	}
+
+	public V putIfAbsent(K key, V value) {
+		parse();
+		return super.putIfAbsent(key, value);
+	}
+
+	public V remove(Object key) {
+		parse();
+		return super.remove(key);
+	}
+
+	public boolean remove(Object key, Object value) {
+		parse();
+		return super.remove(key, value);
+	}
+
+	public boolean replace(K key, V oldValue, V newValue) {
+		parse();
+		return super.replace(key, oldValue, newValue);
+	}
+
+	public V replace(K key, V value) {
+		parse();
+		return super.replace(key, value);
+	}
+
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+		parse();
+		return super.computeIfAbsent(key, mappingFunction);
+	}
+
+	public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+		parse();
+		return super.computeIfPresent(key, remappingFunction);
+	}
+
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+		parse();
+		return super.compute(key, remappingFunction);
+	}
+
+	public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+		parse();
+		return super.merge(key, value, remappingFunction);
+	}
+
+	public void forEach(BiConsumer<? super K, ? super V> action) {
+		parse();
+		super.forEach(action);
+	}
+
+	public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+		parse();
+		super.replaceAll(function);
+	}
+
+	public void clear() {
+		parse();
+		super.clear();
+	}
+
+	public Set<K> keySet() {
+		parse();
+		return super.keySet();
+	}
+
+	public Collection<V> values() {
+		parse();
+		return super.values();
+	}
+
+	public Set<Map.Entry<K, V>> entrySet() {
+		parse();
+		return super.entrySet();
+	}
+
+	public Object clone() {
+		parse();
+		return super.clone();
+	}
+
+	public boolean equals(Object o) {
+		parse();
+		return super.equals(o);
+	}
+
+	public int hashCode() {
+		parse();
+		return super.hashCode();
+	}
+
+	public void writeJSONString(Writer out) throws IOException {
+		if (source != null)
+			source.write(out, start, end);
+		else
+			super.writeJSONString(out);
+	}
+
+	public void writeJSONString(Writer out, DateFormat dateFormat) throws IOException {
+		if (source != null)
+			source.write(out, start, end);
+		else
+			super.writeJSONString(out, dateFormat);
+	}
+
+	public String toJSONString() {
+		if (source != null)
+			return source.text(start, end);
+		return super.toJSONString();
+	}
+
+	public String toJSONString(DateFormat dateFormat) {
+		if (source != null)
+			return source.text(start, end);
+		return super.toJSONString(dateFormat);
+	}
+
+	/**
+	 * Serializes the parsed entries.
+	 */
+	private Object writeReplace() throws ObjectStreamException {
+		parse();
+		return this;
+	}
+}
@@ -0,0 +1,59 @@
+package org.json.simple.parser;
+
+/**
+ * Parses only the top level of a document and leaves the objects and arrays inside it to be parsed on
+ * first access, for documents that are mostly passed on rather than read.
+ * <pre>
+ * JSONObject request = (JSONObject) new LazyJSONParser().parse(body);
+ * String route = (String) request.get("route");  // the top level is parsed
+ * request.writeJSONString(out);                  // the payload is written as it was received
+ * </pre>
+ * The top-level object or array is a {@link LazyJSONObject} or {@link LazyJSONArray} whose entries are
+ * parsed, and every object or array inside it is one whose text has only been scanned for its closing
+ * bracket. Such a container parses its own text on first access through the JSONObject or JSONArray API,
+ * and until then writes its original text with writeJSONString, toJSONString and toString. Values are
+ * those JSONParser returns in its default configuration.
+ * <p>
+ * Only the top level is checked when parse returns: text inside a nested object or array that is not valid
+ * JSON makes its first access throw a RuntimeException caused by the ParseException. The containers
+ * keep the whole text, and like JSONObject and JSONArray they are not thread-safe, parsing included.
+ */
+public class LazyJSONParser {
+	private JSONParserPool parserPool = JSONParserPool.getShared();
+
+	/**
+	 * @param parserPool the pool that parsers are taken from, now and when a lazy container is first accessed
+	 */
+	public void setParserPool(JSONParserPool parserPool) {
+		if (parserPool == null)
+			throw new NullPointerException("parserPool");
+		this.parserPool = parserPool;
+	}
+
+	/**
+	 * @param s JSON text
+	 * @return a LazyJSONObject, LazyJSONArray, or the value of a document that is neither
+	 * @throws ParseException if the top level is not valid JSON
+	 */
+	public Object parse(String s) throws ParseException {
+		return new LazySource(s.toCharArray(), parserPool).parse();
+	}
+
+	/**
+	 * @param s JSON text, kept by the lazy containers and not to be changed afterwards
+	 * @return a LazyJSONObject, LazyJSONArray, or the value of a document that is neither
+	 * @throws ParseException if the top level is not valid JSON
+	 */
+	public Object parse(char[] s) throws ParseException {
+		return new LazySource(s, parserPool).parse();
+	}
+
+	/**
+	 * @param b UTF-8 encoded JSON text, kept by the lazy containers and not to be changed afterwards
+	 * @return a LazyJSONObject, LazyJSONArray, or the value of a document that is neither
+	 * @throws ParseException if the top level is not valid JSON
+	 */
+	public Object parse(byte[] b) throws ParseException {
+		return new LazySource(b, parserPool).parse();
+	}
+}
@@ -0,0 +1,133 @@
+package org.json.simple.parser;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The text of a document parsed by LazyJSONParser, kept so that its lazy containers can parse their
+ * own part on first access and write it out unchanged until then.
+ */
+final class LazySource {
+	private final char[] chars;
+	private final byte[] bytes;
+	private final JSONParserPool parserPool;
+
+	LazySource(char[] chars, JSONParserPool parserPool) {
+		this.chars = chars;
+		this.bytes = null;
+		this.parserPool = parserPool;
+	}
+
+	LazySource(byte[] bytes, JSONParserPool parserPool) {
+		this.chars = null;
+		this.bytes = bytes;
+		this.parserPool = parserPool;
+	}
+
+	/**
+	 * Parses the whole text, building the top-level object or array and leaving the ones inside it lazy.
+	 */
+	Object parse() throws ParseException {
+		return parse(0, chars != null ? chars.length : bytes.length, null);
+	}
+
+	/**
+	 * Parses the value at [start, end), leaving the objects and arrays inside it lazy.
+	 *
+	 * @param container the object or array to fill if the value is one, or null to create it
+	 * @return the value
+	 * @throws ParseException if the value is malformed, at its position in the whole text
+	 */
+	Object parse(int start, int end, Object container) throws ParseException {
+		JSONParser parser = parserPool.acquire();
+		try {
+			JSONCursor cursor = new JSONCursor(parser);
+			if (chars != null)
+				cursor.reset(chars, start, end - start);
+			else
+				cursor.reset(bytes, start, end - start);
+			int event = cursor.next();
+			Object value;
+			if (event == JSONCursor.START_OBJECT || event == JSONCursor.START_ARRAY) {
+				if (container == null)
+					container = event == JSONCursor.START_OBJECT ? new LazyJSONObject() : new LazyJSONArray();
+				fill(cursor, start, container);
+				value = container;
+			} else {
+				value = cursor.getValue();
+			}
+			// fails on anything after the value
+			cursor.next();
+			return value;
+		} catch (ParseException e) {
+			// the cursor counts from the start of the slice
+			if (e.getPosition() >= 0)
+				e.setPosition(e.getPosition() + start);
+			throw e;
+		} catch (IOException e) {
+			throw new ParseException(-1, ParseException.ERROR_UNEXPECTED_EXCEPTION, e);
+		} finally {
+			parserPool.release(parser);
+		}
+	}
+
+	/**
+	 * Reads the entries or elements of the container the cursor is at, up to its end.
+	 *
+	 * @param offset the position in the text of the cursor's position 0
+	 */
+	@SuppressWarnings("unchecked")
+	private void fill(JSONCursor cursor, int offset, Object container) throws IOException, ParseException {
+		String key = null;
+		while (true) {
+			int event = cursor.next();
+			Object value;
+			switch (event) {
+				case JSONCursor.KEY:
+					key = cursor.getString();
+					continue;
+				case JSONCursor.VALUE:
+					value = cursor.getValue();
+					break;
+				case JSONCursor.START_OBJECT:
+				case JSONCursor.START_ARRAY: {
+					int start = offset + cursor.getPosition();
+					cursor.skipChildren();
+					int end = offset + cursor.getPosition();
+					if (event == JSONCursor.START_OBJECT)
+						value = new LazyJSONObject(this, start, end);
+					else
+						value = new LazyJSONArray(this, start, end);
+					break;
+				}
+				default:
+					if (container instanceof List)
+						JSONParser.unifyNumbers((List) container);
+					return;
+			}
+			if (container instanceof Map)
+				((Map) container).put(key, value);
+			else
+				((List) container).add(value);
+		}
+	}
+
+	/**
+	 * Writes the text at [start, end) as it is.
+	 */
+	void write(Writer out, int start, int end) throws IOException {
+		if (chars != null)
+			out.write(chars, start, end - start);
+		else
+			out.write(new String(bytes, start, end - start, StandardCharsets.UTF_8));
+	}
+
+	String text(int start, int end) {
+		if (chars != null)
+			return new String(chars, start, end - start);
+		return new String(bytes, start, end - start, StandardCharsets.UTF_8);
+	}
+}
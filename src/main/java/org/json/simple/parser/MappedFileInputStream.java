@@ -0,0 +1,86 @@
+package org.json.simple.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a file through memory mappings of at most windowSize bytes each, mapped one after the other,
+ * so that files of any size can be read and the bytes are copied straight from the page cache into
+ * the caller's buffer.
+ */
+class MappedFileInputStream extends InputStream {
+	/**
+	 * the largest mapping, well below the 2 GB limit of a MappedByteBuffer
+	 */
+	static final long WINDOW_SIZE = 1L << 30;
+
+	private final FileChannel channel;
+	private final long size;
+	private final long windowSize;
+	private long position;
+	private MappedByteBuffer window;
+
+	MappedFileInputStream(Path file) throws IOException {
+		this(file, WINDOW_SIZE);
+	}
+
+	MappedFileInputStream(Path file, long windowSize) throws IOException {
+		this.channel = FileChannel.open(file, StandardOpenOption.READ);
+		this.windowSize = windowSize;
+		try {
+			this.size = channel.size();
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * @return false at the end of the file, true if the current window has bytes left
+	 */
+	private boolean nextWindow() throws IOException {
+		if (window != null && window.hasRemaining())
+			return true;
+		if (position >= size)
+			return false;
+		long length = Math.min(windowSize, size - position);
+		window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+		position += length;
+		return true;
+	}
+
+	public int read() throws IOException {
+		return nextWindow() ? window.get() & 0xFF : -1;
+	}
+
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0)
+			return 0;
+		if (!nextWindow())
+			return -1;
+		int n = Math.min(len, window.remaining());
+		window.get(b, off, n);
+		return n;
+	}
+
+	public int available() {
+		long available = size - position + (window != null ? window.remaining() : 0);
+		return (int) Math.min(available, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * @return the length of the file
+	 */
+	long size() {
+		return size;
+	}
+
+	public void close() throws IOException {
+		window = null;
+		channel.close();
+	}
+}
@@ -0,0 +1,271 @@
+package org.json.simple.parser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Parses a newline-delimited JSON (NDJSON) file on several threads. The file is split into ranges of
+ * about {@link #setChunkSize(int) chunkSize} bytes that end at line ends, and every range is read and
+ * parsed by a task of its own, with a parser taken from a JSONParserPool for the duration of the task.
+ * <pre>
+ * NDJSONFileParser file = new NDJSONFileParser(Paths.get("events.ndjson"));
+ * file.setExecutor(new ForkJoinPool(16));
+ * long records = file.forEach(record -&gt; index((JSONObject) record));
+ * </pre>
+ * Values are read as by a {@link JSONValueIterator}, so a line may hold several values and empty lines
+ * are ignored, as long as no value spans a line end that falls on a range boundary. With
+ * {@link #setSkipMalformed(boolean)} lines that are not one valid value are skipped and counted instead.
+ * <p>
+ * The position of a ParseException is the offset in the file, or -1 if the offset does not fit in an int.
+ * A parser is configured before a call and must not be configured during one.
+ */
+public class NDJSONFileParser {
+	/**
+	 * default length of the byte ranges parsed by a single task
+	 */
+	public static final int DEFAULT_CHUNK_SIZE = 4 * 1024 * 1024;
+
+	/**
+	 * the longest range read into one byte array, a little under Integer.MAX_VALUE as arrays of that
+	 * length cannot be allocated on every JVM
+	 */
+	private static final int MAX_RANGE_LENGTH = Integer.MAX_VALUE - 8;
+
+	private final Path file;
+
+	private ExecutorService executor = ForkJoinPool.commonPool();
+
+	private JSONParserPool parserPool = JSONParserPool.getShared();
+
+	private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+	private boolean skipMalformed;
+
+	private ContainerFactory containerFactory;
+
+	private final AtomicLong skipped = new AtomicLong();
+
+	public NDJSONFileParser(Path file) {
+		if (file == null)
+			throw new NullPointerException("file");
+		this.file = file;
+	}
+
+	/**
+	 * @param executor the executor forEach runs its tasks on, the common ForkJoinPool by default
+	 */
+	public void setExecutor(ExecutorService executor) {
+		if (executor == null)
+			throw new NullPointerException("executor");
+		this.executor = executor;
+	}
+
+	/**
+	 * @param parserPool the pool the tasks take their parsers from, the shared pool by default
+	 */
+	public void setParserPool(JSONParserPool parserPool) {
+		if (parserPool == null)
+			throw new NullPointerException("parserPool");
+		this.parserPool = parserPool;
+	}
+
+	/**
+	 * @param chunkSize the length of the byte ranges parsed by a single task; a range is longer if it
+	 *                  would otherwise end inside a line
+	 * @throws IllegalArgumentException if chunkSize is not positive
+	 */
+	public void setChunkSize(int chunkSize) {
+		if (chunkSize < 1)
+			throw new IllegalArgumentException("chunkSize: " + chunkSize);
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * @param skipMalformed true to skip the lines that are not one valid value, false to fail on them
+	 * @see JSONValueIterator#setSkipMalformed(boolean)
+	 */
+	public void setSkipMalformed(boolean skipMalformed) {
+		this.skipMalformed = skipMalformed;
+	}
+
+	/**
+	 * @param containerFactory the factory for objects and arrays, or null
+	 */
+	public void setContainerFactory(ContainerFactory containerFactory) {
+		this.containerFactory = containerFactory;
+	}
+
+	/**
+	 * @return the number of lines skipped as malformed by all calls so far
+	 */
+	public long getSkippedCount() {
+		return skipped.get();
+	}
+
+	/**
+	 * Parses the file on the executor and passes every value to the action. The action is called by
+	 * several threads at once, in no particular order; the values of one range are passed in file order
+	 * by one thread. Returns when every range has been parsed or one of them failed.
+	 *
+	 * @param action called with every value
+	 * @return the number of values parsed
+	 * @throws IOException    if the file cannot be read
+	 * @throws ParseException if a line is not valid JSON and malformed lines are not skipped
+	 */
+	public long forEach(final Consumer<Object> action) throws IOException, ParseException {
+		try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			final long[] bounds = ranges(channel);
+			List<Callable<Long>> tasks = new ArrayList<>(bounds.length - 1);
+			for (int i = 0; i + 1 < bounds.length; i++) {
+				final int range = i;
+				tasks.add(new Callable<Long>() {
+					public Long call() throws IOException, ParseException {
+						return parseRange(channel, bounds[range], bounds[range + 1], action);
+					}
+				});
+			}
+			long count = 0;
+			for (long n : Tasks.invokeAll(executor, tasks))
+				count += n;
+			return count;
+		}
+	}
+
+	/**
+	 * Returns the values of the file as a parallel stream that parses one range per element of work.
+	 * The stream runs on the pool of the thread that starts its terminal operation, the common ForkJoinPool
+	 * unless that thread is a worker of another pool; the executor is not used. Close the stream to close
+	 * the file. Failures are thrown as a RuntimeException caused by the IOException or ParseException.
+	 *
+	 * @param ordered true to keep the values in file order, false to let the stream give them in any order
+	 * @return the values
+	 * @throws IOException if the file cannot be opened or split into ranges
+	 */
+	public Stream<Object> stream(boolean ordered) throws IOException {
+		final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+		final long[] bounds;
+		try {
+			bounds = ranges(channel);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+		Stream<Object> values = IntStream.range(0, bounds.length - 1).parallel().boxed().flatMap(range -> {
+			final List<Object> list = new ArrayList<>();
+			try {
+				parseRange(channel, bounds[range], bounds[range + 1], list::add);
+			} catch (IOException | ParseException e) {
+				throw new RuntimeException(e);
+			}
+			return list.stream();
+		}).onClose(() -> {
+			try {
+				channel.close();
+			} catch (IOException e) {
+				throw new RuntimeException(e);
+			}
+		});
+		return ordered ? values : values.unordered();
+	}
+
+	/**
+	 * @return the offsets where the ranges start, followed by the file size; every offset but the first
+	 * and the last is just after a line feed
+	 */
+	private long[] ranges(FileChannel channel) throws IOException {
+		long size = channel.size();
+		List<Long> bounds = new ArrayList<>();
+		bounds.add(0L);
+		ByteBuffer buf = ByteBuffer.allocate(4096);
+		long pos = 0;
+		while (size - pos > chunkSize) {
+			pos = nextLine(channel, pos + chunkSize, size, buf);
+			if (pos >= size)
+				break;
+			bounds.add(pos);
+		}
+		bounds.add(size);
+		long[] result = new long[bounds.size()];
+		for (int i = 0; i < result.length; i++)
+			result[i] = bounds.get(i);
+		return result;
+	}
+
+	/**
+	 * @return the offset just after the first line feed at or after pos, or size if there is none
+	 */
+	private static long nextLine(FileChannel channel, long pos, long size, ByteBuffer buf) throws IOException {
+		while (pos < size) {
+			buf.clear();
+			int n = channel.read(buf, pos);
+			if (n < 0)
+				break;
+			byte[] b = buf.array();
+			for (int i = 0; i < n; i++) {
+				if (b[i] == '\n')
+					return pos + i + 1;
+			}
+			pos += n;
+		}
+		return size;
+	}
+
+	/**
+	 * Reads the bytes [start, end) and passes their values to the action.
+	 *
+	 * @return the number of values
+	 * @throws IOException if the range is too long for a byte array because a line makes it so
+	 */
+	private long parseRange(FileChannel channel, long start, long end, Consumer<Object> action)
+			throws IOException, ParseException {
+		if (end - start > MAX_RANGE_LENGTH)
+			throw new IOException("Range of " + (end - start) + " bytes at offset " + start
+					+ " is too long to be parsed, a line must fit in 2 GB: " + file);
+		int len = (int) (end - start);
+		byte[] b = new byte[len];
+		ByteBuffer buf = ByteBuffer.wrap(b);
+		while (buf.hasRemaining()) {
+			if (channel.read(buf, start + buf.position()) < 0)
+				throw new IOException("File truncated while reading: " + file);
+		}
+		JSONParser parser = parserPool.acquire();
+		try {
+			JSONValueIterator values = new JSONValueIterator(parser, b, 0, len);
+			values.setSkipMalformed(skipMalformed);
+			values.setContainerFactory(containerFactory);
+			long count = 0;
+			try {
+				while (values.hasNext()) {
+					action.accept(values.next());
+					count++;
+				}
+			} catch (RuntimeException e) {
+				if (e.getCause() instanceof ParseException) {
+					ParseException pe = (ParseException) e.getCause();
+					ParseException relocated = new ParseException(Yylex.position(start + pe.getPosition()),
+							pe.getErrorType(), pe.getUnexpectedObject());
+					relocated.initCause(pe);
+					throw relocated;
+				}
+				throw e;
+			} finally {
+				skipped.addAndGet(values.getSkippedCount());
+			}
+			return count;
+		} finally {
+			parserPool.release(parser);
+		}
+	}
+}
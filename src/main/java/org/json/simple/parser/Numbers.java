@@ -0,0 +1,348 @@
+package org.json.simple.parser;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Converts the text of numbers straight from a scanner buffer, and a decimal significand and exponent to
+ * the nearest double without going through a String. Exact cases are handled by Clinger's fast path, the rest by the Eisel-Lemire algorithm as described
+ * in "Number Parsing at a Gigabyte per Second" (Lemire, 2021).
+ */
+public final class Numbers {
+	/**
+	 * the significand of a decimal number handled by {@link #toDouble} has at most this many digits
+	 */
+	static final int MAX_SIGNIFICAND_DIGITS = 19;
+
+	private static final int SMALLEST_POWER_OF_TEN = -342;
+	private static final int LARGEST_POWER_OF_TEN = 308;
+	private static final int SMALLEST_POWER_OF_FIVE = SMALLEST_POWER_OF_TEN;
+	private static final int MANTISSA_EXPLICIT_BITS = 52;
+	private static final int MINIMUM_EXPONENT = -1023;
+	private static final int INFINITE_POWER = 0x7FF;
+	private static final int MIN_EXPONENT_ROUND_TO_EVEN = -4;
+	private static final int MAX_EXPONENT_ROUND_TO_EVEN = 23;
+
+	private static final double[] POWERS_OF_TEN = {
+			1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+			1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+
+	private Numbers() {
+	}
+
+	/**
+	 * Converts the text of a JSON number the way JSONParser converts the numbers it reads.
+	 *
+	 * @param text a number in JSON syntax
+	 * @return Integer, Long or BigInteger for integers; Double, or BigDecimal if the number is beyond the double
+	 * range, for decimals
+	 * @throws NumberFormatException if the text is not a JSON number, or its exponent is beyond the range of a
+	 *                               BigDecimal, which the parser rejects with ERROR_NUMBER_RANGE
+	 */
+	public static Number valueOf(String text) {
+		char[] chars = text.toCharArray();
+		int end = chars.length;
+		int pos = chars.length > 0 && chars[0] == '-' ? 1 : 0;
+		int digits = pos;
+		pos = digits(chars, pos);
+		boolean integer = true;
+		if (pos > digits && pos < end && chars[pos] == '.') {
+			integer = false;
+			digits = ++pos;
+			pos = digits(chars, pos);
+		}
+		if (pos > digits && pos < end && (chars[pos] == 'e' || chars[pos] == 'E')) {
+			integer = false;
+			if (++pos < end && (chars[pos] == '-' || chars[pos] == '+'))
+				pos++;
+			digits = pos;
+			pos = digits(chars, pos);
+		}
+		if (pos == digits || pos < end)
+			throw new NumberFormatException("Not a JSON number: \"" + text + "\"");
+		if (integer)
+			return integer(chars, null, 0, end);
+		Number decimal = decimal(chars, null, 0, end);
+		if (decimal == null)
+			throw new NumberFormatException("Exponent beyond the BigDecimal range: \"" + text + "\"");
+		return decimal;
+	}
+
+	private static int digits(char[] chars, int pos) {
+		while (pos < chars.length && chars[pos] >= '0' && chars[pos] <= '9')
+			pos++;
+		return pos;
+	}
+
+	/**
+	 * Reads an integer straight from a scanner buffer, either chars or bytes.
+	 *
+	 * @param chars the buffer, if bytes is null
+	 * @param bytes the buffer, or null
+	 * @param start offset of the text of the integer, '-'?[0-9]+
+	 * @param end   offset just after it
+	 * @return Integer or Long if the integer fits, BigInteger otherwise
+	 */
+	static Number integer(char[] chars, byte[] bytes, int start, int end) {
+		int pos = start;
+		boolean negative = ascii(chars, bytes, pos) == '-';
+		if (negative)
+			pos++;
+		long value = 0;
+		if (end - pos < MAX_SIGNIFICAND_DIGITS) {
+			while (pos < end)
+				value = value * 10 + (ascii(chars, bytes, pos++) - '0');
+			if (negative)
+				value = -value;
+		} else {
+			// accumulated negatively like Long.parseLong so that Long.MIN_VALUE fits
+			long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+			long multiplyLimit = limit / 10;
+			while (pos < end) {
+				int digit = ascii(chars, bytes, pos++) - '0';
+				if (value < multiplyLimit || value * 10 < limit + digit)
+					return new BigInteger(text(chars, bytes, start, end));
+				value = value * 10 - digit;
+			}
+			if (!negative)
+				value = -value;
+		}
+		if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE)
+			return (int) value;
+		return value;
+	}
+
+	/**
+	 * Reads a decimal straight from a scanner buffer, either chars or bytes. Significands of up to 19 digits
+	 * are converted by {@link #toDouble}, longer ones by Double.parseDouble.
+	 *
+	 * @param chars the buffer, if bytes is null
+	 * @param bytes the buffer, or null
+	 * @param start offset of the text of the number, '-'?[0-9]+('.'[0-9]+)?([eE][-+]?[0-9]+)?
+	 * @param end   offset just after it
+	 * @return Double, or BigDecimal if the number is beyond the double range, or null if its exponent is
+	 * beyond the range of a BigDecimal, see {@link #inRange}
+	 */
+	static Number decimal(char[] chars, byte[] bytes, int start, int end) {
+		int pos = start;
+		boolean negative = ascii(chars, bytes, pos) == '-';
+		if (negative)
+			pos++;
+		long significand = 0;
+		int digits = 0;
+		int exponent = 0;
+		int c = 0;
+		for (; pos < end && (c = ascii(chars, bytes, pos)) >= '0' && c <= '9'; pos++) {
+			if (digits > 0 || c != '0') {
+				significand = significand * 10 + (c - '0');
+				digits++;
+			}
+		}
+		if (c == '.') {
+			for (pos++; pos < end && (c = ascii(chars, bytes, pos)) >= '0' && c <= '9'; pos++) {
+				if (digits > 0 || c != '0') {
+					significand = significand * 10 + (c - '0');
+					digits++;
+				}
+				exponent--;
+			}
+		}
+		if (pos < end) {
+			// exponent part
+			c = ascii(chars, bytes, ++pos);
+			boolean negativeExponent = c == '-';
+			if (c == '-' || c == '+')
+				pos++;
+			int e = 0;
+			for (; pos < end; pos++) {
+				if (e < 100000)
+					e = e * 10 + (ascii(chars, bytes, pos) - '0');
+			}
+			if (e >= 100000 && !inRange(chars, bytes, start, end))
+				return null;
+			exponent += negativeExponent ? -e : e;
+		}
+		double d = digits <= MAX_SIGNIFICAND_DIGITS ? toDouble(negative, significand, exponent) : Double.NaN;
+		if (Double.isNaN(d))
+			d = Double.parseDouble(text(chars, bytes, start, end));
+		if (Double.isInfinite(d)) {
+			try {
+				return new BigDecimal(text(chars, bytes, start, end));
+			} catch (NumberFormatException e) {
+				// the scale does not fit an int, with a fraction of over a billion digits
+				return null;
+			}
+		}
+		return d;
+	}
+
+	/**
+	 * Tells whether a BigDecimal can represent a decimal, which it cannot if the exponent is out of the int
+	 * range. Every decimal the parser returns, converted or not, passes this check, so that a number beyond
+	 * the double range is always a BigDecimal and never an infinite Double. Exponents of up to nine digits
+	 * are decided without looking further.
+	 *
+	 * @param chars the buffer, if bytes is null
+	 * @param bytes the buffer, or null
+	 * @param start offset of the text of the decimal
+	 * @param end   offset just after it
+	 * @return false if the exponent is beyond the range of a BigDecimal
+	 */
+	static boolean inRange(char[] chars, byte[] bytes, int start, int end) {
+		int pos = end;
+		while (pos > start && ascii(chars, bytes, pos - 1) >= '0' && ascii(chars, bytes, pos - 1) <= '9')
+			pos--;
+		if (end - pos <= 9 || pos == start)
+			return true;
+		int c = ascii(chars, bytes, pos - 1);
+		if (c != 'e' && c != 'E' && c != '-' && c != '+')
+			return true;
+		try {
+			new BigDecimal(text(chars, bytes, start, end));
+			return true;
+		} catch (NumberFormatException e) {
+			return false;
+		}
+	}
+
+	private static int ascii(char[] chars, byte[] bytes, int pos) {
+		return bytes != null ? bytes[pos] : chars[pos];
+	}
+
+	/**
+	 * @return the ASCII text of the buffer range [start, end)
+	 */
+	static String text(char[] chars, byte[] bytes, int start, int end) {
+		if (bytes != null)
+			return new String(bytes, start, end - start, StandardCharsets.ISO_8859_1);
+		return new String(chars, start, end - start);
+	}
+
+	/**
+	 * @param negative    sign of the number
+	 * @param significand decimal digits of the number, read as an unsigned long of at most 19 digits
+	 * @param exponent    power of ten the significand is multiplied by
+	 * @return the double nearest to the number, or NaN if the number has to be converted the slow way
+	 */
+	static double toDouble(boolean negative, long significand, int exponent) {
+		if (significand == 0 || exponent < SMALLEST_POWER_OF_TEN)
+			return negative ? -0.0d : 0.0d;
+		if (exponent > LARGEST_POWER_OF_TEN)
+			return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+
+		if (exponent >= -22 && exponent <= 22 && significand >= 0 && significand <= 1L << 53) {
+			double d = significand;
+			d = exponent < 0 ? d / POWERS_OF_TEN[-exponent] : d * POWERS_OF_TEN[exponent];
+			return negative ? -d : d;
+		}
+
+		int lz = Long.numberOfLeadingZeros(significand);
+		long w = significand << lz;
+
+		// 128 bit approximation of w * 5^exponent, refined with the low half of the power if the high
+		// half leaves the rounding undecided
+		int index = 2 * (exponent - SMALLEST_POWER_OF_FIVE);
+		long[] powers = PowersOfFive.TABLE;
+		long high = unsignedMultiplyHigh(w, powers[index]);
+		long low = w * powers[index];
+		long precisionMask = -1L >>> (MANTISSA_EXPLICIT_BITS + 3);
+		if ((high & precisionMask) == precisionMask) {
+			long secondHigh = unsignedMultiplyHigh(w, powers[index + 1]);
+			low += secondHigh;
+			if (Long.compareUnsigned(secondHigh, low) > 0)
+				high++;
+		}
+		if (low == -1L)
+			return Double.NaN;
+
+		int upperBit = (int) (high >>> 63);
+		int shift = upperBit + 64 - MANTISSA_EXPLICIT_BITS - 3;
+		long mantissa = high >>> shift;
+		int power2 = power(exponent) + upperBit - lz - MINIMUM_EXPONENT;
+		if (power2 <= 0) {
+			// subnormal
+			if (-power2 + 1 >= 64)
+				return negative ? -0.0d : 0.0d;
+			mantissa >>>= -power2 + 1;
+			mantissa += mantissa & 1;
+			mantissa >>>= 1;
+			power2 = mantissa < 1L << MANTISSA_EXPLICIT_BITS ? 0 : 1;
+			return bits(negative, mantissa & ~(1L << MANTISSA_EXPLICIT_BITS), power2);
+		}
+		if (Long.compareUnsigned(low, 1) <= 0 && exponent >= MIN_EXPONENT_ROUND_TO_EVEN
+				&& exponent <= MAX_EXPONENT_ROUND_TO_EVEN && (mantissa & 3) == 1
+				&& mantissa << shift == high) {
+			// exactly halfway between two doubles, round to even
+			mantissa &= ~1L;
+		}
+		mantissa += mantissa & 1;
+		mantissa >>>= 1;
+		if (mantissa >= 2L << MANTISSA_EXPLICIT_BITS) {
+			mantissa = 1L << MANTISSA_EXPLICIT_BITS;
+			power2++;
+		}
+		mantissa &= ~(1L << MANTISSA_EXPLICIT_BITS);
+		if (power2 >= INFINITE_POWER)
+			return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+		return bits(negative, mantissa, power2);
+	}
+
+	private static double bits(boolean negative, long mantissa, int power2) {
+		long bits = mantissa | (long) power2 << MANTISSA_EXPLICIT_BITS;
+		if (negative)
+			bits |= 1L << 63;
+		return Double.longBitsToDouble(bits);
+	}
+
+	/**
+	 * @return floor(log2(5^q)) + q + 63
+	 */
+	private static int power(int q) {
+		return (((152170 + 65536) * q) >> 16) + 63;
+	}
+
+	/**
+	 * @return the high 64 bits of the unsigned 128 bit product of x and y
+	 */
+	static long unsignedMultiplyHigh(long x, long y) {
+		long x0 = x & 0xFFFFFFFFL;
+		long x1 = x >>> 32;
+		long y0 = y & 0xFFFFFFFFL;
+		long y1 = y >>> 32;
+		long p01 = x0 * y1;
+		long middle = x1 * y0 + ((x0 * y0) >>> 32) + (p01 & 0xFFFFFFFFL);
+		return x1 * y1 + (middle >>> 32) + (p01 >>> 32);
+	}
+
+	/**
+	 * 128 bit truncated powers of five from 5^-342 to 5^308, normalized so that the top bit is set,
+	 * as pairs of high and low halves. Computed on first use of the slow path.
+	 */
+	private static final class PowersOfFive {
+		static final long[] TABLE = table();
+
+		private static long[] table() {
+			long[] table = new long[2 * (LARGEST_POWER_OF_TEN - SMALLEST_POWER_OF_FIVE + 1)];
+			BigInteger five = BigInteger.valueOf(5);
+			int i = 0;
+			for (int q = SMALLEST_POWER_OF_FIVE; q <= LARGEST_POWER_OF_TEN; q++) {
+				BigInteger c;
+				if (q < 0) {
+					BigInteger power5 = five.pow(-q);
+					int z = power5.subtract(BigInteger.ONE).bitLength();
+					int b = q >= -27 ? z + 127 : 2 * z + 2 * 64;
+					c = BigInteger.ONE.shiftLeft(b).divide(power5).add(BigInteger.ONE);
+				} else {
+					c = five.pow(q);
+				}
+				int excess = c.bitLength() - 128;
+				c = excess > 0 ? c.shiftRight(excess) : c.shiftLeft(-excess);
+				table[i++] = c.shiftRight(64).longValue();
+				table[i++] = c.longValue();
+			}
+			return table;
+		}
+	}
+}
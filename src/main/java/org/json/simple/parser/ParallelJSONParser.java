@@ -0,0 +1,512 @@
+package org.json.simple.parser;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Parses one large JSON document whose top-level value is an array or an object on several threads.
+ * <p>
+ * The first phase indexes the document in chunks of about {@link #setChunkSize(int) chunkSize} bytes,
+ * one task per chunk: a first pass counts the quotes of every chunk and the bracket depth it adds both
+ * inside and outside strings, which tells every chunk whether it starts inside a string and at which depth,
+ * and a second pass records the commas and colons directly inside the top-level value. The second phase
+ * parses the elements or entries between those separators in groups of about chunkSize bytes, one task
+ * per group, and puts them together in document order. Both passes classify eight bytes at a time and
+ * only go through the bytes one by one around backslashes.
+ * <p>
+ * The result is the one JSONParser gives in its default configuration: numbers of the top-level array are
+ * unified like those of any array, and later duplicate keys replace earlier ones. Whenever the index does not
+ * describe the document as one well-formed container, or an element fails to parse, the document is parsed
+ * again sequentially, so that invalid input gets the same ParseException and leniently accepted input
+ * the same value. Documents smaller than two chunks are always parsed sequentially.
+ * <p>
+ * Files are memory-mapped in windows of up to 1 GB, so files larger than 2 GB can be parsed.
+ */
+public class ParallelJSONParser {
+	/**
+	 * default number of bytes indexed or parsed by a single task
+	 */
+	public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+	private ExecutorService executor = ForkJoinPool.commonPool();
+
+	private JSONParserPool parserPool = JSONParserPool.getShared();
+
+	private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+	/**
+	 * @param executor the executor the tasks run on, the common ForkJoinPool by default
+	 */
+	public void setExecutor(ExecutorService executor) {
+		if (executor == null)
+			throw new NullPointerException("executor");
+		this.executor = executor;
+	}
+
+	/**
+	 * @param parserPool the pool the tasks take their parsers from, the shared pool by default
+	 */
+	public void setParserPool(JSONParserPool parserPool) {
+		if (parserPool == null)
+			throw new NullPointerException("parserPool");
+		this.parserPool = parserPool;
+	}
+
+	/**
+	 * @param chunkSize the number of bytes indexed or parsed by a single task
+	 * @throws IllegalArgumentException if chunkSize is not positive
+	 */
+	public void setChunkSize(int chunkSize) {
+		if (chunkSize < 1)
+			throw new IllegalArgumentException("chunkSize: " + chunkSize);
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * @param b UTF-8 encoded JSON text, scanned in place
+	 * @return see {@link JSONParser#parse(java.io.Reader, ContainerFactory)}
+	 * @throws ParseException if the text is not valid JSON
+	 */
+	public Object parse(byte[] b) throws ParseException {
+		try {
+			Object value = parse(new Input(new ByteBuffer[]{ByteBuffer.wrap(b)}, b.length, Math.max(b.length, 1)));
+			if (value != NOT_PARALLEL)
+				return value;
+		} catch (ParseException e) {
+			// parsed again below
+		} catch (IOException e) {
+			throw new ParseException(-1, ParseException.ERROR_UNEXPECTED_EXCEPTION, e);
+		}
+		JSONParser parser = parserPool.acquire();
+		try {
+			return parser.parse(b);
+		} finally {
+			parserPool.release(parser);
+		}
+	}
+
+	/**
+	 * @param file UTF-8 encoded JSON file
+	 * @return see {@link JSONParser#parse(java.io.Reader, ContainerFactory)}
+	 * @throws IOException    if the file cannot be read
+	 * @throws ParseException if the text is not valid JSON
+	 */
+	public Object parse(Path file) throws IOException, ParseException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long size = channel.size();
+			long windowSize = MappedFileInputStream.WINDOW_SIZE;
+			ByteBuffer[] windows = new ByteBuffer[(int) ((size + windowSize - 1) / windowSize)];
+			for (int i = 0; i < windows.length; i++) {
+				long start = i * windowSize;
+				windows[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(windowSize, size - start));
+			}
+			Object value = parse(new Input(windows, size, windowSize));
+			if (value != NOT_PARALLEL)
+				return value;
+		} catch (ParseException e) {
+			// parsed again below
+		}
+		JSONParser parser = parserPool.acquire();
+		try {
+			return parser.parse(file);
+		} finally {
+			parserPool.release(parser);
+		}
+	}
+
+	/**
+	 * returned by the parallel parse when the document has to be parsed sequentially
+	 */
+	private static final Object NOT_PARALLEL = new Object();
+
+	private Object parse(final Input input) throws IOException, ParseException {
+		long size = input.size;
+		if (size < 2L * chunkSize)
+			return NOT_PARALLEL;
+		long open = 0;
+		while (open < size && isWhitespace(input.get(open)))
+			open++;
+		long close = size - 1;
+		while (close > open && isWhitespace(input.get(close)))
+			close--;
+		if (close <= open)
+			return NOT_PARALLEL;
+		final boolean object = input.get(open) == '{';
+		if (!(object ? input.get(close) == '}' : input.get(open) == '[' && input.get(close) == ']'))
+			return NOT_PARALLEL;
+
+		// first pass: quotes and depth of every chunk
+		List<Long> bounds = new ArrayList<>();
+		for (long pos = 0; pos < size; ) {
+			bounds.add(pos);
+			pos += chunkSize;
+			// a chunk never starts with an escaped byte
+			while (pos < size && input.get(pos - 1) == '\\')
+				pos++;
+		}
+		bounds.add(size);
+		int chunks = bounds.size() - 1;
+		List<Callable<Chunk>> counts = new ArrayList<>(chunks);
+		for (int i = 0; i < chunks; i++) {
+			final long start = bounds.get(i);
+			final long end = bounds.get(i + 1);
+			counts.add(new Callable<Chunk>() {
+				public Chunk call() {
+					return count(input, start, end);
+				}
+			});
+		}
+		final List<Chunk> chunkList = Tasks.invokeAll(executor, counts);
+		boolean inString = false;
+		int depth = 0;
+		for (Chunk chunk : chunkList) {
+			chunk.inString = inString;
+			chunk.depth = depth;
+			depth += chunk.depthDelta[inString ? 1 : 0];
+			inString ^= (chunk.quotes & 1) != 0;
+		}
+		if (inString || depth != 0)
+			return NOT_PARALLEL;
+
+		// second pass: separators directly inside the top-level value
+		List<Callable<long[]>> separatorTasks = new ArrayList<>(chunks);
+		for (final Chunk chunk : chunkList) {
+			separatorTasks.add(new Callable<long[]>() {
+				public long[] call() {
+					return separators(input, chunk, object);
+				}
+			});
+		}
+		List<long[]> separatorList = Tasks.invokeAll(executor, separatorTasks);
+		int count = 0;
+		for (long[] separators : separatorList)
+			count += (int) separators[0];
+		final long[] separators = new long[count + 2];
+		separators[0] = open;
+		int n = 1;
+		for (long[] chunkSeparators : separatorList) {
+			int length = (int) chunkSeparators[0];
+			System.arraycopy(chunkSeparators, 1, separators, n, length);
+			n += length;
+		}
+		separators[n] = close;
+		if (object) {
+			// key : value , key : value
+			if (count % 2 == 0)
+				return NOT_PARALLEL;
+			for (int i = 1; i <= count; i++) {
+				if (input.get(separators[i]) != (i % 2 == 1 ? ':' : ','))
+					return NOT_PARALLEL;
+			}
+		}
+
+		// second phase: values between the separators, in groups of about chunkSize bytes
+		final int step = object ? 2 : 1;
+		int values = (count + 1) / step;
+		List<Callable<Object[]>> groups = new ArrayList<>();
+		int first = 0;
+		while (first < values) {
+			long groupStart = separators[first * step];
+			int last = first + 1;
+			while (last < values && separators[last * step] - groupStart < chunkSize)
+				last++;
+			final int from = first;
+			final int to = last;
+			groups.add(new Callable<Object[]>() {
+				public Object[] call() throws IOException, ParseException {
+					return parseGroup(input, separators, object, from, to);
+				}
+			});
+			first = last;
+		}
+		List<Object[]> results = Tasks.invokeAll(executor, groups);
+		if (object) {
+			JSONObject result = new JSONObject();
+			for (Object[] group : results) {
+				for (int i = 0; i < group.length; i += 2)
+					result.put(group[i], group[i + 1]);
+			}
+			return result;
+		}
+		JSONArray result = new JSONArray();
+		result.ensureCapacity(values);
+		for (Object[] group : results)
+			Collections.addAll(result, group);
+		JSONParser.unifyNumbers(result);
+		return result;
+	}
+
+	/**
+	 * The first pass counts of a chunk, and the state it starts in once the chunks before it are counted.
+	 */
+	private static class Chunk {
+		final long start;
+		final long end;
+		long quotes;
+		/**
+		 * the depth added by the brackets after an even and after an odd number of quotes
+		 */
+		final int[] depthDelta = new int[2];
+		boolean inString;
+		int depth;
+
+		Chunk(long start, long end) {
+			this.start = start;
+			this.end = end;
+		}
+	}
+
+	private static Chunk count(Input input, long start, long end) {
+		Chunk chunk = new Chunk(start, end);
+		long quotes = 0;
+		int even = 0;
+		int odd = 0;
+		boolean escape = false;
+		for (long pos = start; pos < end; ) {
+			ByteBuffer window = input.window(pos);
+			ByteBuffer words = window.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+			int i = input.offset(pos);
+			int limit = (int) Math.min(window.limit(), i + (end - pos));
+			pos += limit - i;
+			while (i < limit) {
+				int next = Math.min(i + 8, limit);
+				if (!escape && next - i == 8) {
+					long word = words.getLong(i);
+					// words without a backslash, which is nearly all of them
+					if (Bytes.equal(word, Bytes.BACKSLASHES) == 0) {
+						long quoteMask = Bytes.equal(word, Bytes.QUOTES);
+						long opening = Bytes.opening(word);
+						long closing = Bytes.closing(word);
+						if ((opening | closing) != 0) {
+							long inString = Bytes.prefixParity(quoteMask);
+							if ((quotes & 1) != 0)
+								inString = ~inString & Bytes.HIGH_BITS;
+							even += Bytes.count(opening & ~inString) - Bytes.count(closing & ~inString);
+							odd += Bytes.count(opening & inString) - Bytes.count(closing & inString);
+						}
+						quotes += Bytes.count(quoteMask);
+						i = next;
+						continue;
+					}
+				}
+				for (; i < next; i++) {
+					byte c = window.get(i);
+					if (escape) {
+						escape = false;
+					} else if (c == '\\') {
+						escape = true;
+					} else if (c == '"') {
+						quotes++;
+					} else if (c == '[' || c == '{') {
+						if ((quotes & 1) == 0)
+							even++;
+						else
+							odd++;
+					} else if (c == ']' || c == '}') {
+						if ((quotes & 1) == 0)
+							even--;
+						else
+							odd--;
+					}
+				}
+			}
+		}
+		chunk.quotes = quotes;
+		chunk.depthDelta[0] = even;
+		chunk.depthDelta[1] = odd;
+		return chunk;
+	}
+
+	/**
+	 * @return the number of separators, followed by their positions
+	 */
+	private static long[] separators(Input input, Chunk chunk, boolean object) {
+		long[] separators = new long[16];
+		int n = 1;
+		boolean inString = chunk.inString;
+		int depth = chunk.depth;
+		boolean escape = false;
+		for (long pos = chunk.start; pos < chunk.end; ) {
+			ByteBuffer window = input.window(pos);
+			ByteBuffer words = window.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+			int i = input.offset(pos);
+			long windowStart = pos - i;
+			int limit = (int) Math.min(window.limit(), i + (chunk.end - pos));
+			pos += limit - i;
+			while (i < limit) {
+				int next = Math.min(i + 8, limit);
+				if (!escape && next - i == 8) {
+					long word = words.getLong(i);
+					if (Bytes.equal(word, Bytes.BACKSLASHES) == 0) {
+						long quoteMask = Bytes.equal(word, Bytes.QUOTES);
+						long outside = Bytes.prefixParity(quoteMask);
+						if (!inString)
+							outside = ~outside & Bytes.HIGH_BITS;
+						long structural = Bytes.opening(word) | Bytes.closing(word) | Bytes.equal(word, Bytes.COMMAS);
+						if (object)
+							structural |= Bytes.equal(word, Bytes.COLONS);
+						// the brackets and separators outside strings, in order
+						for (structural &= outside; structural != 0; structural &= structural - 1) {
+							int k = i + Bytes.first(structural);
+							byte c = window.get(k);
+							if (c == '[' || c == '{') {
+								depth++;
+							} else if (c == ']' || c == '}') {
+								depth--;
+							} else if (depth == 1) {
+								if (n == separators.length)
+									separators = Arrays.copyOf(separators, n * 2);
+								separators[n++] = windowStart + k;
+							}
+						}
+						inString ^= (Bytes.count(quoteMask) & 1) != 0;
+						i = next;
+						continue;
+					}
+				}
+				for (; i < next; i++) {
+					byte c = window.get(i);
+					if (escape) {
+						escape = false;
+					} else if (c == '\\') {
+						escape = true;
+					} else if (c == '"') {
+						inString = !inString;
+					} else if (!inString) {
+						if (c == '[' || c == '{') {
+							depth++;
+						} else if (c == ']' || c == '}') {
+							depth--;
+						} else if (depth == 1 && (c == ',' || (object && c == ':'))) {
+							if (n == separators.length)
+								separators = Arrays.copyOf(separators, n * 2);
+							separators[n++] = windowStart + i;
+						}
+					}
+				}
+			}
+		}
+		separators[0] = n - 1;
+		return separators;
+	}
+
+	/**
+	 * Parses the values [from, to): array elements, or object entries as key and value pairs.
+	 */
+	private Object[] parseGroup(Input input, long[] separators, boolean object, int from, int to)
+			throws IOException, ParseException {
+		JSONParser parser = parserPool.acquire();
+		try {
+			if (!object) {
+				Object[] values = new Object[to - from];
+				for (int i = from; i < to; i++)
+					values[i - from] = input.parse(parser, separators[i] + 1, separators[i + 1]);
+				return values;
+			}
+			Object[] entries = new Object[2 * (to - from)];
+			for (int i = from; i < to; i++) {
+				long keyStart = separators[2 * i] + 1;
+				long colon = separators[2 * i + 1];
+				long valueEnd = separators[2 * i + 2];
+				entries[2 * (i - from)] = input.parseKey(parser, keyStart, colon);
+				entries[2 * (i - from) + 1] = input.parse(parser, colon + 1, valueEnd);
+			}
+			return entries;
+		} finally {
+			parserPool.release(parser);
+		}
+	}
+
+	private static boolean isWhitespace(byte c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\r';
+	}
+
+	/**
+	 * The document as a sequence of buffers of windowSize bytes, the last one possibly shorter.
+	 */
+	private static class Input {
+		final ByteBuffer[] windows;
+		final long size;
+		final long windowSize;
+
+		Input(ByteBuffer[] windows, long size, long windowSize) {
+			this.windows = windows;
+			this.size = size;
+			this.windowSize = windowSize;
+		}
+
+		ByteBuffer window(long pos) {
+			return windows[(int) (pos / windowSize)];
+		}
+
+		int offset(long pos) {
+			return (int) (pos % windowSize);
+		}
+
+		byte get(long pos) {
+			return window(pos).get(offset(pos));
+		}
+
+		Object parse(JSONParser parser, long start, long end) throws IOException, ParseException {
+			ByteBuffer slice = slice(start, end);
+			if (slice != null)
+				return parser.parse(slice);
+			return parser.parse(stream(start, end));
+		}
+
+		String parseKey(JSONParser parser, long start, long end) throws IOException, ParseException {
+			ByteBuffer slice = slice(start, end);
+			if (slice != null)
+				parser.reset(slice);
+			else
+				parser.reset(stream(start, end));
+			return parser.parseKey();
+		}
+
+		/**
+		 * @return the bytes [start, end) if they are in one window, or null
+		 */
+		private ByteBuffer slice(long start, long end) {
+			if (start / windowSize != (end - 1) / windowSize && end > start)
+				return null;
+			ByteBuffer slice = window(start).duplicate();
+			int offset = offset(start);
+			slice.limit(offset + (int) (end - start));
+			slice.position(offset);
+			return slice;
+		}
+
+		/**
+		 * @return the bytes [start, end), which span several windows
+		 */
+		private InputStream stream(long start, long end) {
+			List<InputStream> parts = new ArrayList<>();
+			for (long pos = start; pos < end; ) {
+				ByteBuffer part = window(pos).duplicate();
+				int offset = offset(pos);
+				int limit = (int) Math.min(part.limit(), offset + (end - pos));
+				part.limit(limit);
+				part.position(offset);
+				parts.add(new ByteBufferInputStream(part));
+				pos += limit - offset;
+			}
+			return new SequenceInputStream(Collections.enumeration(parts));
+		}
+	}
+}
@@ -12,6 +12,21 @@ public class ParseException extends Exception {
 	public static final int ERROR_UNEXPECTED_TOKEN = 1;
 	public static final int ERROR_UNEXPECTED_EXCEPTION = 2;
 
+	/*
+	 * Limits of a ParserLimits that the input went over.
+	 */
+	public static final int ERROR_DEPTH_LIMIT = 3;
+	public static final int ERROR_LENGTH_LIMIT = 4;
+	public static final int ERROR_STRING_LENGTH_LIMIT = 5;
+	public static final int ERROR_NUMBER_LENGTH_LIMIT = 6;
+	public static final int ERROR_ENTRIES_LIMIT = 7;
+	public static final int ERROR_DEADLINE = 8;
+
+	/**
+	 * A decimal whose exponent is beyond the range of a BigDecimal, such as 1e99999999999.
+	 */
+	public static final int ERROR_NUMBER_RANGE = 9;
+
 	private int errorType;
 	private Object unexpectedObject;
 	private int position;
@@ -30,6 +45,19 @@ public class ParseException extends Exception {
 		this.unexpectedObject = unexpectedObject;
 	}
 
+	/**
+	 * An exception without a stack trace is cheaper to create, for callers that only look at its type and position.
+	 *
+	 * @param writableStackTrace false to leave out the stack trace
+	 * @see JSONParser#setStacklessExceptions(boolean)
+	 */
+	public ParseException(int position, int errorType, Object unexpectedObject, boolean writableStackTrace) {
+		super(null, null, false, writableStackTrace);
+		this.position = position;
+		this.errorType = errorType;
+		this.unexpectedObject = unexpectedObject;
+	}
+
 	public int getErrorType() {
 		return errorType;
 	}
@@ -39,7 +67,8 @@ public class ParseException extends Exception {
 	}
 
 	/**
-	 * @return The character position (starting with 0) of the input where the error occurs.
+	 * @return The character position (starting with 0) of the input where the error occurs, or -1 if it
+	 * does not fit in an int.
 	 * @see org.json.simple.parser.JSONParser#getPosition()
 	 */
 	public int getPosition() {
@@ -55,6 +84,13 @@ public class ParseException extends Exception {
 	 * ERROR_UNEXPECTED_CHAR		java.lang.Character
 	 * ERROR_UNEXPECTED_TOKEN		org.json.simple.parser.Yytoken
 	 * ERROR_UNEXPECTED_EXCEPTION	java.lang.Exception
+	 * ERROR_DEPTH_LIMIT			java.lang.Integer, the limit
+	 * ERROR_LENGTH_LIMIT			java.lang.Long, the limit
+	 * ERROR_STRING_LENGTH_LIMIT	java.lang.Integer, the limit
+	 * ERROR_NUMBER_LENGTH_LIMIT	java.lang.Integer, the limit
+	 * ERROR_ENTRIES_LIMIT			java.lang.Integer, the limit
+	 * ERROR_DEADLINE				java.lang.Long, the timeout in milliseconds
+	 * ERROR_NUMBER_RANGE			java.lang.String, the number
 	 * @see org.json.simple.parser.Yytoken
 	 */
 	public Object getUnexpectedObject() {
@@ -78,6 +114,27 @@ public class ParseException extends Exception {
 			case ERROR_UNEXPECTED_EXCEPTION:
 				sb.append("Unexpected exception at position ").append(position).append(": ").append(unexpectedObject);
 				break;
+			case ERROR_DEPTH_LIMIT:
+				sb.append("Nesting deeper than ").append(unexpectedObject).append(" at position ").append(position).append(".");
+				break;
+			case ERROR_LENGTH_LIMIT:
+				sb.append("Input longer than ").append(unexpectedObject).append(" at position ").append(position).append(".");
+				break;
+			case ERROR_STRING_LENGTH_LIMIT:
+				sb.append("String longer than ").append(unexpectedObject).append(" at position ").append(position).append(".");
+				break;
+			case ERROR_NUMBER_LENGTH_LIMIT:
+				sb.append("Number longer than ").append(unexpectedObject).append(" at position ").append(position).append(".");
+				break;
+			case ERROR_ENTRIES_LIMIT:
+				sb.append("More than ").append(unexpectedObject).append(" entries at position ").append(position).append(".");
+				break;
+			case ERROR_DEADLINE:
+				sb.append("Parse took longer than ").append(unexpectedObject).append(" ms at position ").append(position).append(".");
+				break;
+			case ERROR_NUMBER_RANGE:
+				sb.append("Number beyond the BigDecimal range (").append(unexpectedObject).append(") at position ").append(position).append(".");
+				break;
 			default:
 				sb.append("Unkown error at position ").append(position).append(".");
 				break;
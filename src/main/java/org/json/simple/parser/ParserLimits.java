@@ -0,0 +1,144 @@
+package org.json.simple.parser;
+
+/**
+ * Bounds on the input a {@link JSONParser} accepts, so that an oversized or deeply nested document fails
+ * as soon as it goes over a bound instead of using up memory, stack or time. Every limit is off by default.
+ * <pre>
+ * ParserLimits limits = new ParserLimits();
+ * limits.setMaxDepth(64);
+ * limits.setMaxLength(1 &lt;&lt; 20);
+ * limits.setTimeout(50);
+ * parser.setLimits(limits);
+ * </pre>
+ * Going over a limit throws a ParseException of the error type named for it, with the limit as its
+ * unexpected object. Lengths are counted in chars, or in bytes for UTF-8 input. The content of an object
+ * or array that is skipped, by a JSONCursor or a content handler, counts only towards the length of the input.
+ */
+public class ParserLimits {
+	/**
+	 * the default number of tokens between two reads of the clock
+	 */
+	public static final int DEFAULT_DEADLINE_INTERVAL = 1024;
+
+	private int maxDepth = Integer.MAX_VALUE;
+	private long maxLength = Long.MAX_VALUE;
+	private int maxStringLength = Integer.MAX_VALUE;
+	private int maxNumberLength = Integer.MAX_VALUE;
+	private int maxEntries = Integer.MAX_VALUE;
+	private long timeout;
+	private int deadlineInterval = DEFAULT_DEADLINE_INTERVAL;
+
+	public int getMaxDepth() {
+		return maxDepth;
+	}
+
+	/**
+	 * @param maxDepth the number of objects and arrays that may be open at once
+	 * @throws IllegalArgumentException if maxDepth is not positive
+	 * @see ParseException#ERROR_DEPTH_LIMIT
+	 */
+	public void setMaxDepth(int maxDepth) {
+		if (maxDepth < 1)
+			throw new IllegalArgumentException("maxDepth: " + maxDepth);
+		this.maxDepth = maxDepth;
+	}
+
+	public long getMaxLength() {
+		return maxLength;
+	}
+
+	/**
+	 * In-memory input over the limit fails at its first token; input read from a stream fails once the
+	 * limit is read.
+	 *
+	 * @param maxLength the length of the whole input
+	 * @throws IllegalArgumentException if maxLength is not positive
+	 * @see ParseException#ERROR_LENGTH_LIMIT
+	 */
+	public void setMaxLength(long maxLength) {
+		if (maxLength < 1)
+			throw new IllegalArgumentException("maxLength: " + maxLength);
+		this.maxLength = maxLength;
+	}
+
+	public int getMaxStringLength() {
+		return maxStringLength;
+	}
+
+	/**
+	 * @param maxStringLength the length of the text between the quotes of a string, escapes included
+	 * @throws IllegalArgumentException if maxStringLength is negative
+	 * @see ParseException#ERROR_STRING_LENGTH_LIMIT
+	 */
+	public void setMaxStringLength(int maxStringLength) {
+		if (maxStringLength < 0)
+			throw new IllegalArgumentException("maxStringLength: " + maxStringLength);
+		this.maxStringLength = maxStringLength;
+	}
+
+	public int getMaxNumberLength() {
+		return maxNumberLength;
+	}
+
+	/**
+	 * @param maxNumberLength the length of the text of a number
+	 * @throws IllegalArgumentException if maxNumberLength is not positive
+	 * @see ParseException#ERROR_NUMBER_LENGTH_LIMIT
+	 */
+	public void setMaxNumberLength(int maxNumberLength) {
+		if (maxNumberLength < 1)
+			throw new IllegalArgumentException("maxNumberLength: " + maxNumberLength);
+		this.maxNumberLength = maxNumberLength;
+	}
+
+	public int getMaxEntries() {
+		return maxEntries;
+	}
+
+	/**
+	 * Entries are counted as their keys or elements are read, so a repeated key counts each time and
+	 * the extra commas the parser accepts do not count.
+	 *
+	 * @param maxEntries the number of entries of an object or elements of an array
+	 * @throws IllegalArgumentException if maxEntries is not positive
+	 * @see ParseException#ERROR_ENTRIES_LIMIT
+	 */
+	public void setMaxEntries(int maxEntries) {
+		if (maxEntries < 1)
+			throw new IllegalArgumentException("maxEntries: " + maxEntries);
+		this.maxEntries = maxEntries;
+	}
+
+	public long getTimeout() {
+		return timeout;
+	}
+
+	/**
+	 * Set the time a parser may take for one input, counted from when the input is set and checked every
+	 * deadlineInterval tokens. Time spent blocked in a read or in a content handler counts, but a blocked
+	 * read is not interrupted.
+	 *
+	 * @param timeout milliseconds, 0 for no deadline
+	 * @throws IllegalArgumentException if timeout is negative
+	 * @see ParseException#ERROR_DEADLINE
+	 */
+	public void setTimeout(long timeout) {
+		if (timeout < 0)
+			throw new IllegalArgumentException("timeout: " + timeout);
+		this.timeout = timeout;
+	}
+
+	public int getDeadlineInterval() {
+		return deadlineInterval;
+	}
+
+	/**
+	 * @param deadlineInterval the number of tokens between two checks of the deadline
+	 * @throws IllegalArgumentException if deadlineInterval is not positive
+	 */
+	public void setDeadlineInterval(int deadlineInterval) {
+		if (deadlineInterval < 1)
+			throw new IllegalArgumentException("deadlineInterval: " + deadlineInterval);
+		this.deadlineInterval = deadlineInterval;
+	}
+}
@@ -0,0 +1,60 @@
+package org.json.simple.parser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Runs the tasks of the parallel parsers on an executor and passes their exceptions on.
+ */
+final class Tasks {
+	private Tasks() {
+	}
+
+	/**
+	 * Submits the tasks and waits for them in order. After a failure the tasks that have not started
+	 * yet are cancelled.
+	 *
+	 * @return the results of the tasks, in task order
+	 * @throws IOException    thrown by a task, or if the calling thread is interrupted
+	 * @throws ParseException thrown by a task
+	 */
+	static <T> List<T> invokeAll(ExecutorService executor, List<? extends Callable<T>> tasks)
+			throws IOException, ParseException {
+		List<Future<T>> futures = new ArrayList<>(tasks.size());
+		List<T> results = new ArrayList<>(tasks.size());
+		try {
+			for (Callable<T> task : tasks)
+				futures.add(executor.submit(task));
+			for (Future<T> future : futures) {
+				try {
+					results.add(future.get());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IOException(e);
+				} catch (ExecutionException e) {
+					Throwable cause = e.getCause();
+					// a ForkJoinPool wraps the checked exceptions of a Callable in a RuntimeException, and may wrap
+					// that again in a copy when it rethrows an exception of another thread
+					while (cause.getClass() == RuntimeException.class && cause.getCause() != null)
+						cause = cause.getCause();
+					if (cause instanceof ParseException)
+						throw (ParseException) cause;
+					if (cause instanceof IOException)
+						throw (IOException) cause;
+					if (cause instanceof RuntimeException)
+						throw (RuntimeException) cause;
+					throw (Error) cause;
+				}
+			}
+		} finally {
+			for (Future<T> future : futures)
+				future.cancel(false);
+		}
+		return results;
+	}
+}
@@ -0,0 +1,120 @@
+package org.json.simple.parser;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+
+/**
+ * Recognizes the string values that JSONWriter produces for java.time values and converts them back.
+ * The shapes are checked char by char, most strings are rejected by their first char.
+ * <ul>
+ * <li>Instant: <tt>yyyy-MM-ddTHH:mm:ss.SSSZ</tt></li>
+ * <li>LocalDateTime: <tt>yyyy-MM-ddTHH:mm:ss.SSS</tt></li>
+ * <li>ZonedDateTime: <tt>yyyy-MM-ddTHH:mm:ss.SSS+HH:mm[Area/City]</tt></li>
+ * </ul>
+ */
+final class Temporals {
+	static final int INSTANT = 1;
+	static final int LOCAL_DATE_TIME = 2;
+	static final int ZONED_DATE_TIME = 4;
+	static final int ALL = INSTANT | LOCAL_DATE_TIME | ZONED_DATE_TIME;
+
+	private static final int DATE_TIME_LENGTH = "yyyy-MM-ddTHH:mm:ss.SSS".length();
+
+	private Temporals() {
+	}
+
+	/**
+	 * @param types the java.time classes to convert to
+	 * @return the mask of the given types
+	 * @throws IllegalArgumentException if a type is not Instant, LocalDateTime or ZonedDateTime
+	 */
+	static int mask(Class<?>... types) {
+		int mask = 0;
+		for (Class<?> type : types) {
+			if (type == Instant.class)
+				mask |= INSTANT;
+			else if (type == LocalDateTime.class)
+				mask |= LOCAL_DATE_TIME;
+			else if (type == ZonedDateTime.class)
+				mask |= ZONED_DATE_TIME;
+			else
+				throw new IllegalArgumentException("Unsupported temporal type: " + type);
+		}
+		return mask;
+	}
+
+	/**
+	 * @param s     string value
+	 * @param types mask of the types to convert to
+	 * @return the temporal value s stands for, or s itself, also when it has the shape of a date time
+	 * but is not one, like <tt>2020-02-30T00:00:00.000</tt> or a zone that does not exist
+	 */
+	static Object convert(String s, int types) {
+		if (types == 0 || !isDateTime(s))
+			return s;
+		int len = s.length();
+		try {
+			if (len == DATE_TIME_LENGTH)
+				return (types & LOCAL_DATE_TIME) != 0 ? LocalDateTime.parse(s) : s;
+			if (len == DATE_TIME_LENGTH + 1 && s.charAt(DATE_TIME_LENGTH) == 'Z')
+				return (types & INSTANT) != 0 ? Instant.parse(s) : s;
+			if ((types & ZONED_DATE_TIME) != 0 && isZone(s))
+				return ZonedDateTime.parse(s);
+		} catch (DateTimeException e) {
+			return s;
+		}
+		return s;
+	}
+
+	/**
+	 * @return true if s starts with <tt>yyyy-MM-ddTHH:mm:ss.SSS</tt>
+	 */
+	private static boolean isDateTime(String s) {
+		if (s.length() < DATE_TIME_LENGTH || !isDigit(s.charAt(0)))
+			return false;
+		return isDigits(s, 0, 4) && s.charAt(4) == '-'
+				&& isDigits(s, 5, 7) && s.charAt(7) == '-'
+				&& isDigits(s, 8, 10) && s.charAt(10) == 'T'
+				&& isDigits(s, 11, 13) && s.charAt(13) == ':'
+				&& isDigits(s, 14, 16) && s.charAt(16) == ':'
+				&& isDigits(s, 17, 19) && s.charAt(19) == '.'
+				&& isDigits(s, 20, 23);
+	}
+
+	/**
+	 * @return true if the date time is followed by <tt>+HH:mm[...]</tt> and the brackets hold a slash
+	 */
+	private static boolean isZone(String s) {
+		int len = s.length();
+		int p = DATE_TIME_LENGTH;
+		if (len < p + 9)
+			return false;
+		char sign = s.charAt(p);
+		if ((sign != '+' && sign != '-') || !isDigits(s, p + 1, p + 3) || s.charAt(p + 3) != ':'
+				|| !isDigits(s, p + 4, p + 6) || s.charAt(p + 6) != '[' || s.charAt(len - 1) != ']')
+			return false;
+		boolean slash = false;
+		for (int i = p + 7; i < len - 1; i++) {
+			char c = s.charAt(i);
+			if (c == '/')
+				slash = true;
+			else if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029')
+				return false;
+		}
+		return slash;
+	}
+
+	private static boolean isDigits(String s, int start, int end) {
+		for (int i = start; i < end; i++) {
+			if (!isDigit(s.charAt(i)))
+				return false;
+		}
+		return true;
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+}
@@ -1,11 +1,17 @@
-/* The following code was generated by JFlex 1.4.2 */
-
 package org.json.simple.parser;
 
-import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZonedDateTime;
+import org.json.simple.JSONNumber;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 
+/**
+ * The scanner of JSONParser. It started out as code generated by JFlex 1.4.2 from a json.lex specification,
+ * which is where its DFA tables and zz names come from, and is maintained by hand since UTF-8 input,
+ * in-memory and fed input, line tokens, limits, validation, skipping and string run scanning were added.
+ * Those have no counterpart in a JFlex specification, so the scanner must not be regenerated.
+ */
 class Yylex {
 
 	/**
@@ -16,7 +22,9 @@ class Yylex {
 	/**
 	 * initial size of the lookahead buffer
 	 */
-	private static final int ZZ_BUFFERSIZE = 16384;
+	static final int ZZ_BUFFERSIZE = 16384;
+
+	private static final char[] ZZ_NO_BUFFER = new char[0];
 
 	/**
 	 * lexical states
@@ -213,6 +221,39 @@ class Yylex {
 	 */
 	private java.io.Reader zzReader;
 
+	/**
+	 * the byte input device, used instead of zzReader when scanning UTF-8 encoded bytes
+	 */
+	private java.io.InputStream zzStream;
+
+	/**
+	 * zzUtf8 == true <=> the scanner matches UTF-8 encoded bytes from zzBytes instead of chars from zzBuffer
+	 */
+	private boolean zzUtf8;
+
+	/**
+	 * zzFeed == true <=> the bytes are fed in chunks by yyfeed, and until zzFeedEnd the end of
+	 * the bytes fed so far is not the end of input
+	 */
+	private boolean zzFeed;
+	private boolean zzFeedEnd;
+
+	/**
+	 * the byte counterpart of zzBuffer, either owned by the scanner (when reading
+	 * from zzStream) or supplied by the caller (when scanning a byte array in place)
+	 */
+	private byte[] zzBytes;
+
+	/**
+	 * the buffer owned by the scanner for reading from zzStream
+	 */
+	private byte[] zzByteBuffer;
+
+	/**
+	 * scratch space for decoding UTF-8 runs inside string tokens
+	 */
+	private char[] zzDecodeBuffer;
+
 	/**
 	 * the current lexical state
 	 */
@@ -222,7 +263,19 @@ class Yylex {
 	 * this buffer contains the current text to be matched and is
 	 * the source of the yytext() string
 	 */
-	private char[] zzBuffer = new char[ZZ_BUFFERSIZE];
+	private char[] zzBuffer = ZZ_NO_BUFFER;
+
+	/**
+	 * the buffer owned by the scanner, zzBuffer points elsewhere while a
+	 * caller supplied char array is scanned in place
+	 */
+	private char[] zzCharBuffer = zzBuffer;
+
+	/**
+	 * size of the buffers for reading from a reader or stream; buffers that grew past it for
+	 * a long token are replaced on the next reset
+	 */
+	int bufferSize = ZZ_BUFFERSIZE;
 
 	/**
 	 * the textposition at the last accepting state
@@ -246,9 +299,10 @@ class Yylex {
 	private int zzEndRead;
 
 	/**
-	 * the number of characters up to the start of the matched text
+	 * the number of characters up to the start of the matched text, a long as input read from a stream
+	 * or a file may be longer than 2 GB
 	 */
-	private int yychar;
+	private long yychar;
 
 	/**
 	 * zzAtEOF == true <=> the scanner is at the EOF
@@ -256,10 +310,111 @@ class Yylex {
 	private boolean zzAtEOF;
 
 	/* user code: */
-	private StringBuffer sb = new StringBuffer();
+	private final StringBuilder sb = new StringBuilder();
+
+	/*
+	 * The unescaped run of the current string that has not been copied into sb yet, or -1.
+	 * A string without escapes is a single run and becomes one String straight from the buffer.
+	 */
+	private int zzRunStart = -1;
+	private int zzRunEnd;
+
+	/**
+	 * little-endian view of zzBytes for zzScanRun
+	 */
+	private ByteBuffer zzWords;
+
+	/**
+	 * Set by the parser when the next string can only be an object key. Keys are never
+	 * converted to temporal values and are looked up in the symbol table, if there is one.
+	 */
+	boolean keyExpected;
+
+	private JSONSymbolTable symbolTable;
+
+	/**
+	 * mask of the Temporals types string values are converted to
+	 */
+	int temporalTypes = Temporals.ALL;
 
+	/**
+	 * numbers are returned as JSONNumber keeping their text
+	 */
+	boolean lazyNumbers;
+
+	/**
+	 * Set by the parser to read line-delimited values: a run of whitespace with a line feed is returned
+	 * as Yytoken.NEWLINE, and a line feed inside a string is an error that leaves the scanner at the
+	 * start of the next line.
+	 */
+	boolean lineTokens;
+
+	/**
+	 * the position just after the last line feed returned as Yytoken.NEWLINE or rejected in a string
+	 */
+	private long zzLineStart = -1;
+
+	/*
+	 * Limits set by the parser, checked only while limited is true: the length of the input, of the
+	 * text between the quotes of a string and of a number, in chars or, for UTF-8 input, bytes.
+	 */
+	boolean limited;
+	long maxLength = Long.MAX_VALUE;
+	int maxStringLength = Integer.MAX_VALUE;
+	int maxNumberLength = Integer.MAX_VALUE;
+
+	/**
+	 * the position of the opening quote of the current string
+	 */
+	private long zzStringStart;
+
+	/**
+	 * Set by the parser to check values without creating them: every string is returned as "" and every
+	 * number as 0, after the same checks as when they are created.
+	 */
+	boolean validating;
+
+	/**
+	 * errors are created without a stack trace
+	 */
+	boolean stacklessErrors;
+
+	private ParseException zzError(long position, int errorType, Object unexpectedObject) {
+		return new ParseException(position(position), errorType, unexpectedObject, !stacklessErrors);
+	}
+
+	/**
+	 * @return the position as an int, or -1 if it does not fit
+	 */
+	static int position(long position) {
+		return position <= Integer.MAX_VALUE ? (int) position : -1;
+	}
+
+	void setSymbolTable(JSONSymbolTable symbolTable) {
+		this.symbolTable = symbolTable;
+	}
+
+	JSONSymbolTable getSymbolTable() {
+		return symbolTable;
+	}
+
+	/**
+	 * The token returned for every value. Structural tokens are the shared constants of Yytoken,
+	 * so scanning allocates no token at all; a caller that keeps a value token past the next
+	 * call of yylex() must copy it.
+	 */
+	private final Yytoken valueToken = new Yytoken(Yytoken.TYPE_VALUE, null);
+
+	private Yytoken zzValue(Object value) {
+		valueToken.value = value;
+		return valueToken;
+	}
+
+	/**
+	 * @return the position of the start of the matched text, or -1 if it does not fit in an int
+	 */
 	int getPosition() {
-		return yychar;
+		return position(yychar);
 	}
 
 
@@ -270,17 +425,18 @@ class Yylex {
 	 * @param in the java.io.Reader to read input from.
 	 */
 	Yylex(java.io.Reader in) {
-		this.zzReader = in;
+		yyreset(in);
 	}
 
 	/**
-	 * Creates a new scanner.
+	 * Creates a new scanner reading UTF-8 encoded bytes.
 	 * There is also java.io.Reader version of this constructor.
+	 * The bytes are matched directly, and only decoded inside string tokens.
 	 *
 	 * @param in the java.io.Inputstream to read input from.
 	 */
 	Yylex(java.io.InputStream in) {
-		this(new java.io.InputStreamReader(in));
+		yyreset(in);
 	}
 
 	/**
@@ -306,8 +462,19 @@ class Yylex {
 	 *
 	 * @return <code>false</code>, iff there was new input.
 	 * @throws java.io.IOException if any I/O-Error occurs
+	 * @throws ParseException      if the pending run of a string is not well-formed UTF-8
 	 */
-	private boolean zzRefill() throws java.io.IOException {
+	private boolean zzRefill() throws java.io.IOException, ParseException {
+		if (zzUtf8)
+			return zzRefillBytes();
+
+		/* text scanned in place has no more input */
+		if (zzReader == null)
+			return true;
+
+		/* the pending run of a string is about to move */
+		if (zzRunStart >= 0)
+			zzText();
 
 		/* first: make room (if you can) */
 		if (zzStartRead > 0) {
@@ -322,12 +489,16 @@ class Yylex {
 			zzStartRead = 0;
 		}
 
+		/* a token over its limit fails before the buffer grows for it */
+		if (limited)
+			zzCheckLimits();
+
 		/* is the buffer big enough? */
 		if (zzCurrentPos >= zzBuffer.length) {
 			/* if not: blow it up */
 			char[] newBuffer = new char[zzCurrentPos * 2];
 			System.arraycopy(zzBuffer, 0, newBuffer, 0, zzBuffer.length);
-			zzBuffer = newBuffer;
+			zzBuffer = zzCharBuffer = newBuffer;
 		}
 
 		/* finally: fill the buffer with new input */
@@ -353,6 +524,70 @@ class Yylex {
 		return true;
 	}
 
+	/**
+	 * Refills the byte input buffer, the UTF-8 counterpart of zzRefill().
+	 *
+	 * @return <code>false</code>, iff there was new input.
+	 * @throws java.io.IOException if any I/O-Error occurs
+	 * @throws ParseException      if the pending run of a string is not well-formed UTF-8
+	 */
+	private boolean zzRefillBytes() throws java.io.IOException, ParseException {
+		/* a byte array scanned in place has no more input */
+		if (zzStream == null)
+			return true;
+
+		/* the pending run of a string is about to move */
+		if (zzRunStart >= 0)
+			zzText();
+
+		/* first: make room (if you can) */
+		if (zzStartRead > 0) {
+			System.arraycopy(zzBytes, zzStartRead,
+					zzBytes, 0,
+					zzEndRead - zzStartRead);
+
+			/* translate stored positions */
+			zzEndRead -= zzStartRead;
+			zzCurrentPos -= zzStartRead;
+			zzMarkedPos -= zzStartRead;
+			zzStartRead = 0;
+		}
+
+		/* a token over its limit fails before the buffer grows for it */
+		if (limited)
+			zzCheckLimits();
+
+		/* is the buffer big enough? */
+		if (zzCurrentPos >= zzBytes.length) {
+			/* if not: blow it up */
+			byte[] newBuffer = new byte[zzCurrentPos * 2];
+			System.arraycopy(zzBytes, 0, newBuffer, 0, zzBytes.length);
+			zzBytes = zzByteBuffer = newBuffer;
+		}
+
+		/* finally: fill the buffer with new input */
+		int numRead = zzStream.read(zzBytes, zzEndRead,
+				zzBytes.length - zzEndRead);
+
+		if (numRead > 0) {
+			zzEndRead += numRead;
+			return false;
+		}
+		// unlikely but not impossible: read 0 bytes, but not at end of stream
+		if (numRead == 0) {
+			int c = zzStream.read();
+			if (c == -1) {
+				return true;
+			} else {
+				zzBytes[zzEndRead++] = (byte) c;
+				return false;
+			}
+		}
+
+		// numRead < 0
+		return true;
+	}
+
 
 	/**
 	 * Closes the input stream.
@@ -363,6 +598,8 @@ class Yylex {
 
 		if (zzReader != null)
 			zzReader.close();
+		if (zzStream != null)
+			zzStream.close();
 	}
 
 
@@ -378,11 +615,310 @@ class Yylex {
 	 */
 	public final void yyreset(java.io.Reader reader) {
 		zzReader = reader;
+		zzStream = null;
+		zzUtf8 = false;
+		zzBytes = null;
+		zzBuffer = reader != null ? zzCharBuffer(bufferSize) : zzCharBuffer;
+		zzReset();
+	}
+
+	/**
+	 * Resets the scanner to match the chars <tt>buf[off, off + len)</tt> in place,
+	 * without a reader and without ever refilling the buffer.
+	 * The array is neither copied nor modified.
+	 *
+	 * @param buf the input text
+	 * @param off the offset of the first char to scan
+	 * @param len the number of chars to scan
+	 */
+	public final void yyreset(char[] buf, int off, int len) {
+		if (off < 0 || len < 0 || off + len > buf.length)
+			throw new IndexOutOfBoundsException();
+		zzReader = null;
+		zzStream = null;
+		zzUtf8 = false;
+		zzBytes = null;
+		zzBuffer = buf;
+		zzReset();
+		zzEndRead = off + len;
+		zzStartRead = zzCurrentPos = zzMarkedPos = off;
+	}
+
+	/**
+	 * Resets the scanner to match a text that is already in memory. The text is
+	 * copied once with a bulk copy; it is never read through a reader and refilled.
+	 *
+	 * @param text the input text
+	 */
+	public final void yyreset(CharSequence text) {
+		int len = text.length();
+		char[] buf = len <= bufferSize ? zzCharBuffer(len) : new char[len];
+		if (text instanceof String)
+			((String) text).getChars(0, len, buf, 0);
+		else if (text instanceof StringBuilder)
+			((StringBuilder) text).getChars(0, len, buf, 0);
+		else if (text instanceof StringBuffer)
+			((StringBuffer) text).getChars(0, len, buf, 0);
+		else
+			for (int i = 0; i < len; i++)
+				buf[i] = text.charAt(i);
+		yyreset(buf, 0, len);
+	}
+
+	/**
+	 * Resets the scanner to read UTF-8 encoded bytes from a new input stream.
+	 * Does not close the old input.
+	 *
+	 * @param in the new input stream
+	 * @see #yyreset(java.io.Reader)
+	 */
+	public final void yyreset(java.io.InputStream in) {
+		zzReader = null;
+		zzStream = in;
+		zzUtf8 = true;
+		if (zzByteBuffer == null || zzByteBuffer.length != bufferSize)
+			zzByteBuffer = new byte[bufferSize];
+		zzBytes = zzByteBuffer;
+		zzReset();
+	}
+
+	/**
+	 * Resets the scanner to match the UTF-8 encoded bytes <tt>buf[off, off + len)</tt> in place.
+	 * The array is neither copied nor modified.
+	 *
+	 * @param buf the input bytes
+	 * @param off the offset of the first byte to scan
+	 * @param len the number of bytes to scan
+	 */
+	public final void yyreset(byte[] buf, int off, int len) {
+		if (off < 0 || len < 0 || off + len > buf.length)
+			throw new IndexOutOfBoundsException();
+		zzReader = null;
+		zzStream = null;
+		zzUtf8 = true;
+		zzBytes = buf;
+		zzReset();
+		zzEndRead = off + len;
+		zzStartRead = zzCurrentPos = zzMarkedPos = off;
+	}
+
+	/**
+	 * Resets the scanner to read the remaining UTF-8 encoded bytes of <tt>buf</tt>.
+	 * Heap buffers are scanned in place, direct buffers are copied in chunks;
+	 * the position of <tt>buf</tt> is not changed.
+	 *
+	 * @param buf the input bytes
+	 */
+	public final void yyreset(ByteBuffer buf) {
+		if (buf.hasArray())
+			yyreset(buf.array(), buf.arrayOffset() + buf.position(), buf.remaining());
+		else
+			yyreset(new ByteBufferInputStream(buf));
+	}
+
+	/**
+	 * Resets the scanner to match UTF-8 encoded bytes that are fed to it in chunks by yyfeed.
+	 * Until yyfeedEnd is called, running out of bytes is not the end of input: yylex goes back
+	 * to the start of the token it was matching and returns Yytoken.NEED_INPUT, and matches
+	 * the token again once more bytes are fed. Strings are matched in parts, so only the
+	 * current part of a string is matched again.
+	 */
+	void yyresetFeed() {
+		zzReader = null;
+		zzStream = null;
+		zzUtf8 = true;
+		if (zzByteBuffer == null || zzByteBuffer.length != bufferSize)
+			zzByteBuffer = new byte[bufferSize];
+		zzBytes = zzByteBuffer;
+		zzReset();
+		zzFeed = true;
+	}
+
+	/**
+	 * Appends the bytes <tt>b[off, off + len)</tt> to the input fed so far.
+	 */
+	void yyfeed(byte[] b, int off, int len) throws ParseException {
+		if (off < 0 || len < 0 || off + len > b.length)
+			throw new IndexOutOfBoundsException();
+		zzFeedRoom(len);
+		System.arraycopy(b, off, zzBytes, zzEndRead, len);
+		zzEndRead += len;
+	}
+
+	/**
+	 * Appends the remaining bytes of <tt>buf</tt> to the input fed so far and moves its position to its limit.
+	 */
+	void yyfeed(ByteBuffer buf) throws ParseException {
+		int len = buf.remaining();
+		zzFeedRoom(len);
+		buf.get(zzBytes, zzEndRead, len);
+		zzEndRead += len;
+	}
+
+	/**
+	 * Marks the end of the input fed so far as the end of input.
+	 */
+	void yyfeedEnd() {
+		zzFeedEnd = true;
+	}
+
+	/**
+	 * @return true if the input is fed in chunks and its end has not been reached yet
+	 */
+	boolean yyawaitingInput() {
+		return zzFeed && !zzFeedEnd;
+	}
+
+	/**
+	 * @return true if the whole input is in the buffer, as for a char or byte array scanned in place,
+	 * so that it can be read without refills
+	 */
+	boolean yyinMemory() {
+		return zzReader == null && zzStream == null && !zzFeed;
+	}
+
+	/**
+	 * @return the buffer of chars being scanned, or null if bytes are scanned
+	 */
+	char[] yychars() {
+		return zzUtf8 ? null : zzBuffer;
+	}
+
+	/**
+	 * @return the buffer of UTF-8 bytes being scanned, or null if chars are scanned
+	 */
+	byte[] yybytes() {
+		return zzUtf8 ? zzBytes : null;
+	}
+
+	/**
+	 * @return the offset in the buffer where the next token is matched from
+	 */
+	int yyoffset() {
+		return zzMarkedPos;
+	}
+
+	/**
+	 * @return the offset in the buffer just after the last char or byte read
+	 */
+	int yyend() {
+		return zzEndRead;
+	}
+
+	/**
+	 * @return the offset in the buffer of position 0 of the input, so that the position of offset i is i - yybase()
+	 */
+	int yybase() {
+		return (int) (zzStartRead - yychar);
+	}
+
+	/**
+	 * Moves the scanner to the offset pos of the buffer, between two tokens, after the input up to there
+	 * was read by other means.
+	 *
+	 * @param pos an offset in the buffer, not before the start of the last token
+	 */
+	void yyseek(int pos) {
+		yychar += pos - zzStartRead;
+		zzStartRead = zzCurrentPos = zzMarkedPos = pos;
+		zzRunStart = -1;
+		yybegin(YYINITIAL);
+	}
+
+	/**
+	 * Counts the input from the given position instead of 0, as if that much input was read before.
+	 * Lets tests reach positions past Integer.MAX_VALUE without scanning 2 GB.
+	 *
+	 * @param position the position of the next char or byte read
+	 */
+	void yyposition(long position) {
+		yychar = position - (zzMarkedPos - zzStartRead);
+	}
+
+	/**
+	 * Makes room for len more bytes after zzEndRead, first by dropping the bytes already
+	 * matched, then by growing the buffer.
+	 */
+	private void zzFeedRoom(int len) throws ParseException {
+		if (!zzFeed || zzFeedEnd)
+			throw new IllegalStateException("Input is not fed in chunks, or its end has been fed");
+		if (zzBytes.length - zzEndRead >= len)
+			return;
+
+		/* the pending run of a string is about to move */
+		if (zzRunStart >= 0)
+			zzText();
+
+		if (zzStartRead > 0) {
+			System.arraycopy(zzBytes, zzStartRead, zzBytes, 0, zzEndRead - zzStartRead);
+			zzEndRead -= zzStartRead;
+			zzCurrentPos -= zzStartRead;
+			zzMarkedPos -= zzStartRead;
+			zzStartRead = 0;
+		}
+		if (zzBytes.length - zzEndRead < len) {
+			byte[] newBuffer = new byte[Math.max(zzEndRead + len, zzBytes.length * 2)];
+			System.arraycopy(zzBytes, 0, newBuffer, 0, zzEndRead);
+			zzBytes = zzByteBuffer = newBuffer;
+		}
+	}
+
+	/**
+	 * Drops the input and the last value, and replaces the buffers that grew past maxBuffer,
+	 * so that a scanner kept for reuse holds on to neither a caller's input nor a buffer sized
+	 * for an exceptional document.
+	 *
+	 * @param maxBuffer the largest buffer length, in chars or bytes, that is kept
+	 */
+	void yyrelease(int maxBuffer) {
+		zzReader = null;
+		zzStream = null;
+		zzUtf8 = false;
+		zzBytes = null;
+		zzWords = null;
+		bufferSize = ZZ_BUFFERSIZE;
+		if (zzCharBuffer.length > maxBuffer)
+			zzCharBuffer = ZZ_NO_BUFFER;
+		zzBuffer = zzCharBuffer;
+		if (zzByteBuffer != null && zzByteBuffer.length > maxBuffer)
+			zzByteBuffer = null;
+		if (zzDecodeBuffer != null && zzDecodeBuffer.length > maxBuffer)
+			zzDecodeBuffer = null;
+		sb.setLength(0);
+		if (sb.capacity() > maxBuffer)
+			sb.trimToSize();
+		zzRunStart = -1;
+		valueToken.value = null;
+		keyExpected = false;
+		zzReset();
+	}
+
+	/**
+	 * @param minLength the number of chars needed, at most bufferSize
+	 * @return the scanner's own char buffer, reallocated if it is shorter than minLength or
+	 * grew past bufferSize. Buffers for in-memory text grow geometrically up to bufferSize,
+	 * so short inputs get short buffers.
+	 */
+	private char[] zzCharBuffer(int minLength) {
+		char[] buffer = zzCharBuffer;
+		if (buffer.length < minLength || buffer.length > bufferSize)
+			zzCharBuffer = buffer = new char[Math.min(bufferSize, Math.max(minLength, 2 * buffer.length))];
+		return buffer;
+	}
+
+	private void zzReset() {
+		if (zzDecodeBuffer != null && zzDecodeBuffer.length > bufferSize)
+			zzDecodeBuffer = null;
+		if (sb.capacity() > bufferSize) {
+			sb.setLength(0);
+			sb.trimToSize();
+		}
 		/*
 		 * zzAtBOL == true <=> the scanner is currently at the beginning of a line
 		 */
 		boolean zzAtBOL = true;
 		zzAtEOF = false;
+		zzFeed = zzFeedEnd = false;
 		zzEndRead = zzStartRead = 0;
 		zzCurrentPos = zzMarkedPos = 0;
 		/*
@@ -393,6 +929,7 @@ class Yylex {
 		 * matched text
 		 */
 		yychar = 0;
+		zzLineStart = -1;
 		zzLexicalState = YYINITIAL;
 	}
 
@@ -419,6 +956,8 @@ class Yylex {
 	 * Returns the text matched by the current regular expression.
 	 */
 	public final String yytext() {
+		if (zzUtf8)
+			return new String(zzBytes, zzStartRead, zzMarkedPos - zzStartRead, StandardCharsets.ISO_8859_1);
 		return new String(zzBuffer, zzStartRead, zzMarkedPos - zzStartRead);
 	}
 
@@ -434,9 +973,377 @@ class Yylex {
 	 * @return the character at position pos
 	 */
 	public final char yycharat(int pos) {
+		if (zzUtf8)
+			return (char) (zzBytes[zzStartRead + pos] & 0xFF);
 		return zzBuffer[zzStartRead + pos];
 	}
 
+	/**
+	 * Records an unescaped run of the current string. The first run of a string is only remembered,
+	 * later runs follow an escape and are appended to sb.
+	 *
+	 * @throws ParseException if the run is not well-formed UTF-8
+	 */
+	private void zzRun() throws ParseException {
+		if (lineTokens)
+			zzRunLineBreak();
+		if (zzRunStart < 0 && sb.length() == 0) {
+			zzRunStart = zzStartRead;
+			zzRunEnd = zzMarkedPos;
+		} else {
+			zzText();
+			zzAppend(zzStartRead, zzMarkedPos);
+		}
+	}
+
+	/**
+	 * @return the position of the first '"' or '\' in the buffer range [from, to), or to. Bytes are
+	 * scanned eight at a time.
+	 */
+	private int zzScanRun(int from, int to) {
+		if (zzUtf8) {
+			if (zzWords == null || zzWords.array() != zzBytes)
+				zzWords = ByteBuffer.wrap(zzBytes).order(ByteOrder.LITTLE_ENDIAN);
+			return Bytes.indexOfQuoteOrBackslash(zzWords, from, to);
+		}
+		char[] buffer = zzBuffer;
+		while (from < to && buffer[from] != '"' && buffer[from] != '\\')
+			from++;
+		return from;
+	}
+
+	/**
+	 * Checks the limits against the input read so far and the token being matched.
+	 *
+	 * @throws ParseException if the input, the current string or the current number is over its limit
+	 */
+	private void zzCheckLimits() throws ParseException {
+		if (yychar + zzEndRead - zzStartRead > maxLength)
+			throw zzError(yychar, ParseException.ERROR_LENGTH_LIMIT, maxLength);
+		int length = zzCurrentPos - zzStartRead;
+		if (zzLexicalState == STRING_BEGIN) {
+			if (yychar + length - zzStringStart - 1 > maxStringLength)
+				throw zzError(zzStringStart, ParseException.ERROR_STRING_LENGTH_LIMIT, maxStringLength);
+		} else if (length > maxNumberLength) {
+			int c = zzUtf8 ? zzBytes[zzStartRead] : zzBuffer[zzStartRead];
+			if (c == '-' || c >= '0' && c <= '9')
+				throw zzError(yychar, ParseException.ERROR_NUMBER_LENGTH_LIMIT, maxNumberLength);
+		}
+	}
+
+	/**
+	 * @return true if the matched whitespace has a line feed
+	 */
+	private boolean zzLineBreak() {
+		for (int i = zzStartRead; i < zzMarkedPos; i++) {
+			if ((zzUtf8 ? zzBytes[i] : zzBuffer[i]) == '\n') {
+				zzLineStart = yychar + zzMarkedPos - zzStartRead;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Rejects a line feed in the matched run of a string, moving the scanner past it.
+	 *
+	 * @throws ParseException at the position of the line feed
+	 */
+	private void zzRunLineBreak() throws ParseException {
+		for (int i = zzStartRead; i < zzMarkedPos; i++) {
+			if ((zzUtf8 ? zzBytes[i] : zzBuffer[i]) == '\n') {
+				zzMarkedPos = i + 1;
+				zzLineStart = yychar + zzMarkedPos - zzStartRead;
+				zzRunStart = -1;
+				yybegin(YYINITIAL);
+				throw zzError(yychar + i - zzStartRead, ParseException.ERROR_UNEXPECTED_CHAR, '\n');
+			}
+		}
+	}
+
+	/**
+	 * Moves to the start of the next line, unless the last token or error left the scanner there already,
+	 * and drops the string being matched, if any.
+	 *
+	 * @throws java.io.IOException if any I/O-Error occurs
+	 * @throws ParseException      if the pending run of a string is not well-formed UTF-8
+	 */
+	void yyskipLine() throws java.io.IOException, ParseException {
+		yychar += zzMarkedPos - zzStartRead;
+		zzStartRead = zzCurrentPos = zzMarkedPos;
+		zzRunStart = -1;
+		sb.setLength(0);
+		yybegin(YYINITIAL);
+		if (yychar == zzLineStart)
+			return;
+		int pos = zzStartRead;
+		while (true) {
+			if (pos >= zzEndRead) {
+				yychar += pos - zzStartRead;
+				zzStartRead = zzCurrentPos = zzMarkedPos = pos;
+				if (zzAtEOF || zzRefill()) {
+					zzAtEOF = true;
+					return;
+				}
+				pos = zzMarkedPos;
+				continue;
+			}
+			if ((zzUtf8 ? zzBytes[pos] : zzBuffer[pos]) == '\n')
+				break;
+			pos++;
+		}
+		pos++;
+		yychar += pos - zzStartRead;
+		zzStartRead = zzCurrentPos = zzMarkedPos = pos;
+		zzLineStart = yychar;
+	}
+
+	/**
+	 * @return sb after copying the pending run into it
+	 */
+	private StringBuilder zzText() throws ParseException {
+		if (zzRunStart >= 0) {
+			int start = zzRunStart;
+			zzRunStart = -1;
+			zzAppend(start, zzRunEnd);
+		}
+		return sb;
+	}
+
+	/**
+	 * Appends the buffer range [start, end) to sb, decoding and validating UTF-8 when scanning bytes.
+	 *
+	 * @throws ParseException if the bytes are not well-formed UTF-8
+	 */
+	private void zzAppend(int start, int end) throws ParseException {
+		if (!zzUtf8) {
+			sb.append(zzBuffer, start, end - start);
+			return;
+		}
+		sb.append(zzDecodeBuffer(end - start), 0, zzDecodeUtf8(start, end, zzDecodeBuffer));
+	}
+
+	private char[] zzDecodeBuffer(int len) {
+		if (zzDecodeBuffer == null || zzDecodeBuffer.length < len)
+			zzDecodeBuffer = new char[Math.max(len, 256)];
+		return zzDecodeBuffer;
+	}
+
+	/**
+	 * Ends the current string token.
+	 *
+	 * @return the string value, created straight from the buffer when the string had no escapes
+	 * @throws ParseException if the string is not well-formed UTF-8
+	 */
+	private String zzString() throws ParseException {
+		if (keyExpected && symbolTable != null)
+			return zzKey();
+		if (zzRunStart < 0)
+			return sb.length() == 0 ? "" : sb.toString();
+		int start = zzRunStart;
+		int end = zzRunEnd;
+		zzRunStart = -1;
+		if (!zzUtf8)
+			return new String(zzBuffer, start, end - start);
+		byte[] bytes = zzBytes;
+		int i = start;
+		while (i < end && bytes[i] >= 0)
+			i++;
+		if (i == end)
+			return new String(bytes, start, end - start, StandardCharsets.ISO_8859_1);
+		return new String(zzDecodeBuffer(end - start), 0, zzDecodeUtf8(start, end, zzDecodeBuffer));
+	}
+
+	/**
+	 * Ends the current string token as an object key, taking its canonical instance from the symbol table.
+	 *
+	 * @throws ParseException if the key is not well-formed UTF-8
+	 */
+	private String zzKey() throws ParseException {
+		if (zzRunStart < 0)
+			return symbolTable.intern(sb);
+		int start = zzRunStart;
+		int end = zzRunEnd;
+		zzRunStart = -1;
+		if (!zzUtf8)
+			return symbolTable.intern(zzBuffer, start, end - start);
+		String key = symbolTable.intern(zzBytes, start, end - start);
+		if (key != null)
+			return key;
+		return symbolTable.intern(zzDecodeBuffer(end - start), 0, zzDecodeUtf8(start, end, zzDecodeBuffer));
+	}
+
+	/**
+	 * @return the char encoded by the four hex digits of the matched unicode escape
+	 */
+	private char zzUnicodeEscape() {
+		int ch = 0;
+		for (int i = 2; i < 6; i++)
+			ch = (ch << 4) | Character.digit(yycharat(i), 16);
+		return (char) ch;
+	}
+
+	/**
+	 * Reads the matched integer straight from the buffer.
+	 *
+	 * @return Integer or Long if the integer fits, BigInteger otherwise
+	 */
+	private Number zzInteger() {
+		return Numbers.integer(zzBuffer, zzUtf8 ? zzBytes : null, zzStartRead, zzMarkedPos);
+	}
+
+	/**
+	 * Reads the matched decimal straight from the buffer.
+	 *
+	 * @return Double, or BigDecimal if the number is beyond the double range, or null if it is beyond the
+	 * BigDecimal range too
+	 */
+	private Number zzDecimal() {
+		return Numbers.decimal(zzBuffer, zzUtf8 ? zzBytes : null, zzStartRead, zzMarkedPos);
+	}
+
+	/**
+	 * Moves past a value without matching tokens: strings are scanned for their closing quote and
+	 * objects and arrays for their closing bracket, nothing is decoded, converted or validated
+	 * beyond that.
+	 *
+	 * @param depth 0 to skip the next value, 1 to skip the rest of the object or array whose
+	 *              opening bracket was the last token
+	 * @throws java.io.IOException if any I/O-Error occurs
+	 * @throws ParseException      if the input ends inside the value, or a value is missing
+	 */
+	void yyskip(int depth) throws java.io.IOException, ParseException {
+		yychar += zzMarkedPos - zzStartRead;
+		zzStartRead = zzMarkedPos;
+		int pos = zzStartRead;
+		boolean inString = false;
+		boolean escape = false;
+		boolean primitive = false;
+		scan:
+		while (true) {
+			if (pos >= zzEndRead) {
+				yychar += pos - zzStartRead;
+				zzStartRead = zzCurrentPos = zzMarkedPos = pos;
+				if (zzAtEOF || zzRefill()) {
+					zzAtEOF = true;
+					if (primitive && depth == 0)
+						return;
+					throw zzError(yychar, ParseException.ERROR_UNEXPECTED_TOKEN, new Yytoken(Yytoken.TYPE_EOF, null));
+				}
+				pos = zzMarkedPos;
+				continue;
+			}
+			int c = zzUtf8 ? zzBytes[pos] : zzBuffer[pos];
+			if (inString) {
+				if (escape) {
+					escape = false;
+				} else if (c == '\\') {
+					escape = true;
+				} else if (c == '"') {
+					inString = false;
+					if (depth == 0) {
+						pos++;
+						break;
+					}
+				}
+			} else if (primitive) {
+				switch (c) {
+					case ',':
+					case '}':
+					case ']':
+					case ' ':
+					case '\t':
+					case '\n':
+					case '\r':
+						break scan;
+				}
+			} else {
+				switch (c) {
+					case ' ':
+					case '\t':
+					case '\n':
+					case '\r':
+						break;
+					case '"':
+						inString = true;
+						break;
+					case '{':
+					case '[':
+						depth++;
+						break;
+					case '}':
+					case ']':
+						if (depth == 0)
+							throw zzError(yychar + pos - zzStartRead, ParseException.ERROR_UNEXPECTED_CHAR, (char) c);
+						if (--depth == 0) {
+							pos++;
+							break scan;
+						}
+						break;
+					case ',':
+					case ':':
+						if (depth == 0)
+							throw zzError(yychar + pos - zzStartRead, ParseException.ERROR_UNEXPECTED_CHAR, (char) c);
+						break;
+					default:
+						if (depth == 0)
+							primitive = true;
+				}
+			}
+			pos++;
+		}
+		yychar += pos - zzStartRead;
+		zzStartRead = zzCurrentPos = zzMarkedPos = pos;
+	}
+
+	/**
+	 * Moves past whitespace and any number of colons, none included, like the parser does between
+	 * the key and the value of an object entry.
+	 *
+	 * @throws java.io.IOException if any I/O-Error occurs
+	 * @throws ParseException      if the refilled input is not well-formed UTF-8
+	 */
+	void yyskipColons() throws java.io.IOException, ParseException {
+		yychar += zzMarkedPos - zzStartRead;
+		zzStartRead = zzMarkedPos;
+		int pos = zzStartRead;
+		while (true) {
+			if (pos >= zzEndRead) {
+				yychar += pos - zzStartRead;
+				zzStartRead = zzCurrentPos = zzMarkedPos = pos;
+				if (zzAtEOF || zzRefill()) {
+					zzAtEOF = true;
+					return;
+				}
+				pos = zzMarkedPos;
+				continue;
+			}
+			int c = zzUtf8 ? zzBytes[pos] : zzBuffer[pos];
+			if (c != ':' && c != ' ' && c != '\t' && c != '\n' && c != '\r')
+				break;
+			pos++;
+		}
+		yychar += pos - zzStartRead;
+		zzStartRead = zzCurrentPos = zzMarkedPos = pos;
+	}
+
+	/**
+	 * Decodes the UTF-8 bytes zzBytes[start, end) into out.
+	 *
+	 * @return the number of chars written
+	 * @throws ParseException at the position of the first malformed byte
+	 */
+	private int zzDecodeUtf8(int start, int end, char[] out) throws ParseException {
+		int n = Bytes.decodeUtf8(zzBytes, start, end, out);
+		if (n < 0)
+			throw zzMalformedUtf8(~n);
+		return n;
+	}
+
+	private ParseException zzMalformedUtf8(int pos) {
+		return zzError(yychar + pos - zzStartRead, ParseException.ERROR_UNEXPECTED_CHAR, (char) (zzBytes[pos] & 0xFF));
+	}
+
 
 	/**
 	 * Returns the length of the matched text region.
@@ -504,6 +1411,8 @@ class Yylex {
 		int zzMarkedPosL;
 		int zzEndReadL = zzEndRead;
 		char[] zzBufferL = zzBuffer;
+		byte[] zzBytesL = zzBytes;
+		boolean zzUtf8L = zzUtf8;
 
 		while (true) {
 			zzMarkedPosL = zzMarkedPos;
@@ -519,13 +1428,25 @@ class Yylex {
 			 */
 			int zzState = ZZ_LEXSTATE[zzLexicalState];
 
+			if (limited)
+				zzCheckLimits();
+
+			if (zzLexicalState == STRING_BEGIN) {
+				/* a run of the string that ends inside the buffer is matched without the DFA */
+				int zzRunEndL = zzScanRun(zzCurrentPosL, zzEndReadL);
+				if (zzRunEndL > zzCurrentPosL && zzRunEndL < zzEndReadL) {
+					zzMarkedPos = zzRunEndL;
+					zzRun();
+					continue;
+				}
+			}
 
 			zzForAction:
 			{
 				while (true) {
 
 					if (zzCurrentPosL < zzEndReadL)
-						zzInput = zzBufferL[zzCurrentPosL++];
+						zzInput = zzUtf8L ? zzBytesL[zzCurrentPosL++] & 0xFF : zzBufferL[zzCurrentPosL++];
 					else if (zzAtEOF) {
 						zzInput = YYEOF;
 						break zzForAction;
@@ -538,12 +1459,18 @@ class Yylex {
 						zzCurrentPosL = zzCurrentPos;
 						zzMarkedPosL = zzMarkedPos;
 						zzBufferL = zzBuffer;
+						zzBytesL = zzBytes;
 						zzEndReadL = zzEndRead;
 						if (eof) {
+							if (zzFeed && !zzFeedEnd) {
+								/* the token may go on in the next chunk: match it again from its start */
+								zzCurrentPos = zzMarkedPos = zzStartRead;
+								return Yytoken.NEED_INPUT;
+							}
 							zzInput = YYEOF;
 							break zzForAction;
 						} else {
-							zzInput = zzBufferL[zzCurrentPosL++];
+							zzInput = zzUtf8L ? zzBytesL[zzCurrentPosL++] & 0xFF : zzBufferL[zzCurrentPosL++];
 						}
 					}
 					int zzNext = ZZ_TRANS[ZZ_ROWMAP[zzState] + ZZ_CMAP[zzInput]];
@@ -565,147 +1492,146 @@ class Yylex {
 
 			switch (zzAction < 0 ? zzAction : ZZ_ACTION[zzAction]) {
 				case 11: {
-					sb.append(yytext());
+					zzRun();
 				}
 				case 25:
 					break;
 				case 4: {
-					sb = null;
-					sb = new StringBuffer();
+					sb.setLength(0);
+					zzRunStart = -1;
+					zzStringStart = yychar;
 					yybegin(STRING_BEGIN);
 				}
 				case 26:
 					break;
 				case 16: {
-					sb.append('\b');
+					zzText().append('\b');
 				}
 				case 27:
 					break;
 				case 6: {
-					return new Yytoken(Yytoken.TYPE_RIGHT_BRACE, null);
+					return Yytoken.RIGHT_BRACE;
 				}
 				case 28:
 					break;
 				case 23: {
-					Boolean val = Boolean.valueOf(yytext());
-					return new Yytoken(Yytoken.TYPE_VALUE, val);
+					return zzValue(yycharat(0) == 't' ? Boolean.TRUE : Boolean.FALSE);
 				}
 				case 29:
 					break;
 				case 22: {
-					return new Yytoken(Yytoken.TYPE_VALUE, null);
+					return zzValue(null);
 				}
 				case 30:
 					break;
 				case 13: {
 					yybegin(YYINITIAL);
-					String data = sb.toString();
-					if (data.matches("^\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}(.*)$")) {
-						if (data.matches("^\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}Z$")) {
-							return new Yytoken(Yytoken.TYPE_VALUE, Instant.parse(data));
-						} else if (data.matches("^\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}$")) {
-							return new Yytoken(Yytoken.TYPE_VALUE, LocalDateTime.parse(data));
-						} else if (data.matches("^\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}[+-]\\d{2}:\\d{2}\\[(.*)/(.*)\\]$")) {
-							return new Yytoken(Yytoken.TYPE_VALUE, ZonedDateTime.parse(data));
-						}
+					if (validating) {
+						zzText();
+						return zzValue("");
 					}
-					return new Yytoken(Yytoken.TYPE_VALUE, data);
+					String data = zzString();
+					return zzValue(keyExpected ? data : Temporals.convert(data, temporalTypes));
 				}
 				case 31:
 					break;
 				case 12: {
-					sb.append('\\');
+					zzText().append('\\');
 				}
 				case 32:
 					break;
 				case 21: {
-					Double val = Double.valueOf(yytext());
-					return new Yytoken(Yytoken.TYPE_VALUE, val);
+					if (limited && yylength() > maxNumberLength)
+						throw zzError(yychar, ParseException.ERROR_NUMBER_LENGTH_LIMIT, maxNumberLength);
+					if (validating || lazyNumbers) {
+						if (!Numbers.inRange(zzBuffer, zzUtf8 ? zzBytes : null, zzStartRead, zzMarkedPos))
+							throw zzError(yychar, ParseException.ERROR_NUMBER_RANGE, yytext());
+						return zzValue(validating ? 0 : new JSONNumber(yytext()));
+					}
+					Number decimal = zzDecimal();
+					if (decimal == null)
+						throw zzError(yychar, ParseException.ERROR_NUMBER_RANGE, yytext());
+					return zzValue(decimal);
 				}
 				case 33:
 					break;
 				case 1: {
-					throw new ParseException(yychar, ParseException.ERROR_UNEXPECTED_CHAR, yycharat(0));
+					throw zzError(yychar, ParseException.ERROR_UNEXPECTED_CHAR, yycharat(0));
 				}
 				case 34:
 					break;
 				case 8: {
-					return new Yytoken(Yytoken.TYPE_RIGHT_SQUARE, null);
+					return Yytoken.RIGHT_SQUARE;
 				}
 				case 35:
 					break;
 				case 19: {
-					sb.append('\r');
+					zzText().append('\r');
 				}
 				case 36:
 					break;
 				case 15: {
-					sb.append('/');
+					zzText().append('/');
 				}
 				case 37:
 					break;
 				case 10: {
-					return new Yytoken(Yytoken.TYPE_COLON, null);
+					return Yytoken.COLON;
 				}
 				case 38:
 					break;
 				case 14: {
-					sb.append('"');
+					zzText().append('"');
 				}
 				case 39:
 					break;
 				case 5: {
-					return new Yytoken(Yytoken.TYPE_LEFT_BRACE, null);
+					return Yytoken.LEFT_BRACE;
 				}
 				case 40:
 					break;
 				case 17: {
-					sb.append('\f');
+					zzText().append('\f');
 				}
 				case 41:
 					break;
 				case 24: {
-					try {
-						int ch = Integer.parseInt(yytext().substring(2), 16);
-						sb.append((char) ch);
-					} catch (Exception e) {
-						throw new ParseException(yychar, ParseException.ERROR_UNEXPECTED_EXCEPTION, e);
-					}
+					zzText().append(zzUnicodeEscape());
 				}
 				case 42:
 					break;
 				case 20: {
-					sb.append('\t');
+					zzText().append('\t');
 				}
 				case 43:
 					break;
 				case 7: {
-					return new Yytoken(Yytoken.TYPE_LEFT_SQUARE, null);
+					return Yytoken.LEFT_SQUARE;
 				}
 				case 44:
 					break;
 				case 2: {
-					Long val = Long.valueOf(yytext());
-					if (val >= Integer.MIN_VALUE && val <= Integer.MAX_VALUE) {
-						return new Yytoken(Yytoken.TYPE_VALUE, val.intValue());
-					} else {
-						return new Yytoken(Yytoken.TYPE_VALUE, val);
-					}
-
+					if (limited && yylength() > maxNumberLength)
+						throw zzError(yychar, ParseException.ERROR_NUMBER_LENGTH_LIMIT, maxNumberLength);
+					if (validating)
+						return zzValue(0);
+					return zzValue(lazyNumbers ? new JSONNumber(yytext()) : zzInteger());
 				}
 				case 45:
 					break;
 				case 18: {
-					sb.append('\n');
+					zzText().append('\n');
 				}
 				case 46:
 					break;
 				case 9: {
-					return new Yytoken(Yytoken.TYPE_COMMA, null);
+					return Yytoken.COMMA;
 				}
 				case 47:
 					break;
 				case 3: {
+					if (lineTokens && zzLineBreak())
+						return Yytoken.NEWLINE;
 				}
 				case 48:
 					break;
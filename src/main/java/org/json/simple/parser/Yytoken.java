@@ -17,6 +17,29 @@ public class Yytoken {
 	public static final int TYPE_COLON = 6;
 	public static final int TYPE_EOF = -1;//end of file
 
+	/*
+	 * Structural tokens carry no value, so the scanner hands out these shared instances.
+	 */
+	static final Yytoken LEFT_BRACE = new Yytoken(TYPE_LEFT_BRACE, null);
+	static final Yytoken RIGHT_BRACE = new Yytoken(TYPE_RIGHT_BRACE, null);
+	static final Yytoken LEFT_SQUARE = new Yytoken(TYPE_LEFT_SQUARE, null);
+	static final Yytoken RIGHT_SQUARE = new Yytoken(TYPE_RIGHT_SQUARE, null);
+	static final Yytoken COMMA = new Yytoken(TYPE_COMMA, null);
+	static final Yytoken COLON = new Yytoken(TYPE_COLON, null);
+	static final Yytoken EOF = new Yytoken(TYPE_EOF, null);
+
+	/*
+	 * Returned instead of a token when input fed in chunks runs out before the end of input.
+	 */
+	static final int TYPE_NEED_INPUT = -2;
+	static final Yytoken NEED_INPUT = new Yytoken(TYPE_NEED_INPUT, null);
+
+	/*
+	 * Returned for a line break when values are read line by line.
+	 */
+	static final int TYPE_NEWLINE = -3;
+	static final Yytoken NEWLINE = new Yytoken(TYPE_NEWLINE, null);
+
 	public int type;
 	public Object value;
 
@@ -52,6 +75,12 @@ public class Yytoken {
 			case TYPE_EOF:
 				sb.append("END OF FILE");
 				break;
+			case TYPE_NEED_INPUT:
+				sb.append("NEED INPUT");
+				break;
+			case TYPE_NEWLINE:
+				sb.append("NEWLINE");
+				break;
 		}
 		return sb.toString();
 	}
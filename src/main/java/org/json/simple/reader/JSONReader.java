@@ -3,8 +3,8 @@ package org.json.simple.reader;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONAware;
 import org.json.simple.JSONObject;
-import org.json.simple.JSONValue;
-import org.json.simple.parser.ParseException;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.JSONParserPool;
 
 /**
  * Read string into JSONAware
@@ -12,6 +12,31 @@ import org.json.simple.parser.ParseException;
  * @author Evgeny Mikheev, Dmitry Gourjev
  */
 public class JSONReader {
+	/**
+	 * returned by parse for text that is not valid JSON
+	 */
+	private static final Object INVALID = new Object();
+
+	/**
+	 * Parses with a pooled parser whose errors have no stack trace, as only their occurrence matters here.
+	 *
+	 * @return the value, or INVALID
+	 */
+	private static Object parse(String string) {
+		if (string == null)
+			return INVALID;
+		JSONParserPool pool = JSONParserPool.getShared();
+		JSONParser parser = pool.acquire();
+		try {
+			parser.setStacklessExceptions(true);
+			return parser.parse(string);
+		} catch (Exception e) {
+			return INVALID;
+		} finally {
+			pool.release(parser);
+		}
+	}
+
 	/**
 	 * Read string into JSON aware
 	 *
@@ -64,14 +89,13 @@ public class JSONReader {
 	 * @return JSONArray if parsing successed, null or empty object (according to nullOnFail flag) otherwise
 	 */
 	public static <T> JSONArray<T> readArray(String string, boolean nullOnFail) {
-		try {
-			return (JSONArray<T>) JSONValue.parseWithException(string);
-		} catch (Exception e) {
-			if (nullOnFail) {
-				return null;
-			} else {
-				return new JSONArray<>();
-			}
+		Object value = parse(string);
+		if (value == null || value instanceof JSONArray)
+			return (JSONArray<T>) value;
+		if (nullOnFail) {
+			return null;
+		} else {
+			return new JSONArray<>();
 		}
 	}
 
@@ -97,14 +121,13 @@ public class JSONReader {
 	 * @return JSONObject if parsing successed, null or empty object (according to nullOnFail flag) otherwise
 	 */
 	public static <K, V> JSONObject<K, V> readObject(String string, boolean nullOnFail) {
-		try {
-			return (JSONObject<K, V>) JSONValue.parseWithException(string);
-		} catch (Exception e) {
-			if (nullOnFail) {
-				return null;
-			} else {
-				return new JSONObject<>();
-			}
+		Object value = parse(string);
+		if (value == null || value instanceof JSONObject)
+			return (JSONObject<K, V>) value;
+		if (nullOnFail) {
+			return null;
+		} else {
+			return new JSONObject<>();
 		}
 	}
 }
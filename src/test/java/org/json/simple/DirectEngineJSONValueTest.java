@@ -0,0 +1,23 @@
+package org.json.simple;
+
+import junit.framework.TestCase;
+import org.json.simple.parser.JSONParser;
+
+/**
+ * Runs the parsing tests of JSONValueTest with ENGINE_DIRECT as the default engine of every parser. The
+ * other tests of JSONValueTest only write JSON text.
+ */
+public class DirectEngineJSONValueTest extends TestCase {
+
+	protected void setUp() throws Exception {
+		JSONParser.setDefaultEngine(JSONParser.ENGINE_DIRECT);
+	}
+
+	protected void tearDown() throws Exception {
+		JSONParser.setDefaultEngine(JSONParser.ENGINE_LEXER);
+	}
+
+	public void testLazyNumbers() throws Exception {
+		new JSONValueTest().testLazyNumbers();
+	}
+}
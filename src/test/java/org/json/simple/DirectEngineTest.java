@@ -0,0 +1,23 @@
+package org.json.simple;
+
+import org.json.simple.parser.JSONParser;
+
+/**
+ * Runs Test with ENGINE_DIRECT as the default engine of every parser.
+ */
+public class DirectEngineTest extends Test {
+
+	protected void setUp() throws Exception {
+		JSONParser.setDefaultEngine(JSONParser.ENGINE_DIRECT);
+	}
+
+	protected void tearDown() throws Exception {
+		JSONParser.setDefaultEngine(JSONParser.ENGINE_LEXER);
+	}
+
+	/**
+	 * Only writes JSON text, no parser is involved.
+	 */
+	public void testEncode() {
+	}
+}
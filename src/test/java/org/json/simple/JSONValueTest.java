@@ -1,9 +1,15 @@
 package org.json.simple;
 
 import junit.framework.TestCase;
+import org.json.simple.parser.JSONParser;
 
 import java.io.IOException;
 import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 public class JSONValueTest extends TestCase {
 	public void testByteArrayToString() throws IOException {
@@ -253,4 +259,49 @@ public class JSONValueTest extends TestCase {
 		JSONValue.writeJSONString(nestedStringArray, writer);
 		assertEquals(expectedNestedStringString, writer.toString());
 	}
+
+	public void testLazyNumbers() throws Exception {
+		String s = "{\"a\":[1,2.50,-3e2,12345678901234567890123,0.10000000000000000000001,1e400]}";
+		JSONParser parser = new JSONParser();
+		parser.setLazyNumbers(true);
+		JSONObject object = (JSONObject) parser.parse(s);
+		assertEquals(s, JSONValue.toJSONString(object));
+
+		JSONArray array = (JSONArray) object.get("a");
+		for (Object o : array)
+			assertTrue(o instanceof JSONNumber);
+		JSONNumber one = (JSONNumber) array.get(0);
+		assertEquals(1, one.intValue());
+		assertEquals(Integer.valueOf(1), one.toNumber());
+		assertTrue(one.isIntegral());
+		assertEquals(2.5, ((JSONNumber) array.get(1)).doubleValue());
+		assertFalse(((JSONNumber) array.get(1)).isIntegral());
+		assertEquals(-300L, ((JSONNumber) array.get(2)).longValue());
+		assertEquals(new BigInteger("12345678901234567890123"), ((JSONNumber) array.get(3)).toNumber());
+		assertEquals(new BigDecimal("0.10000000000000000000001"), ((JSONNumber) array.get(4)).toBigDecimal());
+		assertEquals(new BigDecimal("1e400"), ((JSONNumber) array.get(5)).toNumber());
+		assertEquals(new JSONNumber("2.5"), array.get(1));
+		assertEquals(0, new JSONNumber("2.5").compareTo((JSONNumber) array.get(1)));
+
+		// decimals beyond the double range are BigDecimals, exponents beyond the BigDecimal range are rejected
+		assertEquals(new BigDecimal("-1e999999999"), new JSONNumber("-1e999999999").toNumber());
+		assertEquals(0.0, new JSONNumber("1e-999999999").toNumber());
+		List<JSONNumber> numbers = new ArrayList<JSONNumber>();
+		for (String text : new String[]{"1e400", "-1e999999999", "1e-400", "0", "-0.5", "12.5E-1", "1.25"})
+			numbers.add(new JSONNumber(text));
+		Collections.sort(numbers);
+		assertEquals("[-1e999999999, -0.5, 0, 1e-400, 12.5E-1, 1.25, 1e400]", numbers.toString());
+		for (String text : new String[]{"", "-", "1.", ".5", "1e", "1e+", "+1", "0x10", "NaN", "1 ", "1e99999999999",
+				"1e-99999999999"}) {
+			try {
+				new JSONNumber(text).toNumber();
+				fail(text);
+			} catch (NumberFormatException expected) {
+			}
+		}
+
+		parser.setLazyNumbers(false);
+		for (Object o : (JSONArray) ((JSONObject) parser.parse(s)).get("a"))
+			assertFalse(o instanceof JSONNumber);
+	}
 }
@@ -0,0 +1,773 @@
+package org.json.simple.benchmark;
+
+import org.json.simple.JSONValue;
+import org.json.simple.parser.ContentHandler;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.JSONParserPool;
+import org.json.simple.parser.JSONPathExtractor;
+import org.json.simple.parser.JSONPushParser;
+import org.json.simple.parser.JSONSymbolTable;
+import org.json.simple.parser.JSONTape;
+import org.json.simple.parser.JSONValidator;
+import org.json.simple.parser.JSONValueIterator;
+import org.json.simple.parser.LazyJSONParser;
+import org.json.simple.parser.NDJSONFileParser;
+import org.json.simple.parser.ParallelJSONParser;
+import org.json.simple.parser.ParseException;
+import org.json.simple.parser.ParserLimits;
+import org.json.simple.reader.JSONReader;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * Rough throughput comparison of parser workloads. Not a unit test, run it with
+ * <pre>java -cp target/classes:target/test-classes org.json.simple.benchmark.ParserBenchmark</pre>
+ */
+public class ParserBenchmark {
+
+	interface Task {
+		Object run() throws Exception;
+	}
+
+	/**
+	 * @param args names of the groups to run ("modes", "keys", "numeric", "pool", "skip", "push", "ndjson", "ndjson-file", "file", "parallel", "strings", "tape", "lazy", "limits", "validate", "engine"), all groups when empty
+	 */
+	public static void main(String[] args) throws Exception {
+		java.util.List<String> groups = java.util.Arrays.asList(args);
+		if (groups.isEmpty() || groups.contains("modes"))
+			inputModes();
+		if (groups.isEmpty() || groups.contains("keys"))
+			keyHeavy();
+		if (groups.isEmpty() || groups.contains("numeric"))
+			numeric();
+		if (groups.isEmpty() || groups.contains("pool"))
+			pool();
+		if (groups.isEmpty() || groups.contains("skip"))
+			skip();
+		if (groups.isEmpty() || groups.contains("push"))
+			push();
+		if (groups.isEmpty() || groups.contains("ndjson"))
+			ndjson();
+		if (groups.isEmpty() || groups.contains("ndjson-file"))
+			ndjsonFile();
+		if (groups.isEmpty() || groups.contains("file"))
+			file();
+		if (groups.isEmpty() || groups.contains("parallel"))
+			parallel();
+		if (groups.isEmpty() || groups.contains("strings"))
+			strings();
+		if (groups.isEmpty() || groups.contains("tape"))
+			tape();
+		if (groups.isEmpty() || groups.contains("lazy"))
+			lazy();
+		if (groups.isEmpty() || groups.contains("limits"))
+			limits();
+		if (groups.isEmpty() || groups.contains("validate"))
+			validate();
+		if (groups.isEmpty() || groups.contains("engine"))
+			engine();
+	}
+
+	static void inputModes() throws Exception {
+		String small = document(new Random(1), 8);
+		String large = document(new Random(2), 100000);
+		System.out.println("small document: " + small.length() + " chars, large document: " + large.length() + " chars");
+		inputModes("small", small, 10000);
+		inputModes("large", large, 3);
+	}
+
+	static void keyHeavy() throws Exception {
+		final String keyHeavy = keyHeavyDocument(new Random(5), 20000);
+		final byte[] keyHeavyBytes = keyHeavy.getBytes(StandardCharsets.UTF_8);
+		final JSONParser parser = new JSONParser();
+		System.out.println("key-heavy document: " + keyHeavy.length() + " chars");
+		bench("key-heavy String", keyHeavy.length(), 5, new Task() {
+			public Object run() throws Exception {
+				return parser.parse(keyHeavy);
+			}
+		});
+		bench("key-heavy byte[]", keyHeavyBytes.length, 5, new Task() {
+			public Object run() throws Exception {
+				return parser.parse(keyHeavyBytes);
+			}
+		});
+		final JSONParser interning = new JSONParser();
+		interning.setSymbolTable(new JSONSymbolTable());
+		bench("key-heavy String, symbol table", keyHeavy.length(), 5, new Task() {
+			public Object run() throws Exception {
+				return interning.parse(keyHeavy);
+			}
+		});
+	}
+
+	static void numeric() throws Exception {
+		String smallNumeric = numericDocument(new Random(3), 16);
+		String largeNumeric = numericDocument(new Random(4), 200000);
+		System.out.println("small numeric: " + smallNumeric.length() + " chars, large numeric: " + largeNumeric.length() + " chars");
+		inputModes("small numeric", smallNumeric, 20000);
+		inputModes("large numeric", largeNumeric, 3);
+
+		final String copied = largeNumeric;
+		final JSONParser lazy = new JSONParser();
+		lazy.setLazyNumbers(true);
+		bench("large numeric String, lazy numbers", copied.length(), 3, new Task() {
+			public Object run() throws Exception {
+				return lazy.parse(copied);
+			}
+		});
+		final JSONParser eager = new JSONParser();
+		bench("large numeric String, parse and write", copied.length(), 3, new Task() {
+			public Object run() throws Exception {
+				return JSONValue.toJSONString(eager.parse(copied));
+			}
+		});
+		bench("large numeric String, lazy parse and write", copied.length(), 3, new Task() {
+			public Object run() throws Exception {
+				return JSONValue.toJSONString(lazy.parse(copied));
+			}
+		});
+	}
+
+	static void pool() throws Exception {
+		final String tiny = "{\"id\":12345,\"name\":\"abc\",\"ok\":true}";
+		bench("tiny String, new parser", tiny.length(), 200000, new Task() {
+			public Object run() throws Exception {
+				return new JSONParser().parse(tiny);
+			}
+		});
+		bench("tiny String, JSONValue pool", tiny.length(), 200000, new Task() {
+			public Object run() throws Exception {
+				return JSONValue.parseWithException(tiny);
+			}
+		});
+	}
+
+	static void skip() throws Exception {
+		final String s = "{\"user\":{\"id\":42,\"name\":\"abc\"},\"payload\":" + document(new Random(6), 1500)
+				+ ",\"status\":\"ok\"}";
+		final JSONParser parser = new JSONParser();
+		System.out.println("skip document: " + s.length() + " chars");
+		bench("three fields, DOM", s.length(), 200, new Task() {
+			public Object run() throws Exception {
+				return parser.parse(s);
+			}
+		});
+		bench("three fields, handler", s.length(), 200, new Task() {
+			public Object run() throws Exception {
+				FieldHandler handler = new FieldHandler(false);
+				parser.parse(s, handler);
+				return handler.found;
+			}
+		});
+		bench("three fields, handler skipping", s.length(), 200, new Task() {
+			public Object run() throws Exception {
+				FieldHandler handler = new FieldHandler(true);
+				parser.parse(s, handler);
+				return handler.found;
+			}
+		});
+		final JSONPathExtractor extractor = new JSONPathExtractor("$.user.id", "$.user.name", "$.status");
+		bench("three fields, path extractor", s.length(), 200, new Task() {
+			public Object run() throws Exception {
+				return extractor.extract(s);
+			}
+		});
+	}
+
+	static void push() throws Exception {
+		final byte[] b = document(new Random(7), 20000).getBytes(StandardCharsets.UTF_8);
+		final JSONParser parser = new JSONParser();
+		System.out.println("push document: " + b.length + " bytes");
+		bench("handler, whole byte[]", b.length, 20, new Task() {
+			public Object run() throws Exception {
+				FieldHandler handler = new FieldHandler(false);
+				parser.parse(b, handler);
+				return handler.found;
+			}
+		});
+		bench("push parser, 1460 byte chunks", b.length, 20, new Task() {
+			public Object run() throws Exception {
+				FieldHandler handler = new FieldHandler(false);
+				JSONPushParser push = new JSONPushParser(parser, handler);
+				for (int off = 0; off < b.length; off += 1460)
+					push.feed(b, off, Math.min(1460, b.length - off));
+				push.end();
+				return handler.found;
+			}
+		});
+	}
+
+	static void ndjson() throws Exception {
+		final String s = ndjsonDocument(new Random(8), 20000);
+		final byte[] b = s.getBytes(StandardCharsets.UTF_8);
+		final JSONParser parser = new JSONParser();
+		System.out.println("ndjson: " + b.length + " bytes");
+		bench("ndjson, readLine + parse", b.length, 20, new Task() {
+			public Object run() throws Exception {
+				java.io.BufferedReader lines = new java.io.BufferedReader(new java.io.InputStreamReader(
+						new java.io.ByteArrayInputStream(b), StandardCharsets.UTF_8));
+				int count = 0;
+				for (String line = lines.readLine(); line != null; line = lines.readLine()) {
+					parser.parse(line);
+					count++;
+				}
+				return count;
+			}
+		});
+		bench("ndjson, JSONValueIterator", b.length, 20, new Task() {
+			public Object run() throws Exception {
+				JSONValueIterator values = new JSONValueIterator(parser, new java.io.ByteArrayInputStream(b));
+				int count = 0;
+				while (values.hasNext()) {
+					values.next();
+					count++;
+				}
+				return count;
+			}
+		});
+		bench("ndjson, JSONValueIterator skipping malformed", b.length, 20, new Task() {
+			public Object run() throws Exception {
+				JSONValueIterator values = new JSONValueIterator(parser, new java.io.ByteArrayInputStream(b));
+				values.setSkipMalformed(true);
+				int count = 0;
+				while (values.hasNext()) {
+					values.next();
+					count++;
+				}
+				return count;
+			}
+		});
+	}
+
+	static void ndjsonFile() throws Exception {
+		java.io.File file = java.io.File.createTempFile("benchmark", ".ndjson");
+		try {
+			byte[] lines = ndjsonDocument(new Random(9), 20000).getBytes(StandardCharsets.UTF_8);
+			try (java.io.OutputStream out = new java.io.FileOutputStream(file)) {
+				for (int i = 0; i < 10; i++)
+					out.write(lines);
+			}
+			System.out.println("ndjson file: " + file.length() + " bytes, " + Runtime.getRuntime().availableProcessors()
+					+ " processors");
+			NDJSONFileParser parser = new NDJSONFileParser(file.toPath());
+			parser.setChunkSize(1 << 20);
+			for (int threads : new int[]{1, 2, 4, 8, 16}) {
+				java.util.concurrent.ForkJoinPool pool = new java.util.concurrent.ForkJoinPool(threads);
+				parser.setExecutor(pool);
+				parser.setParserPool(new JSONParserPool(threads, JSONParserPool.DEFAULT_MAX_BUFFER));
+				parser.forEach(record -> {
+				});
+				long records = 0;
+				long start = System.nanoTime();
+				for (int i = 0; i < 3; i++)
+					records += parser.forEach(record -> {
+					});
+				long elapsed = System.nanoTime() - start;
+				pool.shutdown();
+				System.out.printf("%-32s %10.0f records/s %8.1f MB/s%n", "ndjson file, " + threads + " threads",
+						records / (elapsed / 1e9), file.length() * 3.0 / (1 << 20) / (elapsed / 1e9));
+			}
+		} finally {
+			file.delete();
+		}
+	}
+
+	static void file() throws Exception {
+		final java.io.File file = java.io.File.createTempFile("benchmark", ".json");
+		try {
+			try (java.io.Writer out = new java.io.OutputStreamWriter(new java.io.FileOutputStream(file), StandardCharsets.UTF_8)) {
+				out.write(document(new Random(10), 400000));
+			}
+			final JSONParser parser = new JSONParser();
+			System.out.println("file: " + file.length() + " bytes");
+			bench("file, FileReader", file.length(), 3, new Task() {
+				public Object run() throws Exception {
+					try (java.io.Reader in = new java.io.InputStreamReader(new java.io.FileInputStream(file), StandardCharsets.UTF_8)) {
+						return parser.parse(in);
+					}
+				}
+			});
+			bench("file, FileInputStream", file.length(), 3, new Task() {
+				public Object run() throws Exception {
+					try (java.io.InputStream in = new java.io.FileInputStream(file)) {
+						return parser.parse(in);
+					}
+				}
+			});
+			bench("file, readAllBytes", file.length(), 3, new Task() {
+				public Object run() throws Exception {
+					return parser.parse(java.nio.file.Files.readAllBytes(file.toPath()));
+				}
+			});
+			bench("file, mapped Path", file.length(), 3, new Task() {
+				public Object run() throws Exception {
+					return parser.parse(file.toPath());
+				}
+			});
+			bench("file, FileInputStream, handler", file.length(), 3, new Task() {
+				public Object run() throws Exception {
+					FieldHandler handler = new FieldHandler(false);
+					try (java.io.InputStream in = new java.io.FileInputStream(file)) {
+						parser.parse(in, handler);
+					}
+					return handler.found;
+				}
+			});
+			bench("file, mapped Path, handler", file.length(), 3, new Task() {
+				public Object run() throws Exception {
+					FieldHandler handler = new FieldHandler(false);
+					parser.parse(file.toPath(), handler);
+					return handler.found;
+				}
+			});
+		} finally {
+			file.delete();
+		}
+	}
+
+	static void parallel() throws Exception {
+		final byte[] b = document(new Random(11), 200000).getBytes(StandardCharsets.UTF_8);
+		final JSONParser sequential = new JSONParser();
+		System.out.println("parallel: " + b.length + " bytes, " + Runtime.getRuntime().availableProcessors() + " processors");
+		Object expected = sequential.parse(b);
+		bench("parallel, sequential parser", b.length, 3, new Task() {
+			public Object run() throws Exception {
+				return sequential.parse(b);
+			}
+		});
+		for (int threads : new int[]{1, 2, 4, 8}) {
+			java.util.concurrent.ForkJoinPool pool = new java.util.concurrent.ForkJoinPool(threads);
+			final ParallelJSONParser parser = new ParallelJSONParser();
+			parser.setExecutor(pool);
+			parser.setParserPool(new JSONParserPool(threads, JSONParserPool.DEFAULT_MAX_BUFFER));
+			if (!expected.equals(parser.parse(b)))
+				throw new AssertionError("parallel result differs");
+			bench("parallel, " + threads + " threads", b.length, 3, new Task() {
+				public Object run() throws Exception {
+					return parser.parse(b);
+				}
+			});
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Long string values, where the time goes into finding the end of each string.
+	 */
+	static void strings() throws Exception {
+		Random random = new Random(12);
+		StringBuilder sb = new StringBuilder("[");
+		for (int i = 0; i < 50000; i++) {
+			if (i > 0)
+				sb.append(',');
+			sb.append("{\"id\":").append(i).append(",\"text\":\"");
+			for (int j = 40 + random.nextInt(200); j > 0; j--)
+				sb.append(j % 7 == 0 ? ' ' : (char) ('a' + random.nextInt(26)));
+			sb.append("\"}");
+		}
+		final String s = sb.append(']').toString();
+		final byte[] b = s.getBytes(StandardCharsets.UTF_8);
+		final JSONParser parser = new JSONParser();
+		System.out.println("strings: " + b.length + " bytes");
+		bench("strings, String, handler", b.length, 5, new Task() {
+			public Object run() throws Exception {
+				FieldHandler handler = new FieldHandler(false);
+				parser.parse(s, handler);
+				return handler.found;
+			}
+		});
+		bench("strings, byte[], handler", b.length, 5, new Task() {
+			public Object run() throws Exception {
+				FieldHandler handler = new FieldHandler(false);
+				parser.parse(b, handler);
+				return handler.found;
+			}
+		});
+		bench("strings, byte[]", b.length, 5, new Task() {
+			public Object run() throws Exception {
+				return parser.parse(b);
+			}
+		});
+	}
+
+	/**
+	 * Heap retained by a parsed document and the time to parse and scan it, as maps and lists or as a tape.
+	 */
+	static void tape() throws Exception {
+		final byte[] b = document(new Random(13), 200000).getBytes(StandardCharsets.UTF_8);
+		final JSONParser parser = new JSONParser();
+		System.out.println("tape: " + b.length + " bytes");
+		System.out.printf("%-32s %10.1f MB retained%n", "tape, JSONArray", retained(new Task() {
+			public Object run() throws Exception {
+				return parser.parse(b);
+			}
+		}) / (double) (1 << 20));
+		System.out.printf("%-32s %10.1f MB retained%n", "tape, JSONTape", retained(new Task() {
+			public Object run() throws Exception {
+				return JSONTape.parse(b);
+			}
+		}) / (double) (1 << 20));
+		bench("tape, parse JSONArray", b.length, 3, new Task() {
+			public Object run() throws Exception {
+				return parser.parse(b);
+			}
+		});
+		bench("tape, parse JSONTape", b.length, 3, new Task() {
+			public Object run() throws Exception {
+				return JSONTape.parse(b);
+			}
+		});
+		final java.util.List<?> list = (java.util.List<?>) parser.parse(b);
+		bench("tape, sum ids, JSONArray", b.length, 10, new Task() {
+			public Object run() {
+				long sum = 0;
+				for (Object record : list)
+					sum += ((Number) ((java.util.Map<?, ?>) record).get("id")).longValue();
+				return sum;
+			}
+		});
+		final JSONTape tape = JSONTape.parse(b);
+		bench("tape, sum ids, JSONTape", b.length, 10, new Task() {
+			public Object run() {
+				long sum = 0;
+				for (int record = tape.first(0); record != -1; record = tape.next(record))
+					sum += tape.getLong(tape.get(record, "id"));
+				return sum;
+			}
+		});
+	}
+
+	/**
+	 * A gateway reading one field of a request and passing the request on.
+	 */
+	static void lazy() throws Exception {
+		final String s = "{\"route\":\"/orders\",\"payload\":" + document(new Random(14), 2000) + "}";
+		final byte[] b = s.getBytes(StandardCharsets.UTF_8);
+		final JSONParser parser = new JSONParser();
+		final LazyJSONParser lazyParser = new LazyJSONParser();
+		System.out.println("lazy: " + b.length + " bytes");
+		bench("lazy, JSONParser", b.length, 200, new Task() {
+			public Object run() throws Exception {
+				java.util.Map<?, ?> request = (java.util.Map<?, ?>) parser.parse(b);
+				java.io.StringWriter out = new java.io.StringWriter(b.length);
+				JSONValue.writeJSONString(request, out);
+				return request.get("route");
+			}
+		});
+		bench("lazy, LazyJSONParser", b.length, 200, new Task() {
+			public Object run() throws Exception {
+				java.util.Map<?, ?> request = (java.util.Map<?, ?>) lazyParser.parse(b);
+				java.io.StringWriter out = new java.io.StringWriter(b.length);
+				JSONValue.writeJSONString(request, out);
+				return request.get("route");
+			}
+		});
+	}
+
+	static void limits() throws Exception {
+		final String s = document(new Random(15), 2000);
+		final JSONParser parser = new JSONParser();
+		final JSONParser limited = new JSONParser();
+		ParserLimits limits = new ParserLimits();
+		limits.setMaxDepth(64);
+		limits.setMaxLength(1 << 20);
+		limits.setMaxStringLength(4096);
+		limits.setMaxNumberLength(64);
+		limits.setMaxEntries(10000);
+		limits.setTimeout(10000);
+		limited.setLimits(limits);
+		bench("limits, none", s.length(), 200, new Task() {
+			public Object run() throws Exception {
+				return parser.parse(s);
+			}
+		});
+		bench("limits, all set", s.length(), 200, new Task() {
+			public Object run() throws Exception {
+				return limited.parse(s);
+			}
+		});
+
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 100000; i++)
+			sb.append('[');
+		final String deep = sb.toString();
+		sb.setLength(0);
+		sb.append("[\"");
+		for (int i = 0; i < 16 << 20; i++)
+			sb.append('x');
+		final String large = sb.append("\"]").toString();
+		for (final String name : new String[]{"deep", "large"}) {
+			final String bad = name.equals("deep") ? deep : large;
+			for (final JSONParser p : new JSONParser[]{parser, limited}) {
+				bench("limits, " + name + (p == limited ? ", limited" : ", none"), bad.length(), 10, new Task() {
+					public Object run() throws Exception {
+						try {
+							return p.parse(new StringReader(bad));
+						} catch (ParseException e) {
+							return e;
+						}
+					}
+				});
+			}
+		}
+	}
+
+	static void validate() throws Exception {
+		final String s = document(new Random(16), 2000);
+		final byte[] b = s.getBytes(StandardCharsets.UTF_8);
+		final JSONParser parser = new JSONParser();
+
+		// short malformed requests, as rejected on a hot path
+		final String bad = "{\"id\":42,\"name\":\"x\",";
+		final JSONParser stackless = new JSONParser();
+		stackless.setStacklessExceptions(true);
+		for (final JSONParser p : new JSONParser[]{parser, stackless}) {
+			bench(p == parser ? "validate, fail with stack" : "validate, fail stackless", bad.length(), 200000, new Task() {
+				public Object run() throws Exception {
+					try {
+						return p.parse(bad);
+					} catch (ParseException e) {
+						return e;
+					}
+				}
+			});
+		}
+		bench("validate, fail isValid", bad.length(), 200000, new Task() {
+			public Object run() throws Exception {
+				return JSONValidator.isValid(bad);
+			}
+		});
+		bench("validate, fail JSONReader", bad.length(), 200000, new Task() {
+			public Object run() throws Exception {
+				return String.valueOf(JSONReader.readObject(bad, true));
+			}
+		});
+
+		bench("validate, parse byte[]", b.length, 200, new Task() {
+			public Object run() throws Exception {
+				return parser.parse(b);
+			}
+		});
+		bench("validate, isValid byte[]", b.length, 200, new Task() {
+			public Object run() throws Exception {
+				return JSONValidator.isValid(b);
+			}
+		});
+	}
+
+	static void engine() throws Exception {
+		String small = document(new Random(17), 8);
+		String large = document(new Random(18), 100000);
+		final JSONParser lexer = new JSONParser();
+		final JSONParser direct = new JSONParser();
+		direct.setEngine(JSONParser.ENGINE_DIRECT);
+		for (final String s : new String[]{small, large}) {
+			String size = s == small ? "small" : "large";
+			int iterations = s == small ? 100000 : 5;
+			final char[] chars = s.toCharArray();
+			final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+			for (final JSONParser p : new JSONParser[]{lexer, direct}) {
+				String name = "engine, " + size + (p == lexer ? ", lexer " : ", direct ");
+				bench(name + "String", s.length(), iterations, new Task() {
+					public Object run() throws Exception {
+						return p.parse(s);
+					}
+				});
+				bench(name + "char[]", s.length(), iterations, new Task() {
+					public Object run() throws Exception {
+						return p.parse(chars);
+					}
+				});
+				bench(name + "byte[]", bytes.length, iterations, new Task() {
+					public Object run() throws Exception {
+						return p.parse(bytes);
+					}
+				});
+				bench(name + "handler", s.length(), iterations, new Task() {
+					public Object run() throws Exception {
+						FieldHandler handler = new FieldHandler(false);
+						p.parse(s, handler);
+						return handler.found;
+					}
+				});
+			}
+		}
+	}
+
+	/**
+	 * @return the growth of the used heap while the result of the task is held
+	 */
+	static long retained(Task task) throws Exception {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++)
+			System.gc();
+		long before = runtime.totalMemory() - runtime.freeMemory();
+		Object result = task.run();
+		for (int i = 0; i < 3; i++)
+			System.gc();
+		long after = runtime.totalMemory() - runtime.freeMemory();
+		if (result == null)
+			throw new AssertionError();
+		return after - before;
+	}
+
+	/**
+	 * Collects user.id, user.name and status, optionally skipping every other entry.
+	 */
+	static class FieldHandler implements ContentHandler {
+		final boolean skip;
+		final java.util.List<Object> found = new java.util.ArrayList<>();
+		String key;
+
+		FieldHandler(boolean skip) {
+			this.skip = skip;
+		}
+
+		public void startJSON() {
+		}
+
+		public void endJSON() {
+		}
+
+		public boolean startObject() {
+			return true;
+		}
+
+		public boolean endObject() {
+			return true;
+		}
+
+		public boolean skipObjectEntry(String key) {
+			return skip && !key.equals("user") && !key.equals("id") && !key.equals("name") && !key.equals("status");
+		}
+
+		public boolean startObjectEntry(String key) {
+			this.key = key;
+			return true;
+		}
+
+		public boolean endObjectEntry() {
+			key = null;
+			return true;
+		}
+
+		public boolean startArray() {
+			return true;
+		}
+
+		public boolean endArray() {
+			return true;
+		}
+
+		public boolean primitive(Object value) {
+			if ("id".equals(key) || "name".equals(key) || "status".equals(key))
+				found.add(value);
+			return true;
+		}
+	}
+
+	static void inputModes(String name, final String s, int iterations) throws Exception {
+		final JSONParser parser = new JSONParser();
+		final char[] chars = s.toCharArray();
+		bench(name + " Reader", s.length(), iterations, new Task() {
+			public Object run() throws Exception {
+				return parser.parse(new StringReader(s));
+			}
+		});
+		bench(name + " String", s.length(), iterations, new Task() {
+			public Object run() throws Exception {
+				return parser.parse(s);
+			}
+		});
+		bench(name + " char[]", s.length(), iterations, new Task() {
+			public Object run() throws Exception {
+				return parser.parse(chars);
+			}
+		});
+	}
+
+	/**
+	 * Runs the task for a warm-up round and then for the given number of iterations,
+	 * reporting the throughput in MB/s of input.
+	 */
+	static void bench(String name, long inputSize, int iterations, Task task) throws Exception {
+		Object sink = null;
+		for (int i = 0; i < iterations; i++)
+			sink = task.run();
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++)
+			sink = task.run();
+		long elapsed = System.nanoTime() - start;
+		double mbPerSecond = inputSize * (double) iterations / (1 << 20) / (elapsed / 1e9);
+		System.out.printf("%-32s %10.1f MB/s %12.1f us/op%s%n", name, mbPerSecond, elapsed / 1e3 / iterations,
+				sink == null ? " (null)" : "");
+	}
+
+	/**
+	 * An array of flat records with a mix of strings, integers, decimals and booleans.
+	 */
+	static String document(Random random, int records) {
+		StringBuilder sb = new StringBuilder();
+		sb.append('[');
+		for (int i = 0; i < records; i++) {
+			if (i > 0)
+				sb.append(',');
+			sb.append("{\"id\":").append(random.nextInt(1000000))
+					.append(",\"name\":\"user").append(random.nextInt(10000)).append('"')
+					.append(",\"email\":\"user").append(i).append("@example.com\"")
+					.append(",\"score\":").append(random.nextInt(10000) / 100.0)
+					.append(",\"active\":").append(random.nextBoolean())
+					.append(",\"tags\":[\"a\",\"b\",\"c\"]}");
+		}
+		sb.append(']');
+		return sb.toString();
+	}
+
+	/**
+	 * The records of document, one per line.
+	 */
+	static String ndjsonDocument(Random random, int records) {
+		String array = document(random, records);
+		return array.substring(1, array.length() - 1).replace("]},{", "]}\n{") + "\n";
+	}
+
+	/**
+	 * An array of objects with many short keys, a few of them escaped, and short values.
+	 */
+	static String keyHeavyDocument(Random random, int records) {
+		StringBuilder sb = new StringBuilder();
+		sb.append('[');
+		for (int i = 0; i < records; i++) {
+			if (i > 0)
+				sb.append(',');
+			sb.append('{');
+			for (int k = 0; k < 20; k++) {
+				if (k > 0)
+					sb.append(',');
+				sb.append("\"field_").append(k).append(k % 7 == 0 ? "\\t" : "").append("\":");
+				sb.append(k % 2 == 0 ? "\"v" + random.nextInt(100) + "\"" : String.valueOf(k % 3 == 0));
+			}
+			sb.append('}');
+		}
+		sb.append(']');
+		return sb.toString();
+	}
+
+	/**
+	 * An array of small arrays of integers and decimals, a document without any string token.
+	 */
+	static String numericDocument(Random random, int rows) {
+		StringBuilder sb = new StringBuilder();
+		sb.append('[');
+		for (int i = 0; i < rows; i++) {
+			if (i > 0)
+				sb.append(',');
+			sb.append('[').append(random.nextInt()).append(',').append(random.nextLong())
+					.append(',').append(random.nextDouble() * 1000).append(',').append(random.nextInt(100)).append(']');
+		}
+		sb.append(']');
+		return sb.toString();
+	}
+}
@@ -0,0 +1,61 @@
+package org.json.simple.parser;
+
+import junit.framework.TestCase;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+public class BytesTest extends TestCase {
+
+	private static final byte[] ALPHABET = "\"\\[]{},: a\n\u0000\u007f".getBytes();
+
+	public void testMasks() {
+		Random random = new Random(3);
+		byte[] b = new byte[8];
+		ByteBuffer words = ByteBuffer.wrap(b).order(ByteOrder.LITTLE_ENDIAN);
+		for (int n = 0; n < 100000; n++) {
+			for (int i = 0; i < b.length; i++)
+				b[i] = random.nextInt(4) == 0 ? (byte) random.nextInt(256) : ALPHABET[random.nextInt(ALPHABET.length)];
+			long word = words.getLong(0);
+			long quotes = 0;
+			long opening = 0;
+			long closing = 0;
+			long parity = 0;
+			boolean odd = false;
+			for (int i = 0; i < b.length; i++) {
+				long bit = 0x80L << (8 * i);
+				if (b[i] == '"') {
+					quotes |= bit;
+					odd = !odd;
+				}
+				if (b[i] == '[' || b[i] == '{')
+					opening |= bit;
+				if (b[i] == ']' || b[i] == '}')
+					closing |= bit;
+				if (odd)
+					parity |= bit;
+			}
+			assertEquals(quotes, Bytes.equal(word, Bytes.QUOTES));
+			assertEquals(opening, Bytes.opening(word));
+			assertEquals(closing, Bytes.closing(word));
+			assertEquals(parity, Bytes.prefixParity(quotes));
+		}
+	}
+
+	public void testIndexOfQuoteOrBackslash() {
+		Random random = new Random(5);
+		byte[] b = new byte[100];
+		ByteBuffer words = ByteBuffer.wrap(b).order(ByteOrder.LITTLE_ENDIAN);
+		for (int n = 0; n < 10000; n++) {
+			for (int i = 0; i < b.length; i++)
+				b[i] = random.nextInt(30) == 0 ? ALPHABET[random.nextInt(2)] : (byte) ('a' + random.nextInt(26));
+			int from = random.nextInt(b.length);
+			int to = from + random.nextInt(b.length - from + 1);
+			int expected = from;
+			while (expected < to && b[expected] != '"' && b[expected] != '\\')
+				expected++;
+			assertEquals(expected, Bytes.indexOfQuoteOrBackslash(words, from, to));
+		}
+	}
+}
@@ -0,0 +1,39 @@
+package org.json.simple.parser;
+
+/**
+ * Runs YylexTest with ENGINE_DIRECT as the default engine of every parser.
+ */
+public class DirectEngineYylexTest extends YylexTest {
+
+	protected void setUp() throws Exception {
+		JSONParser.setDefaultEngine(JSONParser.ENGINE_DIRECT);
+	}
+
+	protected void tearDown() throws Exception {
+		JSONParser.setDefaultEngine(JSONParser.ENGINE_LEXER);
+	}
+
+	/**
+	 * Scans Readers with Yylex itself, the direct engine is not involved.
+	 */
+	public void testYylex() {
+	}
+
+	/**
+	 * Measures the allocations of Yylex.
+	 */
+	public void testTokenAllocation() {
+	}
+
+	/**
+	 * Measures the buffers of Yylex.
+	 */
+	public void testBufferSize() {
+	}
+
+	/**
+	 * Checks the positions of Yylex itself, the direct engine is not involved.
+	 */
+	public void testPositionPast2GB() {
+	}
+}
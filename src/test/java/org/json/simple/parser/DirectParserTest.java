@@ -0,0 +1,418 @@
+package org.json.simple.parser;
+
+import junit.framework.TestCase;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+public class DirectParserTest extends TestCase {
+
+	private static String repeat(String s, int n) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < n; i++)
+			sb.append(s);
+		return sb.toString();
+	}
+
+	private static final String[] VALID = {
+			"{}", "[]", " [ ] ", "\t\r\n[\n1\n]\n", "0", "-0", "007", "-1.5e3", "1E+2", "1e-2", "2.5E400",
+			"12345678901234567890", "-9223372036854775808", "123456789012345678901234567890.5", "\"\"", "\"abc\"",
+			"true", "false", "null",
+			"[1,2.5,3]", "[1,9999999999]", "[1,2,\"x\",3.5]", "[[1,2],[3.5]]", "[1,[2],3.5]",
+			"{\"a\":[1,2,{\"b\":null}],\"c\":\"d\\\"e\\u00e9\\u00E9\\n\\/\\b\\f\\r\\t\\\\\"}",
+			"[\"2024-01-01T10:00:00.000Z\",\"2024-01-01T10:00:00\",\"2024-01-01T10:00:00+01:00[Europe/Paris]\"]",
+			"{\"2024-01-01T10:00:00Z\":\"2024-01-01T10:00:00Z\",\"a\\u0062\":\"\\u0032024-01-01T10:00:00Z\"}",
+			"{\"\u00e9\":\"\u4e2d\\u4e2d\",\"\uD83D\uDE00\":\"x\uD83D\uDE00\",\"k\\n\u00e9\":[\"\u00e9\\t\u00e9\"]}",
+			"[0,{\"1\":{\"2\":{\"3\":{\"4\":[5,{\"6\":7}]}}}}]",
+			"{\"first\": 123, \"second\": [{\"s1\":{\"s11\":\"v11\"}}, 4, 5, 6], \"third\": 789, \"id\": null}",
+			repeat("[", 100) + repeat("]", 100),
+			repeat("{\"a\":", 40) + "1" + repeat("}", 40),
+			// what the lexer and state machine let through
+			"[5,]", "[5,,2]", "[,1]", "{,\"a\":1,,}", "{\"a\"::1}", "{\"a\" 1}", "[truefalse]", "[1-2]",
+			"[\"a\"\"b\"]", "{\"a\":1\"b\":2}", "[\"a\tb\nc\"]",
+			// escapes the direct engine leaves to the lexer
+			"[\"\\x\"]", "[\"\\u12\"]", "[\"a\\u00\"]", "{\"\\q\":1}",
+	};
+
+	private static final String[] MALFORMED = {
+			"", " ", "{", "[", "[1,2", "{\"a\":}", "[1 2]x", "1 2", "{\"a\":1}}", "[1,]x", "nul", "tru", "falsy",
+			"\"abc", "{1:2}", "@", "[-]", "[1.]", "[1.e5]", "[1e]", "[.5]", "[1:2]", "{\"a\":1:}", "]", "[}", "{]",
+			"{\"a\",1}", "{\"a\":[1,2}", "[\"\\", "[\"a\\\"]", "{\"name\":", "{\"name\":}", "{\"name",
+			"[[null, 123.45, \"a\\\tb c\"}, true]", "{\"a\":{\"b\":[1,2,{\"c\":x}]}}", "[1]]", "[1] [2]",
+	};
+
+	private static final byte[][] MALFORMED_UTF8 = {
+			{'"', (byte) 0xC3, '"'},
+			{'[', '"', (byte) 0xC0, (byte) 0xAF, '"', ']'},
+			{'{', '"', (byte) 0xFF, '"', ':', '1', '}'},
+			{'[', '"', '\\', 'n', (byte) 0xE2, (byte) 0x82, '"', ']'},
+			{'[', '1', ',', (byte) 0xE2, ']'},
+	};
+
+	private static JSONParser parser(int engine) {
+		JSONParser parser = new JSONParser();
+		parser.setEngine(engine);
+		return parser;
+	}
+
+	/**
+	 * @return the value with the class of every part of it, or the error
+	 */
+	private static String describe(Object value) {
+		if (value instanceof Map) {
+			StringBuilder sb = new StringBuilder(value.getClass().getSimpleName()).append('{');
+			for (Object o : ((Map) value).entrySet()) {
+				Map.Entry e = (Map.Entry) o;
+				sb.append(describe(e.getKey())).append(':').append(describe(e.getValue())).append(',');
+			}
+			return sb.append('}').toString();
+		}
+		if (value instanceof List) {
+			StringBuilder sb = new StringBuilder(value.getClass().getSimpleName()).append('[');
+			for (Object o : (List) value)
+				sb.append(describe(o)).append(',');
+			return sb.append(']').toString();
+		}
+		if (value == null)
+			return "null";
+		return value.getClass().getSimpleName() + "(" + value + ")";
+	}
+
+	private static String error(ParseException e) {
+		return "error " + e.getErrorType() + " at " + e.getPosition() + ": " + e.getUnexpectedObject();
+	}
+
+	private static String parse(JSONParser parser, Object input, ContainerFactory containerFactory) {
+		try {
+			if (input instanceof String)
+				return describe(parser.parse((String) input, containerFactory));
+			if (input instanceof char[]) {
+				// in the middle of a larger array
+				char[] s = (char[]) input;
+				char[] padded = new char[s.length + 6];
+				System.arraycopy(s, 0, padded, 3, s.length);
+				padded[0] = padded[padded.length - 1] = '@';
+				return describe(parser.parse(padded, 3, s.length, containerFactory));
+			}
+			byte[] b = (byte[]) input;
+			byte[] padded = new byte[b.length + 6];
+			System.arraycopy(b, 0, padded, 3, b.length);
+			padded[0] = padded[padded.length - 1] = '@';
+			return describe(parser.parse(padded, 3, b.length, containerFactory));
+		} catch (ParseException e) {
+			return error(e);
+		}
+	}
+
+	private static List<Object> inputs() {
+		List<Object> inputs = new ArrayList<Object>();
+		for (String[] set : new String[][]{VALID, MALFORMED}) {
+			for (String s : set) {
+				inputs.add(s);
+				inputs.add(s.toCharArray());
+				inputs.add(s.getBytes(StandardCharsets.UTF_8));
+			}
+		}
+		for (byte[] b : MALFORMED_UTF8)
+			inputs.add(b);
+		return inputs;
+	}
+
+	private static String text(Object input) {
+		if (input instanceof String)
+			return (String) input;
+		if (input instanceof char[])
+			return new String((char[]) input);
+		return new String((byte[]) input, StandardCharsets.UTF_8) + " (bytes)";
+	}
+
+	public void testSameValuesAndErrors() {
+		JSONParser lexer = parser(JSONParser.ENGINE_LEXER);
+		JSONParser direct = parser(JSONParser.ENGINE_DIRECT);
+		for (Object input : inputs()) {
+			String expected = parse(lexer, input, null);
+			assertEquals(text(input), expected, parse(direct, input, null));
+		}
+		for (String s : VALID)
+			assertFalse(s, parse(direct, s, null).startsWith("error"));
+		for (String s : MALFORMED)
+			assertTrue(s, parse(direct, s, null).startsWith("error"));
+	}
+
+	public void testOptions() {
+		JSONSymbolTable symbolTable = new JSONSymbolTable();
+		ContainerFactory containerFactory = new ContainerFactory() {
+			public Map createObjectContainer() {
+				return new LinkedHashMap();
+			}
+
+			public List creatArrayContainer() {
+				return new LinkedList();
+			}
+		};
+		JSONParser[] parsers = {parser(JSONParser.ENGINE_LEXER), parser(JSONParser.ENGINE_DIRECT)};
+		for (JSONParser parser : parsers) {
+			parser.setSymbolTable(symbolTable);
+			parser.setLazyNumbers(true);
+			parser.setTemporalTypes();
+		}
+		for (Object input : inputs()) {
+			String expected = parse(parsers[0], input, containerFactory);
+			assertEquals(text(input), expected, parse(parsers[1], input, containerFactory));
+		}
+
+		// keys are the instances of the symbol table, for chars and bytes, escaped or not
+		JSONParser direct = parser(JSONParser.ENGINE_DIRECT);
+		direct.setSymbolTable(symbolTable);
+		String s = "[{\"key\":1,\"k\\u00e9y\":2,\"\u00e9\":3}]";
+		for (Object input : new Object[]{s, s.getBytes(StandardCharsets.UTF_8)}) {
+			Map object;
+			try {
+				object = (Map) ((List) (input instanceof String ? direct.parse((String) input) : direct.parse((byte[]) input))).get(0);
+			} catch (ParseException e) {
+				throw new RuntimeException(e);
+			}
+			for (Object key : object.keySet())
+				assertSame(symbolTable.intern((String) key), key);
+		}
+	}
+
+	/**
+	 * Records every callback with the position of the parser.
+	 */
+	private static class Recorder implements ContentHandler {
+		final JSONParser parser;
+		final List<String> events = new ArrayList<String>();
+		boolean stop;
+
+		Recorder(JSONParser parser) {
+			this.parser = parser;
+		}
+
+		private boolean add(String event) {
+			events.add(event + "@" + parser.getPosition());
+			return !stop;
+		}
+
+		public void startJSON() {
+			add("startJSON");
+		}
+
+		public void endJSON() {
+			add("endJSON");
+		}
+
+		public boolean startObject() {
+			return add("startObject");
+		}
+
+		public boolean endObject() {
+			return add("endObject");
+		}
+
+		public boolean startObjectEntry(String key) {
+			return add("startObjectEntry " + key);
+		}
+
+		public boolean endObjectEntry() {
+			return add("endObjectEntry");
+		}
+
+		public boolean startArray() {
+			return add("startArray");
+		}
+
+		public boolean endArray() {
+			return add("endArray");
+		}
+
+		public boolean primitive(Object value) {
+			return add("primitive " + describe(value));
+		}
+
+		public boolean skipObjectEntry(String key) {
+			return key.equals("skip");
+		}
+	}
+
+	private static List<String> handle(int engine, Object input, boolean stop) {
+		JSONParser parser = parser(engine);
+		Recorder recorder = new Recorder(parser);
+		recorder.stop = stop;
+		try {
+			if (input instanceof String) {
+				// the handler stops at every callback, each call resumes the parse
+				String s = (String) input;
+				parser.parse(s, recorder, false);
+				while (stop && !parser.isFinished())
+					parser.parse(s, recorder, true);
+			} else if (input instanceof char[]) {
+				parser.parse((char[]) input, recorder);
+			} else {
+				parser.parse((byte[]) input, recorder);
+			}
+		} catch (ParseException e) {
+			recorder.events.add(error(e));
+		}
+		return recorder.events;
+	}
+
+	public void testContentHandler() {
+		List<Object> inputs = inputs();
+		inputs.add("{\"a\":1,\"skip\":{\"b\":[1,{}]},\"c\":[\"skip\",{\"skip\":\"x\"}],\"skip\":2}");
+		inputs.add("{\"skip\":[1,2");
+		inputs.add("{\"skip\":}");
+		inputs.add("{\"skip\" 1}");
+		for (Object input : inputs) {
+			for (boolean stop : new boolean[]{false, true}) {
+				if (stop && !(input instanceof String))
+					continue;
+				List<String> expected = handle(JSONParser.ENGINE_LEXER, input, stop);
+				assertEquals(text(input), expected, handle(JSONParser.ENGINE_DIRECT, input, stop));
+			}
+		}
+	}
+
+	private static List<String> cursor(int engine, String s) {
+		JSONCursor cursor = new JSONCursor(parser(engine));
+		cursor.reset(s);
+		List<String> events = new ArrayList<String>();
+		try {
+			while (cursor.hasNext()) {
+				int event = cursor.next();
+				events.add(event + "@" + cursor.getPosition() + " " + describe(cursor.getValue()));
+				if (event == JSONCursor.KEY && cursor.getString().startsWith("skip")) {
+					cursor.skipValue();
+					events.add("skipped@" + cursor.getPosition());
+				} else if (event == JSONCursor.START_ARRAY && cursor.getDepth() == 3) {
+					cursor.skipChildren();
+					events.add("skipped@" + cursor.getPosition());
+				} else if (event == JSONCursor.KEY && cursor.getString().equals("read")) {
+					events.add(describe(cursor.readValue()) + "@" + cursor.getPosition());
+				}
+			}
+		} catch (Exception e) {
+			events.add(e.toString());
+		}
+		return events;
+	}
+
+	public void testCursor() {
+		String[] documents = {
+				"{\"a\":[1,[2,[3,[4]],5],6],\"skip\":{\"x\":[1,2]},\"read\":{\"y\":[\"z\"]},\"skip2\":3,\"b\":true}",
+				"[[[1,2],[3]],[[\"\\x\"],4]]",
+				"{\"skip\":[1,2}",
+				"{\"read\":[1,2}",
+				"[[[1,2]]]]",
+		};
+		for (String s : documents) {
+			assertEquals(s, cursor(JSONParser.ENGINE_LEXER, s), cursor(JSONParser.ENGINE_DIRECT, s));
+		}
+	}
+
+	private static List<String> values(int engine, String s) {
+		List<String> values = new ArrayList<String>();
+		try {
+			for (Iterator it = new JSONValueIterator(parser(engine), s); it.hasNext(); )
+				values.add(describe(it.next()));
+		} catch (RuntimeException e) {
+			values.add(e.getCause() instanceof ParseException ? error((ParseException) e.getCause()) : e.toString());
+		}
+		return values;
+	}
+
+	public void testSequence() {
+		String[] sequences = {
+				"", "  ", "1 2 3", "{\"a\":1} [2] \"3\" true null", "[1][2]", "truefalse12", "{\"a\":1}\n{\"b\":[2]}\n",
+				"[1] [\"\\x\"] [3]", "[1] [2 ", "1 } 2", "[1] @",
+		};
+		for (String s : sequences) {
+			List<String> expected = values(JSONParser.ENGINE_LEXER, s);
+			assertEquals(s, expected, values(JSONParser.ENGINE_DIRECT, s));
+		}
+	}
+
+	public void testLimitsUseTheLexer() throws Exception {
+		JSONParser parser = parser(JSONParser.ENGINE_DIRECT);
+		ParserLimits limits = new ParserLimits();
+		limits.setMaxDepth(3);
+		parser.setLimits(limits);
+		try {
+			parser.parse("{\"a\":[[{}]]}");
+			fail();
+		} catch (ParseException e) {
+			assertEquals(ParseException.ERROR_DEPTH_LIMIT, e.getErrorType());
+			assertEquals(7, e.getPosition());
+		}
+
+		// limits set in the middle of an input apply to the rest of it
+		parser.setLimits(null);
+		JSONCursor cursor = new JSONCursor(parser);
+		cursor.reset("[1,[[[2]]]]");
+		assertEquals(JSONCursor.START_ARRAY, cursor.next());
+		assertEquals(JSONCursor.VALUE, cursor.next());
+		limits.setMaxDepth(2);
+		parser.setLimits(limits);
+		try {
+			while (cursor.next() != JSONCursor.END_DOCUMENT) {
+			}
+			fail();
+		} catch (ParseException e) {
+			assertEquals(ParseException.ERROR_DEPTH_LIMIT, e.getErrorType());
+			assertEquals(5, e.getPosition());
+		}
+	}
+
+	public void testReset() throws Exception {
+		for (int engine : new int[]{JSONParser.ENGINE_LEXER, JSONParser.ENGINE_DIRECT}) {
+			JSONParser parser = parser(engine);
+			assertEquals(Arrays.asList(1), parser.parse("[1] "));
+			assertEquals(4, parser.getPosition());
+			try {
+				parser.parse("[1,2");
+				fail();
+			} catch (ParseException e) {
+				assertEquals(4, e.getPosition());
+			}
+			assertEquals("a", parser.parse("\"a\""));
+		}
+		JSONParser parser = parser(JSONParser.ENGINE_DIRECT);
+		parser.setEngine(JSONParser.ENGINE_LEXER);
+		assertEquals(2, parser.parse("2"));
+		try {
+			parser.setEngine(2);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+	}
+
+	public void testDefaultEngine() throws Exception {
+		assertEquals(JSONParser.ENGINE_LEXER, JSONParser.getDefaultEngine());
+		try {
+			JSONParser.setDefaultEngine(2);
+			fail();
+		} catch (IllegalArgumentException expected) {
+		}
+		JSONParser parser = new JSONParser();
+		JSONParser lexer = parser(JSONParser.ENGINE_LEXER);
+		JSONParserPool pool = JSONParserPool.getShared();
+		JSONParser pooled = pool.acquire();
+		JSONParser.setDefaultEngine(JSONParser.ENGINE_DIRECT);
+		try {
+			for (Object input : inputs()) {
+				String expected = parse(lexer, input, null);
+				assertEquals(text(input), expected, parse(parser, input, null));
+				assertEquals(text(input), expected, parse(pooled, input, null));
+			}
+		} finally {
+			JSONParser.setDefaultEngine(JSONParser.ENGINE_LEXER);
+			pool.release(pooled);
+		}
+	}
+}
@@ -0,0 +1,144 @@
+package org.json.simple.parser;
+
+import junit.framework.TestCase;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+public class JSONCursorTest extends TestCase {
+
+	public void testEvents() throws Exception {
+		String s = "{\"a\":[1,2.5,{\"b\":null}],\"c\":{},\"d\":\"x\",\"e\":true}";
+		int[] expected = {
+				JSONCursor.START_OBJECT,
+				JSONCursor.KEY, JSONCursor.START_ARRAY, JSONCursor.VALUE, JSONCursor.VALUE,
+				JSONCursor.START_OBJECT, JSONCursor.KEY, JSONCursor.VALUE, JSONCursor.END_OBJECT, JSONCursor.END_ARRAY,
+				JSONCursor.KEY, JSONCursor.START_OBJECT, JSONCursor.END_OBJECT,
+				JSONCursor.KEY, JSONCursor.VALUE,
+				JSONCursor.KEY, JSONCursor.VALUE,
+				JSONCursor.END_OBJECT, JSONCursor.END_DOCUMENT
+		};
+		byte[] b = s.getBytes(StandardCharsets.UTF_8);
+		JSONCursor[] cursors = {new JSONCursor(s), new JSONCursor(new StringReader(s)), new JSONCursor(b),
+				new JSONCursor(new ByteArrayInputStream(b))};
+		for (JSONCursor cursor : cursors) {
+			assertEquals(JSONCursor.NONE, cursor.currentEvent());
+			for (int event : expected)
+				assertEquals(event, cursor.next());
+			assertEquals(JSONCursor.END_DOCUMENT, cursor.next());
+			assertFalse(cursor.hasNext());
+		}
+
+		JSONCursor cursor = new JSONCursor(s);
+		cursor.next();
+		assertEquals(1, cursor.getDepth());
+		cursor.next();
+		assertEquals("a", cursor.getString());
+		cursor.next();
+		assertEquals(2, cursor.getDepth());
+		cursor.next();
+		assertEquals(1L, cursor.getLong());
+		assertEquals(1, cursor.getValue());
+		cursor.next();
+		assertEquals(2.5, cursor.getDouble());
+		try {
+			cursor.getString();
+			fail();
+		} catch (IllegalStateException expectedException) {
+		}
+		cursor.next();
+		cursor.next();
+		cursor.next();
+		assertTrue(cursor.isNull());
+	}
+
+	public void testSkipChildren() throws Exception {
+		JSONCursor cursor = new JSONCursor("[{\"skip\":[[1],{\"x\":[2]}]},{\"id\":7}]");
+		assertEquals(JSONCursor.START_ARRAY, cursor.next());
+		assertEquals(JSONCursor.START_OBJECT, cursor.next());
+		cursor.skipChildren();
+		assertEquals(JSONCursor.END_OBJECT, cursor.currentEvent());
+		assertEquals(2, cursor.getDepth());
+		assertEquals(JSONCursor.START_OBJECT, cursor.next());
+		assertEquals(JSONCursor.KEY, cursor.next());
+		assertEquals("id", cursor.getString());
+		cursor.next();
+		assertEquals(7, cursor.getInt());
+		// skipping a value is a no-op
+		cursor.skipChildren();
+		assertEquals(JSONCursor.VALUE, cursor.currentEvent());
+
+		// bail out early, then reuse the cursor
+		cursor.reset("{\"ok\":false}");
+		assertEquals(JSONCursor.START_OBJECT, cursor.next());
+		cursor.next();
+		cursor.next();
+		assertFalse(cursor.getBoolean());
+	}
+
+	public void testReadValue() throws Exception {
+		String inner = "{\"a\":[1,2.5,[3,4]],\"b\":{\"c\":\"d\"},\"e\":[]}";
+		JSONCursor cursor = new JSONCursor("{\"skip\":{\"x\":[1,2]},\"v\":" + inner + ",\"n\":5}");
+		cursor.next();
+		assertEquals(JSONCursor.KEY, cursor.next());
+		cursor.skipValue();
+		cursor.skipValue();
+		assertEquals("skip", cursor.getString());
+		assertEquals(JSONCursor.KEY, cursor.next());
+		assertEquals(new JSONParser().parse(inner), cursor.readValue());
+		assertEquals(JSONCursor.END_OBJECT, cursor.currentEvent());
+		assertEquals(JSONCursor.KEY, cursor.next());
+		assertEquals(5, cursor.readValue());
+		assertEquals(JSONCursor.END_OBJECT, cursor.next());
+		assertEquals(JSONCursor.END_DOCUMENT, cursor.next());
+
+		// a missing colon or repeated colons, as the parser takes them
+		for (String text : new String[]{"{\"a\" 1, \"b\":2}", "{\"a\"::1, \"b\":2}"}) {
+			cursor.reset(text);
+			cursor.next();
+			cursor.next();
+			cursor.skipValue();
+			assertEquals(JSONCursor.KEY, cursor.next());
+			assertEquals("b", cursor.getString());
+			assertEquals(2, cursor.readValue());
+		}
+	}
+
+	public void testErrors() throws Exception {
+		JSONCursor cursor = new JSONCursor("[1,}");
+		assertEquals(JSONCursor.START_ARRAY, cursor.next());
+		assertEquals(JSONCursor.VALUE, cursor.next());
+		try {
+			cursor.next();
+			fail();
+		} catch (ParseException e) {
+			assertEquals(ParseException.ERROR_UNEXPECTED_TOKEN, e.getErrorType());
+			assertEquals(3, e.getPosition());
+		}
+
+		cursor.reset("5 6");
+		assertEquals(JSONCursor.VALUE, cursor.next());
+		try {
+			cursor.next();
+			fail();
+		} catch (ParseException e) {
+			assertEquals(ParseException.ERROR_UNEXPECTED_TOKEN, e.getErrorType());
+		}
+
+		// the end of input reached while skipping is reported with a token of its own
+		cursor.reset("[[1,2");
+		assertEquals(JSONCursor.START_ARRAY, cursor.next());
+		assertEquals(JSONCursor.START_ARRAY, cursor.next());
+		try {
+			cursor.skipChildren();
+			fail();
+		} catch (ParseException e) {
+			assertEquals(ParseException.ERROR_UNEXPECTED_TOKEN, e.getErrorType());
+			assertEquals(5, e.getPosition());
+			Yytoken token = (Yytoken) e.getUnexpectedObject();
+			assertEquals(Yytoken.TYPE_EOF, token.type);
+			assertNotSame(Yytoken.EOF, token);
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package org.json.simple.parser;
+
+import junit.framework.TestCase;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONNumber;
+import org.json.simple.JSONObject;
+import org.json.simple.JSONValue;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class JSONParserPoolTest extends TestCase {
+
+	public void testReuse() throws Exception {
+		JSONParserPool pool = new JSONParserPool(2, 1024);
+		JSONParser parser = pool.acquire();
+		parser.setLazyNumbers(true);
+		assertTrue(((JSONArray) parser.parse("[1]")).get(0) instanceof JSONNumber);
+		pool.release(parser);
+
+		// the same parser comes back in its default configuration
+		JSONParser again = pool.acquire();
+		assertSame(parser, again);
+		assertEquals(1, ((JSONArray) again.parse("[1]")).get(0));
+
+		// a document larger than the buffer limit does not break later parses
+		StringBuilder sb = new StringBuilder("[\"");
+		for (int i = 0; i < 100000; i++)
+			sb.append('x');
+		String big = sb.append("\"]").toString();
+		assertEquals(100000, ((String) ((JSONArray) again.parse(new StringReader(big))).get(0)).length());
+		pool.release(again);
+		assertEquals(Arrays.asList(1, 2), pool.parse("[1,2]"));
+		assertEquals(new JSONObject<String, Object>() {{
+			put("a", true);
+		}}, pool.parse(new StringReader("{\"a\":true}")));
+
+		// parse errors give the parser back too
+		try {
+			pool.parse("[1,");
+			fail();
+		} catch (ParseException expected) {
+		}
+		assertSame(parser, pool.acquire());
+		assertNotSame(parser, pool.acquire());
+	}
+
+	public void testConcurrent() throws Exception {
+		final AtomicReference<Throwable> failure = new AtomicReference<>();
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 8; t++) {
+			final int id = t;
+			Thread thread = new Thread(new Runnable() {
+				public void run() {
+					try {
+						for (int i = 0; i < 2000; i++) {
+							String s = "{\"thread\":" + id + ",\"i\":[" + i + ",\"" + i + "\"]}";
+							JSONObject object = (JSONObject) JSONValue.parseWithException(s);
+							assertEquals(id, object.get("thread"));
+							assertEquals(Arrays.asList(i, String.valueOf(i)), object.get("i"));
+						}
+					} catch (Throwable e) {
+						failure.compareAndSet(null, e);
+					}
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads)
+			thread.join();
+		if (failure.get() != null)
+			throw new AssertionError(failure.get());
+	}
+}
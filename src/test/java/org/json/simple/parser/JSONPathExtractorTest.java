@@ -0,0 +1,80 @@
+package org.json.simple.parser;
+
+import junit.framework.TestCase;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public class JSONPathExtractorTest extends TestCase {
+
+	public void testExtract() throws Exception {
+		String s = "{\"user\":{\"id\":7,\"name\":\"ann\",\"tags\":[\"a\",\"b\"]},"
+				+ "\"items\":[{\"sku\":\"x1\",\"qty\":1},{\"qty\":2},{\"sku\":\"x3\",\"qty\":2.5}],"
+				+ "\"big\":{\"deep\":[[[1,2,{\"sku\":\"no\"}]]]},\"last\":null}";
+		JSONPathExtractor extractor = new JSONPathExtractor("$.user.id", "$.items[*].sku", "$.items[*].qty",
+				"$.user", "$['user'].tags[1]", "$.missing", "$.last", "$.items[1]");
+		byte[] b = s.getBytes(StandardCharsets.UTF_8);
+		JSONObject[] results = {extractor.extract(s), extractor.extract(b), extractor.extract(new StringReader(s)),
+				extractor.extract(new ByteArrayInputStream(b))};
+		for (JSONObject result : results) {
+			System.out.println(result);
+			assertEquals(7, result.get("$.user.id"));
+			assertEquals(Arrays.asList("x1", "x3"), result.get("$.items[*].sku"));
+			// the matches of a wildcard keep their own types, they are not a parsed list
+			assertEquals(Arrays.asList(1, 2, 2.5), result.get("$.items[*].qty"));
+			assertEquals(new JSONParser().parse("{\"id\":7,\"name\":\"ann\",\"tags\":[\"a\",\"b\"]}"), result.get("$.user"));
+			assertEquals("b", result.get("$['user'].tags[1]"));
+			assertFalse(result.containsKey("$.missing"));
+			assertTrue(result.containsKey("$.last"));
+			assertNull(result.get("$.last"));
+			assertEquals(new JSONParser().parse("{\"qty\":2}"), result.get("$.items[1]"));
+		}
+
+		JSONObject all = new JSONPathExtractor("$").extract("[1,2.5]");
+		assertEquals(Arrays.asList(1.0, 2.5), all.get("$"));
+		assertTrue(new JSONPathExtractor("$.a[*]").extract("{\"a\":{}}").get("$.a[*]") instanceof JSONArray);
+
+		// skipped entries take a missing colon or repeated colons like the parser
+		JSONPathExtractor second = new JSONPathExtractor("$.b");
+		assertEquals(2, second.extract("{\"a\" 1, \"b\":2}").get("$.b"));
+		assertEquals(2, second.extract("{\"a\"::1, \"b\":2}").get("$.b"));
+	}
+
+	public void testStopsEarly() throws Exception {
+		final String head = "{\"id\":1,\"name\":\"x\",\"rest\":[";
+		InputStream in = new InputStream() {
+			int pos;
+
+			public int read() throws IOException {
+				if (pos < head.length())
+					return head.charAt(pos++);
+				throw new IOException("read past the requested paths");
+			}
+		};
+		JSONObject result = new JSONPathExtractor("$.id", "$.name").extract(in);
+		assertEquals(1, result.get("$.id"));
+		assertEquals("x", result.get("$.name"));
+	}
+
+	public void testMalformed() throws Exception {
+		String[] paths = {"user", "$.", "$[", "$[x]", "$[-1]", "$..a", "$a"};
+		for (String path : paths) {
+			try {
+				new JSONPathExtractor(path);
+				fail(path);
+			} catch (IllegalArgumentException expected) {
+			}
+		}
+		try {
+			new JSONPathExtractor("$.a.b").extract("{\"a\":{\"c\":[1,}}");
+			fail();
+		} catch (ParseException expected) {
+		}
+	}
+}
@@ -0,0 +1,205 @@
+package org.json.simple.parser;
+
+import junit.framework.TestCase;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public class JSONPushParserTest extends TestCase {
+
+	/**
+	 * Records the events as text; stops after every event when stopping is set.
+	 */
+	private static class Recorder implements ContentHandler {
+		final StringBuilder events = new StringBuilder();
+		boolean stopping;
+
+		public void startJSON() {
+			events.append("startJSON ");
+		}
+
+		public void endJSON() {
+			events.append("endJSON");
+		}
+
+		public boolean startObject() {
+			events.append("{ ");
+			return !stopping;
+		}
+
+		public boolean endObject() {
+			events.append("} ");
+			return !stopping;
+		}
+
+		public boolean startObjectEntry(String key) {
+			events.append(key).append(": ");
+			return !stopping;
+		}
+
+		public boolean endObjectEntry() {
+			return true;
+		}
+
+		public boolean startArray() {
+			events.append("[ ");
+			return !stopping;
+		}
+
+		public boolean endArray() {
+			events.append("] ");
+			return !stopping;
+		}
+
+		public boolean primitive(Object value) {
+			events.append(value == null ? "null" : value.getClass().getSimpleName() + "(" + value + ")").append(' ');
+			return !stopping;
+		}
+
+		public boolean skipObjectEntry(String key) {
+			return key.equals("skipped");
+		}
+	}
+
+	private static final String[] DOCUMENTS = {
+			"{\"a\":[1,-2.5e3,true,false,null],\"b\":{\"c\":\"d\\\"e\\u00e9\\n\"},\"ü€😀\":12345678901234567890}",
+			" [ \"éé\" , 123 , {} , [] ] ",
+			"123456",
+			"\"text 中文\"",
+			"-0.000123",
+			"true",
+	};
+
+	private static String parse(String s) throws ParseException {
+		Recorder recorder = new Recorder();
+		new JSONParser().parse(s, recorder);
+		return recorder.events.toString();
+	}
+
+	public void testSplitAnywhere() throws Exception {
+		for (String s : DOCUMENTS) {
+			System.out.println("push: " + s);
+			String expected = parse(s);
+			byte[] b = s.getBytes(StandardCharsets.UTF_8);
+			for (int split = 0; split <= b.length; split++) {
+				Recorder recorder = new Recorder();
+				JSONPushParser parser = new JSONPushParser(recorder);
+				assertEquals(JSONPushParser.NEED_INPUT, parser.feed(b, 0, split));
+				assertEquals(JSONPushParser.NEED_INPUT, parser.feed(ByteBuffer.wrap(b, split, b.length - split)));
+				assertEquals(JSONPushParser.FINISHED, parser.end());
+				assertEquals(expected, recorder.events.toString());
+				assertEquals(b.length, parser.getPosition());
+			}
+
+			// a byte at a time, through a small buffer that has to move and grow
+			JSONParser small = new JSONParser();
+			small.setBufferSize(4);
+			Recorder recorder = new Recorder();
+			JSONPushParser parser = new JSONPushParser(small, recorder);
+			for (byte x : b)
+				assertEquals(JSONPushParser.NEED_INPUT, parser.feed(new byte[]{x}));
+			assertEquals(JSONPushParser.FINISHED, parser.end());
+			assertEquals(expected, recorder.events.toString());
+		}
+	}
+
+	public void testIncomplete() throws Exception {
+		Recorder recorder = new Recorder();
+		JSONPushParser parser = new JSONPushParser(recorder);
+		assertEquals(JSONPushParser.NEED_INPUT, parser.feed("{\"a\":[1,".getBytes(StandardCharsets.UTF_8)));
+		assertEquals("startJSON { a: [ Integer(1) ", recorder.events.toString());
+		try {
+			parser.end();
+			fail();
+		} catch (ParseException e) {
+			assertEquals(ParseException.ERROR_UNEXPECTED_TOKEN, e.getErrorType());
+		}
+
+		parser = new JSONPushParser(new Recorder());
+		parser.feed("[1]".getBytes(StandardCharsets.UTF_8));
+		try {
+			parser.feed(" x".getBytes(StandardCharsets.UTF_8));
+			fail();
+		} catch (ParseException e) {
+			assertEquals(4, e.getPosition());
+		}
+
+		parser = new JSONPushParser(new Recorder());
+		parser.feed("\"é".getBytes(StandardCharsets.UTF_8), 0, 2);
+		try {
+			parser.end();
+			fail();
+		} catch (ParseException e) {
+			assertEquals(ParseException.ERROR_UNEXPECTED_TOKEN, e.getErrorType());
+		}
+
+		parser = new JSONPushParser(new Recorder());
+		parser.feed("1".getBytes(StandardCharsets.UTF_8));
+		assertEquals(JSONPushParser.FINISHED, parser.end());
+		try {
+			parser.feed(new byte[1]);
+			fail();
+		} catch (IllegalStateException expected) {
+		}
+		parser.reset();
+		parser.feed("[]".getBytes(StandardCharsets.UTF_8));
+		assertEquals(JSONPushParser.FINISHED, parser.end());
+	}
+
+	public void testStop() throws Exception {
+		String s = "{\"a\":[1,\"x\"],\"b\":{}}";
+		byte[] b = s.getBytes(StandardCharsets.UTF_8);
+		Recorder recorder = new Recorder();
+		recorder.stopping = true;
+		JSONPushParser parser = new JSONPushParser(recorder);
+		int stops = 0;
+		int status = parser.feed(b, 0, 9);
+		while (status == JSONPushParser.STOPPED) {
+			stops++;
+			status = parser.feed(b, 0, 0);
+		}
+		assertEquals(JSONPushParser.NEED_INPUT, status);
+		status = parser.feed(b, 9, b.length - 9);
+		while (status == JSONPushParser.STOPPED) {
+			stops++;
+			status = parser.feed(new byte[0]);
+		}
+		status = parser.end();
+		while (status == JSONPushParser.STOPPED) {
+			stops++;
+			status = parser.end();
+		}
+		assertEquals(JSONPushParser.FINISHED, status);
+		assertEquals(10, stops);
+		assertEquals(parse(s), recorder.events.toString());
+	}
+
+	public void testNoSkipWhileFeeding() throws Exception {
+		String s = "{\"skipped\":[1,{\"x\":2}],\"kept\":3}";
+		Recorder recorder = new Recorder();
+		JSONPushParser parser = new JSONPushParser(recorder);
+		parser.feed(s.getBytes(StandardCharsets.UTF_8));
+		parser.end();
+		assertEquals("startJSON { skipped: [ Integer(1) { x: Integer(2) } ] kept: Integer(3) } endJSON",
+				recorder.events.toString());
+	}
+
+	public void testDirectBuffer() throws IOException, ParseException {
+		String s = DOCUMENTS[0];
+		byte[] b = s.getBytes(StandardCharsets.UTF_8);
+		ByteBuffer direct = ByteBuffer.allocateDirect(b.length);
+		direct.put(b).flip();
+		Recorder recorder = new Recorder();
+		JSONPushParser parser = new JSONPushParser(recorder);
+		ByteBuffer first = direct.duplicate();
+		first.limit(7);
+		parser.feed(first);
+		assertEquals(7, first.position());
+		direct.position(7);
+		parser.feed(direct);
+		assertFalse(direct.hasRemaining());
+		parser.end();
+		assertEquals(parse(s), recorder.events.toString());
+	}
+}
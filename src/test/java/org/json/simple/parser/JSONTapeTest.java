@@ -0,0 +1,117 @@
+package org.json.simple.parser;
+
+import junit.framework.TestCase;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+
+public class JSONTapeTest extends TestCase {
+
+	private static final String DOCUMENT = "{\"user\":{\"id\":7,\"name\":\"ann\",\"tags\":[\"a\",\"b\"]},"
+			+ "\"items\":[{\"sku\":\"x1\",\"qty\":1},{\"qty\":2},{\"sku\":\"x3\",\"qty\":2.5}],"
+			+ "\"numbers\":[1,-2,3000000000,-4.5e300,12345678901234567890],\"flags\":[true,false,null],"
+			+ "\"when\":\"2024-01-01T10:00:00.000Z\",\"empty\":{},\"none\":[],\"text\":\"é😀\\\"\\n\",\"id\":1,\"id\":2}";
+
+	public void testSameAsParser() throws Exception {
+		String[] documents = {DOCUMENT, "[]", "{}", "1", "-2.5", "\"s\"", "null", "true", "[[[[1]],[2.5,3]]]",
+				"[1,2.5,\"x\",3]", "{\"2024-01-01\":\"2024-01-01\"}"};
+		JSONParser parser = new JSONParser();
+		for (String s : documents) {
+			Object expected = parser.parse(s);
+			byte[] b = s.getBytes(StandardCharsets.UTF_8);
+			JSONTape[] tapes = {JSONTape.parse(s), JSONTape.parse(b), JSONTape.parse(new StringReader(s)),
+					JSONTape.parse(new ByteArrayInputStream(b))};
+			for (JSONTape tape : tapes) {
+				assertEquals(s, expected, tape.getValue());
+				if (expected != null)
+					assertEquals(s, expected.getClass(), tape.getValue().getClass());
+			}
+		}
+		System.out.println(JSONTape.parse(DOCUMENT).getValue());
+	}
+
+	public void testAccessors() throws Exception {
+		JSONTape tape = JSONTape.parse(DOCUMENT);
+		assertEquals(JSONTape.OBJECT, tape.getType(0));
+		// both entries of the repeated key
+		assertEquals(10, tape.size(0));
+		assertEquals(7, tape.getLong("$.user.id"));
+		assertEquals("ann", tape.getString("$.user.name"));
+		assertEquals("b", tape.getString("$.user.tags[1]"));
+		assertNull(tape.getString("$.user.tags[2]"));
+		assertNull(tape.getValue("$.missing.deeper"));
+		assertEquals(2, tape.getLong("$.id"));
+		assertEquals("é😀\"\n", tape.getString("$.text"));
+		assertEquals(new JSONParser().parse("{\"id\":7,\"name\":\"ann\",\"tags\":[\"a\",\"b\"]}"), tape.getObject("$.user"));
+		assertEquals(3, tape.getArray("$.items").size());
+		try {
+			tape.getLong("$.missing");
+			fail();
+		} catch (NoSuchElementException e) {
+		}
+		try {
+			tape.find("$.items[*]");
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+
+		StringBuilder skus = new StringBuilder();
+		double qty = 0;
+		for (int item = tape.first(tape.find("$.items")); item != -1; item = tape.next(item)) {
+			int sku = tape.get(item, "sku");
+			if (sku != -1)
+				skus.append(tape.getString(sku));
+			qty += tape.getDouble(tape.get(item, "qty"));
+		}
+		assertEquals("x1x3", skus.toString());
+		assertEquals(5.5, qty, 0);
+
+		StringBuilder keys = new StringBuilder();
+		for (int node = tape.first(0); node != -1; node = tape.next(node))
+			keys.append(tape.getKey(node)).append(' ');
+		assertEquals("user items numbers flags when empty none text id id ", keys.toString());
+
+		int numbers = tape.find("$.numbers");
+		assertEquals(5, tape.size(numbers));
+		assertEquals(JSONTape.NUMBER, tape.getType(tape.get(numbers, 0)));
+		assertEquals(-2, tape.getLong(tape.get(numbers, 1)));
+		assertEquals(3000000000L, tape.getLong(tape.get(numbers, 2)));
+		assertEquals(-4.5e300, tape.getDouble(tape.get(numbers, 3)), 0);
+		assertEquals(JSONTape.NUMBER, tape.getType(tape.get(numbers, 4)));
+		assertEquals(-1, tape.get(numbers, 5));
+		assertEquals(-1, tape.get(numbers, -1));
+		int flags = tape.find("$.flags");
+		assertTrue(tape.getBoolean(tape.get(flags, 0)));
+		assertFalse(tape.getBoolean(tape.get(flags, 1)));
+		assertTrue(tape.isNull(tape.get(flags, 2)));
+		assertEquals(JSONTape.OTHER, tape.getType(tape.find("$.when")));
+		assertEquals(-1, tape.first(tape.find("$.empty")));
+		assertEquals(0, tape.size(tape.find("$.none")));
+		assertTrue(tape.getValue("$.none") instanceof JSONArray);
+		assertTrue(tape.getValue("$.empty") instanceof JSONObject);
+	}
+
+	public void testBuilder() throws Exception {
+		JSONParser parser = new JSONParser();
+		parser.setTemporalTypes();
+		JSONTape.Builder builder = new JSONTape.Builder();
+		parser.parse("{\"when\":\"2024-01-01T10:00:00.000Z\"}", builder);
+		assertEquals(JSONTape.STRING, builder.getTape().getType(builder.getTape().find("$.when")));
+		parser.parse("[1,2]", builder);
+		assertEquals(2, builder.getTape().size(0));
+		try {
+			parser.parse("[1,", builder);
+			fail();
+		} catch (ParseException e) {
+		}
+		try {
+			builder.getTape();
+			fail();
+		} catch (IllegalStateException e) {
+		}
+	}
+}
@@ -0,0 +1,108 @@
+package org.json.simple.parser;
+
+import junit.framework.TestCase;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+public class JSONValidatorTest extends TestCase {
+
+	private static final String[] VALID = {
+			"{}", "[]", " [ ] ", "0", "-1.5e3", "\"\"", "true", "null",
+			"{\"a\":[1,2,{\"b\":null}],\"c\":\"d\\\"e\\u00e9\\n\"}",
+			"[\"2024-01-01T10:00:00.000Z\",123456789012345678901234567890,1e400]",
+			"[[[[[[[[[[1]]]]]]]]]]",
+			"{\"\u00e9\":\"\u4e2d\"}",
+			"{\"a\":\"2020-02-30T00:00:00.000+01:00[Europe/Paris]\",\"b\":\"2020-01-01T10:00:00.000+01:00[Nowhere/Else]\"}",
+			"[\"2020-13-01T00:00:00.000\",\"2020-01-01T25:00:00.000Z\",1e999999999,-1e-999999999]",
+	};
+
+	private static final String[] INVALID = {
+			"", " ", "{", "[1,2", "{\"a\":}", "[1 2]x", "1 2", "{\"a\":1}}", "[1,]x", "nul", "\"abc",
+			"{1:2}", "[\"a\nb\"x", "@", "[1e99999999999]", "-1e-99999999999",
+	};
+
+	public void testStrings() throws Exception {
+		for (String s : VALID) {
+			assertTrue(s, JSONValidator.isValid(s));
+			assertTrue(s, JSONValidator.isValid(new StringBuilder(s)));
+			assertTrue(s, JSONValidator.isValid(s.getBytes(StandardCharsets.UTF_8)));
+			assertTrue(s, JSONValidator.isValid(new StringReader(s)));
+		}
+		for (String s : INVALID) {
+			System.out.println("invalid: " + s);
+			assertFalse(s, JSONValidator.isValid(s));
+			assertFalse(s, JSONValidator.isValid(s.getBytes(StandardCharsets.UTF_8)));
+			assertFalse(s, JSONValidator.isValid(new StringReader(s)));
+		}
+	}
+
+	public void testSameAsParser() throws Exception {
+		JSONParser parser = new JSONParser();
+		for (String[] set : new String[][]{VALID, INVALID}) {
+			for (String s : set) {
+				boolean parsed;
+				try {
+					parser.parse(s);
+					parsed = true;
+				} catch (ParseException e) {
+					parsed = false;
+				}
+				assertEquals(s, parsed, JSONValidator.isValid(s));
+			}
+		}
+	}
+
+	public void testMalformedUtf8() {
+		assertTrue(JSONValidator.isValid(new byte[]{'"', (byte) 0xC3, (byte) 0xA9, '"'}));
+		assertFalse(JSONValidator.isValid(new byte[]{'"', (byte) 0xC3, '"'}));
+		assertFalse(JSONValidator.isValid(new byte[]{'[', '"', (byte) 0xC0, (byte) 0xAF, '"', ']'}));
+		assertFalse(JSONValidator.isValid(new byte[]{'{', '"', (byte) 0xFF, '"', ':', '1', '}'}));
+	}
+
+	public void testPooledParserIsRestored() throws Exception {
+		assertFalse(JSONValidator.isValid("[1,"));
+		JSONParser parser = JSONParserPool.getShared().acquire();
+		try {
+			assertEquals("a", parser.parse("\"a\""));
+			try {
+				parser.parse("[1,");
+				fail();
+			} catch (ParseException e) {
+				assertTrue(e.getStackTrace().length > 0);
+			}
+		} finally {
+			JSONParserPool.getShared().release(parser);
+		}
+	}
+
+	public void testStacklessExceptions() throws Exception {
+		JSONParser parser = new JSONParser();
+		parser.setStacklessExceptions(true);
+		String[] malformed = {"[1,", "@", "{\"a\" 1]"};
+		for (String s : malformed) {
+			try {
+				parser.parse(s);
+				fail(s);
+			} catch (ParseException e) {
+				System.out.println(e.getMessage());
+				assertEquals(0, e.getStackTrace().length);
+			}
+		}
+		try {
+			parser.parse(new byte[]{'"', (byte) 0xFF, '"'});
+			fail();
+		} catch (ParseException e) {
+			assertEquals(ParseException.ERROR_UNEXPECTED_CHAR, e.getErrorType());
+			assertEquals(1, e.getPosition());
+			assertEquals(0, e.getStackTrace().length);
+		}
+		parser.setStacklessExceptions(false);
+		try {
+			parser.parse("[1,");
+			fail();
+		} catch (ParseException e) {
+			assertTrue(e.getStackTrace().length > 0);
+		}
+	}
+}
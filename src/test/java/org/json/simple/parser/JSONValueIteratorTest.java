@@ -0,0 +1,97 @@
+package org.json.simple.parser;
+
+import junit.framework.TestCase;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class JSONValueIteratorTest extends TestCase {
+
+	private static List<Object> all(JSONValueIterator values) {
+		List<Object> list = new ArrayList<>();
+		while (values.hasNext())
+			list.add(values.next());
+		return list;
+	}
+
+	public void testConcatenated() throws Exception {
+		String s = "{\"a\":1}\n[1,2]  \"x\" 12 -3.5 true null{}[]\n{\n  \"pretty\": [\n    1\n  ]\n}\n\n";
+		String expected = "[{\"a\":1}, [1,2], x, 12, -3.5, true, null, {}, [], {\"pretty\":[1]}]";
+		byte[] b = s.getBytes(StandardCharsets.UTF_8);
+		JSONValueIterator[] iterators = {new JSONValueIterator(s), new JSONValueIterator(new StringReader(s)),
+				new JSONValueIterator(new ByteArrayInputStream(b))};
+		for (JSONValueIterator values : iterators) {
+			List<Object> list = all(values);
+			System.out.println(list);
+			assertEquals(expected, list.toString());
+			assertFalse(values.hasNext());
+		}
+
+		assertEquals(0, all(new JSONValueIterator(" \n ")).size());
+		assertEquals("[[], {}]", new JSONValueIterator("[]{}").stream().collect(Collectors.toList()).toString());
+	}
+
+	public void testMalformed() throws Exception {
+		JSONValueIterator values = new JSONValueIterator("{\"a\":1}\n{\"a\":}\n{\"a\":3}");
+		assertEquals("{\"a\":1}", values.next().toString());
+		try {
+			values.next();
+			fail();
+		} catch (RuntimeException e) {
+			assertTrue(e.getCause() instanceof ParseException);
+		}
+		assertFalse(values.hasNext());
+	}
+
+	public void testSkipMalformed() throws Exception {
+		String s = "{\"id\":1}\n"
+				+ "{\"id\":2,\n"                  // cut short by the end of its line
+				+ "{\"id\":3}\n"
+				+ "{\"id\":\"unterminated\n"      // line feed inside a string
+				+ "{\"id\":4} {\"id\":5}\n"       // two values on one line
+				+ "\r\n"
+				+ "  {\"id\":6}  \r\n"
+				+ "{\"id\":7]\n"                  // unexpected token inside the line
+				+ "{\"id\": x}\n"                 // unexpected char
+				+ "{\"id\":8}\n"
+				+ "{\"id\":";                     // truncated at the end of input
+		byte[] b = s.getBytes(StandardCharsets.UTF_8);
+		JSONValueIterator[] iterators = {new JSONValueIterator(s), new JSONValueIterator(new StringReader(s)),
+				new JSONValueIterator(new ByteArrayInputStream(b))};
+		for (JSONValueIterator values : iterators) {
+			values.setSkipMalformed(true);
+			List<Object> list = all(values);
+			System.out.println(list);
+			assertEquals("[{\"id\":1}, {\"id\":3}, {\"id\":6}, {\"id\":8}]", list.toString());
+			assertEquals(6, values.getSkippedCount());
+		}
+
+		// a small buffer makes the lines cross refills
+		JSONParser parser = new JSONParser();
+		parser.setBufferSize(3);
+		JSONValueIterator values = new JSONValueIterator(parser, new StringReader(s));
+		values.setSkipMalformed(true);
+		assertEquals(4, all(values).size());
+		assertEquals(6, values.getSkippedCount());
+
+		// the parser is back to normal afterwards
+		assertEquals("[1,2]", parser.parse("[1,\n2]").toString());
+	}
+
+	public void testImpossibleDateTime() throws Exception {
+		String s = "\"2020-02-30T00:00:00.000+01:00[Europe/Paris]\"\n{\"ok\":1}\n{\"at\":\"2020-13-01T00:00:00.000\"}\n{\"bad\":\n";
+		byte[] b = s.getBytes(StandardCharsets.UTF_8);
+		JSONValueIterator[] iterators = {new JSONValueIterator(s), new JSONValueIterator(b),
+				new JSONValueIterator(new ByteArrayInputStream(b))};
+		for (JSONValueIterator values : iterators) {
+			values.setSkipMalformed(true);
+			List<Object> list = all(values);
+			assertEquals("[2020-02-30T00:00:00.000+01:00[Europe/Paris], {\"ok\":1}, {\"at\":\"2020-13-01T00:00:00.000\"}]", list.toString());
+			assertEquals(1, values.getSkippedCount());
+		}
+	}
+}
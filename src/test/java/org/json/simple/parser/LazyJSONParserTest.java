@@ -0,0 +1,130 @@
+package org.json.simple.parser;
+
+import junit.framework.TestCase;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+public class LazyJSONParserTest extends TestCase {
+
+	private static final String DOCUMENT = "{\"route\":\"/orders\", \"payload\" : { \"items\" : [ {\"sku\":\"é😀\",\"qty\":1},"
+			+ " {\"qty\":2.5} ], \"note\":\"a\\\"b\\u00e9\" , \"deep\":[[[1],[2,3.5]]]}, \"list\":[1, 2.5, \"x\"], \"n\":null}";
+
+	public void testSameAsParser() throws Exception {
+		String[] documents = {DOCUMENT, "[]", "{}", "[[],{}]", "7", "\"s\"", "[1, 2.5]", "[[1, 2.5], [3]]",
+				"{\"2024-01-01T10:00:00.000Z\":\"2024-01-01T10:00:00.000Z\"}"};
+		JSONParser parser = new JSONParser();
+		LazyJSONParser lazy = new LazyJSONParser();
+		for (String s : documents) {
+			Object expected = parser.parse(s);
+			assertEquals(s, expected, lazy.parse(s));
+			assertEquals(s, expected, lazy.parse(s.getBytes(StandardCharsets.UTF_8)));
+			assertEquals(s, expected, lazy.parse(s.toCharArray()));
+		}
+	}
+
+	public void testLazyAccess() throws Exception {
+		for (Object parsed : new Object[]{new LazyJSONParser().parse(DOCUMENT),
+				new LazyJSONParser().parse(DOCUMENT.getBytes(StandardCharsets.UTF_8))}) {
+			LazyJSONObject document = (LazyJSONObject) parsed;
+			assertTrue(document.isParsed());
+			assertEquals("/orders", document.getString("route"));
+			LazyJSONObject payload = (LazyJSONObject) document.get("payload");
+			assertFalse(payload.isParsed());
+
+			// untouched values are written as they were read
+			String payloadText = DOCUMENT.substring(DOCUMENT.indexOf("{ \"items\""), DOCUMENT.indexOf(", \"list\""));
+			assertEquals(payloadText, payload.toJSONString());
+			assertEquals(payloadText, payload.toString());
+			StringWriter out = new StringWriter();
+			document.writeJSONString(out);
+			System.out.println(out);
+			assertTrue(out.toString().contains("\"payload\":" + payloadText));
+			assertFalse(payload.isParsed());
+
+			assertEquals("a\"bé", payload.getString("note"));
+			assertTrue(payload.isParsed());
+			LazyJSONArray items = (LazyJSONArray) payload.get("items");
+			LazyJSONArray deep = (LazyJSONArray) payload.get("deep");
+			assertFalse(items.isParsed());
+			assertEquals("é😀", ((JSONObject) items.get(0)).get("sku"));
+			assertEquals("[[[1],[2,3.5]]]", deep.toJSONString());
+			assertFalse(deep.isParsed());
+
+			// changes are written
+			items.add(3);
+			payload.remove("deep");
+			assertEquals(new JSONParser().parse("{\"items\":[{\"sku\":\"é😀\",\"qty\":1},{\"qty\":2.5},3],\"note\":\"a\\\"bé\"}"),
+					new JSONParser().parse(payload.toJSONString()));
+		}
+	}
+
+	public void testMalformedContent() throws Exception {
+		LazyJSONObject document = (LazyJSONObject) new LazyJSONParser().parse("{\"ok\":1,\"bad\":{\"a\":}}");
+		assertEquals(1, document.get("ok"));
+		JSONObject bad = (JSONObject) document.get("bad");
+		for (int i = 0; i < 2; i++) {
+			try {
+				bad.size();
+				fail();
+			} catch (RuntimeException e) {
+				assertTrue(e.getCause() instanceof ParseException);
+			}
+		}
+		assertEquals("{\"a\":}", bad.toJSONString());
+
+		// errors inside a nested container are at their position in the document, as with JSONParser
+		String[] nested = {"{\"a\":1,\"b\":{\"c\":tru}}", "[[}1]"};
+		int[] positions = {16, 2};
+		for (int i = 0; i < nested.length; i++) {
+			try {
+				new JSONParser().parse(nested[i]);
+				fail(nested[i]);
+			} catch (ParseException e) {
+				assertEquals(nested[i], positions[i], e.getPosition());
+			}
+			Object parsed = new LazyJSONParser().parse(nested[i]);
+			Object inner = parsed instanceof Map ? ((Map) parsed).get("b") : ((List) parsed).get(0);
+			try {
+				if (inner instanceof Map)
+					((Map) inner).size();
+				else
+					((List) inner).size();
+				fail(nested[i]);
+			} catch (RuntimeException e) {
+				assertEquals(nested[i], positions[i], ((ParseException) e.getCause()).getPosition());
+			}
+		}
+
+		String[] invalid = {"{\"a\":1", "[1,2", "{\"a\":[1,2}", "[1] 2", ""};
+		for (String s : invalid) {
+			try {
+				new LazyJSONParser().parse(s);
+				fail(s);
+			} catch (ParseException e) {
+				System.out.println(s + ": " + e);
+			}
+		}
+	}
+
+	public void testSerializable() throws Exception {
+		JSONObject document = (JSONObject) new LazyJSONParser().parse(DOCUMENT);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(document);
+		}
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			Object copy = in.readObject();
+			assertEquals(new JSONParser().parse(DOCUMENT), copy);
+			assertTrue(((JSONObject) copy).get("list") instanceof JSONArray);
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package org.json.simple.parser;
+
+import junit.framework.TestCase;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+public class MappedFileInputStreamTest extends TestCase {
+
+	private File file;
+
+	protected void setUp() throws Exception {
+		file = File.createTempFile("document", ".json");
+	}
+
+	protected void tearDown() throws Exception {
+		file.delete();
+	}
+
+	public void testWindows() throws Exception {
+		byte[] b = new byte[1000];
+		for (int i = 0; i < b.length; i++)
+			b[i] = (byte) i;
+		Files.write(file.toPath(), b);
+		for (long windowSize : new long[]{1, 7, 999, 1000, MappedFileInputStream.WINDOW_SIZE}) {
+			try (MappedFileInputStream in = new MappedFileInputStream(file.toPath(), windowSize)) {
+				assertEquals(1000, in.available());
+				ByteArrayOutputStream out = new ByteArrayOutputStream();
+				out.write(in.read());
+				byte[] chunk = new byte[13];
+				for (int n = in.read(chunk, 0, chunk.length); n >= 0; n = in.read(chunk, 0, chunk.length))
+					out.write(chunk, 0, n);
+				assertEquals(-1, in.read());
+				assertTrue(java.util.Arrays.equals(b, out.toByteArray()));
+			}
+		}
+	}
+
+	public void testParsePath() throws Exception {
+		String s = "{\"name\":\"é😀\",\"list\":[1,2.5,true,null],\"nested\":{\"k\":\"v\"}}";
+		Files.write(file.toPath(), s.getBytes(StandardCharsets.UTF_8));
+		JSONParser parser = new JSONParser();
+		assertEquals(parser.parse(s), parser.parse(file.toPath()));
+
+		// tokens split across windows
+		parser.setBufferSize(5);
+		try (MappedFileInputStream in = new MappedFileInputStream(file.toPath(), 3)) {
+			assertEquals(parser.parse(s), parser.parse(in));
+		}
+
+		KeyCollector keys = new KeyCollector();
+		parser.parse(file.toPath(), keys);
+		assertEquals("name list nested k ", keys.keys.toString());
+
+		Files.write(file.toPath(), new byte[0]);
+		try {
+			parser.parse(file.toPath());
+			fail();
+		} catch (ParseException e) {
+			assertEquals(ParseException.ERROR_UNEXPECTED_TOKEN, e.getErrorType());
+		}
+	}
+
+	private static class KeyCollector implements ContentHandler {
+		final StringBuilder keys = new StringBuilder();
+
+		public void startJSON() {
+		}
+
+		public void endJSON() {
+		}
+
+		public boolean startObject() {
+			return true;
+		}
+
+		public boolean endObject() {
+			return true;
+		}
+
+		public boolean startObjectEntry(String key) {
+			keys.append(key).append(' ');
+			return true;
+		}
+
+		public boolean endObjectEntry() {
+			return true;
+		}
+
+		public boolean startArray() {
+			return true;
+		}
+
+		public boolean endArray() {
+			return true;
+		}
+
+		public boolean primitive(Object value) {
+			return true;
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package org.json.simple.parser;
+
+import junit.framework.TestCase;
+import org.json.simple.JSONObject;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+public class NDJSONFileParserTest extends TestCase {
+
+	private File file;
+
+	protected void setUp() throws Exception {
+		file = File.createTempFile("records", ".ndjson");
+	}
+
+	protected void tearDown() throws Exception {
+		file.delete();
+	}
+
+	private void write(String s) throws Exception {
+		Files.write(file.toPath(), s.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public void testForEachAndStream() throws Exception {
+		StringBuilder sb = new StringBuilder();
+		List<Object> expected = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			sb.append("{\"id\":").append(i).append(",\"name\":\"né").append(i).append("\"}\n");
+			if (i % 100 == 0)
+				sb.append('\n');
+		}
+		write(sb.toString());
+		JSONValueIterator sequential = new JSONValueIterator(sb.toString());
+		while (sequential.hasNext())
+			expected.add(sequential.next());
+
+		for (int chunkSize : new int[]{1, 100, 1000, NDJSONFileParser.DEFAULT_CHUNK_SIZE}) {
+			NDJSONFileParser parser = new NDJSONFileParser(file.toPath());
+			parser.setChunkSize(chunkSize);
+			ExecutorService executor = Executors.newFixedThreadPool(4);
+			parser.setExecutor(executor);
+			final AtomicLong sum = new AtomicLong();
+			long count = parser.forEach(record -> sum.addAndGet(((Number) ((JSONObject) record).get("id")).longValue()));
+			executor.shutdown();
+			assertEquals(1000, count);
+			assertEquals(999 * 1000 / 2, sum.get());
+
+			List<Object> ordered = parser.stream(true).collect(Collectors.toList());
+			assertEquals(expected, ordered);
+			assertEquals(1000, parser.stream(false).count());
+		}
+	}
+
+	public void testMalformed() throws Exception {
+		write("{\"id\":1}\n{\"id\":2}\n{\"id\":\n{\"id\":4}\nnull\n");
+		NDJSONFileParser parser = new NDJSONFileParser(file.toPath());
+		parser.setChunkSize(10);
+		try {
+			parser.forEach(record -> {
+			});
+			fail();
+		} catch (ParseException e) {
+			System.out.println(e);
+			// the range holding the cut line runs on into the next line
+			assertEquals(34, e.getPosition());
+			// the error within the range is kept as the cause
+			assertTrue(e.getCause() instanceof ParseException);
+			assertEquals(e.getErrorType(), ((ParseException) e.getCause()).getErrorType());
+		}
+
+		parser.setSkipMalformed(true);
+		final List<Object> records = new ArrayList<>();
+		assertEquals(4, parser.forEach(record -> {
+			synchronized (records) {
+				records.add(record);
+			}
+		}));
+		assertEquals(1, parser.getSkippedCount());
+		assertTrue(records.contains(null));
+
+		// a string shaped like a date time that is not one is a valid record
+		write("{\"id\":1}\n\"2020-02-30T00:00:00.000+01:00[Europe/Paris]\"\n{\"id\":\n");
+		records.clear();
+		assertEquals(2, parser.forEach(record -> {
+			synchronized (records) {
+				records.add(record);
+			}
+		}));
+		assertEquals(2, parser.getSkippedCount());
+		assertTrue(records.contains("2020-02-30T00:00:00.000+01:00[Europe/Paris]"));
+
+		write("");
+		assertEquals(0, parser.forEach(record -> fail()));
+	}
+}
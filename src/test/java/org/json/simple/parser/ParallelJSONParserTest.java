@@ -0,0 +1,121 @@
+package org.json.simple.parser;
+
+import junit.framework.TestCase;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class ParallelJSONParserTest extends TestCase {
+
+	private static String document(Random random, boolean object, int count) {
+		StringBuilder sb = new StringBuilder(object ? "{ " : "[ ");
+		for (int i = 0; i < count; i++) {
+			if (i > 0)
+				sb.append(random.nextBoolean() ? "," : " ,\n ");
+			if (object)
+				sb.append(i % 7 == 0 ? "\"2024-01-0" + (i % 9 + 1) + "\"" : "\"k\\\"" + i + "\"").append(" : ");
+			switch (i % 6) {
+			case 0:
+				sb.append(i);
+				break;
+			case 1:
+				sb.append("\"a,b:c[d]{e}\\\\\\\" ").append(i).append("\\\\\"");
+				break;
+			case 2:
+				sb.append("{\"x\":[1,2.5,{\"y\":\"]\"}],\"z\":null}");
+				break;
+			case 3:
+				sb.append("[\"\\\\\",true,false,\"é😀\"]");
+				break;
+			case 4:
+				sb.append(random.nextLong());
+				break;
+			default:
+				sb.append("\"2024-01-01T10:00:00Z\"");
+			}
+		}
+		return sb.append(object ? " }\n" : "]").toString();
+	}
+
+	public void testSameAsSequential() throws Exception {
+		Random random = new Random(42);
+		JSONParser sequential = new JSONParser();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			for (boolean object : new boolean[]{false, true}) {
+				String s = document(random, object, 500);
+				byte[] b = s.getBytes(StandardCharsets.UTF_8);
+				Object expected = sequential.parse(s);
+				for (int chunkSize : new int[]{1, 2, 3, 17, 100, 1000, ParallelJSONParser.DEFAULT_CHUNK_SIZE}) {
+					ParallelJSONParser parser = new ParallelJSONParser();
+					parser.setChunkSize(chunkSize);
+					parser.setExecutor(executor);
+					assertEquals(expected, parser.parse(b));
+				}
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		// numbers of the top-level array are unified across groups
+		ParallelJSONParser parser = new ParallelJSONParser();
+		parser.setChunkSize(2);
+		String s = "[1, 2, 3, 4.5, 6, \"x\", 7]";
+		assertEquals(sequential.parse(s), parser.parse(s.getBytes(StandardCharsets.UTF_8)));
+		assertEquals(Double.class, ((java.util.List) parser.parse(s.getBytes(StandardCharsets.UTF_8))).get(0).getClass());
+	}
+
+	public void testSequentialFallback() throws Exception {
+		ParallelJSONParser parser = new ParallelJSONParser();
+		parser.setChunkSize(2);
+		JSONParser sequential = new JSONParser();
+		String[] valid = {"[]", "{}", " [ ] ", "[[1],[2]]", "{\"a\":{\"b\":[1,2]},\"a\":3}", "\"[1,2]\"", "12345", "[\"\\\\\",\"\\\"\"]"};
+		for (String s : valid)
+			assertEquals(s, sequential.parse(s), parser.parse(s.getBytes(StandardCharsets.UTF_8)));
+
+		String[] invalid = {"[1,,2]", "[1 2]", "{\"a\" 1}", "{\"a\":1,}", "[1,2", "{\"a\":1]", "[\"a]", "{1:2}", "[1]]"};
+		for (String s : invalid) {
+			ParseException expected = null;
+			try {
+				sequential.parse(s);
+			} catch (ParseException e) {
+				expected = e;
+			}
+			try {
+				Object value = parser.parse(s.getBytes(StandardCharsets.UTF_8));
+				assertNull(s, expected);
+				assertEquals(s, sequential.parse(s), value);
+			} catch (ParseException e) {
+				System.out.println(s + ": " + e);
+				assertNotNull(s, expected);
+				assertEquals(s, expected.getErrorType(), e.getErrorType());
+				assertEquals(s, expected.getPosition(), e.getPosition());
+			}
+		}
+	}
+
+	public void testParsePath() throws Exception {
+		File file = File.createTempFile("document", ".json");
+		try {
+			String s = document(new Random(7), false, 300);
+			Files.write(file.toPath(), s.getBytes(StandardCharsets.UTF_8));
+			ParallelJSONParser parser = new ParallelJSONParser();
+			parser.setChunkSize(64);
+			assertEquals(new JSONParser().parse(s), parser.parse(file.toPath()));
+
+			Files.write(file.toPath(), "[1,".getBytes(StandardCharsets.UTF_8));
+			try {
+				parser.parse(file.toPath());
+				fail();
+			} catch (ParseException e) {
+				assertEquals(ParseException.ERROR_UNEXPECTED_TOKEN, e.getErrorType());
+			}
+		} finally {
+			file.delete();
+		}
+	}
+}
@@ -0,0 +1,231 @@
+package org.json.simple.parser;
+
+import junit.framework.TestCase;
+import org.json.simple.JSONArray;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public class ParserLimitsTest extends TestCase {
+
+	private static String repeat(String s, int n) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < n; i++)
+			sb.append(s);
+		return sb.toString();
+	}
+
+	private static JSONParser parser(ParserLimits limits) {
+		JSONParser parser = new JSONParser();
+		parser.setLimits(limits);
+		return parser;
+	}
+
+	private static void assertFails(int errorType, int position, JSONParser parser, String s) {
+		try {
+			parser.parse(s);
+			fail(s);
+		} catch (ParseException e) {
+			System.out.println(e.getMessage());
+			assertEquals(errorType, e.getErrorType());
+			assertEquals(position, e.getPosition());
+		}
+	}
+
+	public void testDepth() throws Exception {
+		ParserLimits limits = new ParserLimits();
+		limits.setMaxDepth(3);
+		JSONParser parser = parser(limits);
+		assertEquals(Arrays.asList(Arrays.asList(Arrays.asList(1)), Arrays.asList(2)), parser.parse("[[[1]],[2]]"));
+		assertFails(ParseException.ERROR_DEPTH_LIMIT, 7, parser, "{\"a\":[[{}]]}");
+
+		// a deeply nested document fails at the first bracket over the limit
+		limits.setMaxDepth(64);
+		parser.setLimits(limits);
+		assertFails(ParseException.ERROR_DEPTH_LIMIT, 64, parser, repeat("[", 100000));
+
+		// content handler parses count the same brackets
+		try {
+			parser.parse(repeat("[", 65) + repeat("]", 65), new JSONTape.Builder());
+			fail();
+		} catch (ParseException e) {
+			assertEquals(ParseException.ERROR_DEPTH_LIMIT, e.getErrorType());
+		}
+		JSONTape.Builder builder = new JSONTape.Builder();
+		parser.parse(repeat("[", 64) + repeat("]", 64), builder);
+	}
+
+	public void testSkippedContainers() throws Exception {
+		ParserLimits limits = new ParserLimits();
+		limits.setMaxDepth(2);
+		JSONParser parser = parser(limits);
+		JSONCursor cursor = new JSONCursor(parser);
+		cursor.reset("[[[1]],[[2]],[3]]");
+		assertEquals(JSONCursor.START_ARRAY, cursor.next());
+		for (int i = 0; i < 3; i++) {
+			assertEquals(JSONCursor.START_ARRAY, cursor.next());
+			cursor.skipChildren();
+		}
+		assertEquals(JSONCursor.END_ARRAY, cursor.next());
+	}
+
+	public void testLength() throws Exception {
+		ParserLimits limits = new ParserLimits();
+		limits.setMaxLength(10);
+		JSONParser parser = parser(limits);
+		assertEquals(Arrays.asList(1, 2, 3, 4), parser.parse("[1,2,3,4]"));
+		assertFails(ParseException.ERROR_LENGTH_LIMIT, 0, parser, "[1,2,3,4,5]");
+
+		// a stream fails once it has read past the limit
+		limits.setMaxLength(1000);
+		parser.setLimits(limits);
+		parser.setBufferSize(64);
+		byte[] big = ("[" + repeat("1,", 1000) + "1]").getBytes(StandardCharsets.UTF_8);
+		try {
+			parser.parse(new ByteArrayInputStream(big));
+			fail();
+		} catch (ParseException e) {
+			assertEquals(ParseException.ERROR_LENGTH_LIMIT, e.getErrorType());
+			assertTrue(e.getPosition() <= 1000);
+		}
+		// also within one long token
+		try {
+			parser.parse(new StringReader(repeat(" ", 100000) + "1"));
+			fail();
+		} catch (ParseException e) {
+			assertEquals(ParseException.ERROR_LENGTH_LIMIT, e.getErrorType());
+		}
+	}
+
+	public void testStringLength() throws Exception {
+		ParserLimits limits = new ParserLimits();
+		limits.setMaxStringLength(4);
+		JSONParser parser = parser(limits);
+		assertEquals(Arrays.asList("abcd", ""), parser.parse("[\"abcd\",\"\"]"));
+		assertFails(ParseException.ERROR_STRING_LENGTH_LIMIT, 5, parser, "{\"a\":\"abcde\"}");
+		// escapes count as written
+		assertFails(ParseException.ERROR_STRING_LENGTH_LIMIT, 1, parser, "[\"a\\nbc\"]");
+		assertFails(ParseException.ERROR_STRING_LENGTH_LIMIT, 1, parser, "[\"abcde\"]".getBytes(StandardCharsets.UTF_8));
+
+		// a long string from a stream fails before it is buffered
+		limits.setMaxStringLength(1000);
+		parser.setLimits(limits);
+		parser.setBufferSize(64);
+		try {
+			parser.parse(new StringReader("[\"" + repeat("x", 1000000) + "\"]"));
+			fail();
+		} catch (ParseException e) {
+			assertEquals(ParseException.ERROR_STRING_LENGTH_LIMIT, e.getErrorType());
+			assertEquals(1, e.getPosition());
+		}
+		assertEquals(1000, ((String) ((JSONArray) parser.parse(new StringReader("[\"" + repeat("x", 1000) + "\"]"))).get(0)).length());
+	}
+
+	private static void assertFails(int errorType, int position, JSONParser parser, byte[] b) {
+		try {
+			parser.parse(b);
+			fail();
+		} catch (ParseException e) {
+			assertEquals(errorType, e.getErrorType());
+			assertEquals(position, e.getPosition());
+		}
+	}
+
+	public void testNumberLength() throws Exception {
+		ParserLimits limits = new ParserLimits();
+		limits.setMaxNumberLength(5);
+		JSONParser parser = parser(limits);
+		assertEquals(Arrays.asList(12345, 1), parser.parse("[12345,1]"));
+		assertEquals(-1.25, parser.parse("-1.25"));
+		assertFails(ParseException.ERROR_NUMBER_LENGTH_LIMIT, 1, parser, "[123456]");
+		assertFails(ParseException.ERROR_NUMBER_LENGTH_LIMIT, 5, parser, "{\"a\":1.2e100}");
+
+		parser.setBufferSize(16);
+		try {
+			parser.parse(new StringReader("[" + repeat("9", 100000) + "]"));
+			fail();
+		} catch (ParseException e) {
+			assertEquals(ParseException.ERROR_NUMBER_LENGTH_LIMIT, e.getErrorType());
+		}
+	}
+
+	public void testEntries() throws Exception {
+		ParserLimits limits = new ParserLimits();
+		limits.setMaxEntries(3);
+		JSONParser parser = parser(limits);
+		assertEquals(Arrays.asList(Arrays.asList(1, 2, 3), Arrays.asList(4, 5, 6), 7), parser.parse("[[1,2,3],[4,5,6],7]"));
+		assertFails(ParseException.ERROR_ENTRIES_LIMIT, 19, parser, "[[1,2,3],[4,5,6],7,8]");
+		assertFails(ParseException.ERROR_ENTRIES_LIMIT, 22, parser, "{\"a\":1,\"b\":2,\"c\":{},\"d\":4}");
+		// nested containers count separately
+		assertFails(ParseException.ERROR_ENTRIES_LIMIT, 10, parser, "[1,[2,3,4,5]]");
+		// entries are counted, not commas, so extra commas do not count
+		assertEquals(Arrays.asList(1, 2, 3), parser.parse("[1,2,3,]"));
+		assertEquals(Arrays.asList(1, 2, 3), parser.parse("[,1,,2,,3,,]"));
+		assertEquals(3, ((java.util.Map) parser.parse("{\"a\":1,,\"b\":2,\"c\":3,}")).size());
+		assertFails(ParseException.ERROR_ENTRIES_LIMIT, 7, parser, "[1,2,3,4,]");
+	}
+
+	public void testDeadline() throws Exception {
+		ParserLimits limits = new ParserLimits();
+		limits.setTimeout(5);
+		limits.setDeadlineInterval(1);
+		JSONParser parser = parser(limits);
+		parser.setBufferSize(4);
+		// a reader that trickles in its input
+		StringReader slow = new StringReader("[" + repeat("1,", 1000) + "1]") {
+			public int read(char[] cbuf, int off, int len) throws IOException {
+				try {
+					Thread.sleep(1);
+				} catch (InterruptedException e) {
+					throw new IOException(e);
+				}
+				return super.read(cbuf, off, len);
+			}
+		};
+		long start = System.nanoTime();
+		try {
+			parser.parse(slow);
+			fail();
+		} catch (ParseException e) {
+			System.out.println(e.getMessage());
+			assertEquals(ParseException.ERROR_DEADLINE, e.getErrorType());
+			assertEquals(5L, e.getUnexpectedObject());
+		}
+		assertTrue(System.nanoTime() - start < 1000000000L);
+
+		// the deadline starts again with the next input
+		assertEquals(Arrays.asList(1, 2), parser.parse("[1,2]"));
+	}
+
+	public void testRelease() throws Exception {
+		JSONParserPool pool = new JSONParserPool(1, 1024);
+		JSONParser parser = pool.acquire();
+		ParserLimits limits = new ParserLimits();
+		limits.setMaxDepth(1);
+		limits.setMaxLength(5);
+		parser.setLimits(limits);
+		assertFails(ParseException.ERROR_DEPTH_LIMIT, 1, parser, "[[]]");
+		pool.release(parser);
+		assertSame(parser, pool.acquire());
+		assertEquals(Arrays.asList(Arrays.asList(1)), parser.parse("[[1]]"));
+	}
+
+	public void testInvalidLimits() {
+		ParserLimits limits = new ParserLimits();
+		try {
+			limits.setMaxDepth(0);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			limits.setTimeout(-1);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		assertEquals(Integer.MAX_VALUE, limits.getMaxDepth());
+		assertEquals(0, limits.getTimeout());
+	}
+}
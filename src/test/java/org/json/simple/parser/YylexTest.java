@@ -6,7 +6,12 @@ import org.json.simple.JSONObject;
 import org.json.simple.reader.JSONReader;
 import org.json.simple.writer.JSONWriter;
 
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
 import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
 public class YylexTest extends TestCase {
 
@@ -73,6 +78,434 @@ public class YylexTest extends TestCase {
 	}
 
 
+	public void testUtf8() throws Exception {
+		String s = "{\"k\u00e9y\":[\"\u043f\u0440\u0438\u0432\u0435\u0442\",\"\ud83d\ude00 \\u4e2d\",-12.5e3,true,null],\"\u4e2d\":\"a\\\"b\"}";
+		byte[] b = s.getBytes(StandardCharsets.UTF_8);
+		JSONParser parser = new JSONParser();
+		Object expected = parser.parse(s);
+
+		assertEquals(expected, parser.parse(b));
+		assertEquals(expected, parser.parse(new ByteArrayInputStream(b)));
+		assertEquals(expected, parser.parse(ByteBuffer.wrap(b)));
+		ByteBuffer direct = ByteBuffer.allocateDirect(b.length);
+		direct.put(b).flip();
+		assertEquals(expected, parser.parse(direct));
+		assertEquals(0, direct.position());
+
+		// one byte per read() forces a refill inside every multi-byte sequence
+		assertEquals(expected, parser.parse(new FilterInputStream(new ByteArrayInputStream(b)) {
+			public int read(byte[] buf, int off, int len) throws IOException {
+				return super.read(buf, off, Math.min(len, 1));
+			}
+		}));
+
+		byte[] padded = new byte[b.length + 4];
+		System.arraycopy(b, 0, padded, 2, b.length);
+		assertEquals(expected, parser.parse(padded, 2, b.length, null));
+
+		assertMalformed(new byte[]{'"', (byte) 0xC3, '"'}, 1);
+		assertMalformed(new byte[]{'"', (byte) 0xC0, (byte) 0x80, '"'}, 1);
+		assertMalformed(new byte[]{'"', (byte) 0xED, (byte) 0xA0, (byte) 0x80, '"'}, 2);
+		assertMalformed(new byte[]{'"', 'a', (byte) 0xF4, (byte) 0x90, (byte) 0x80, (byte) 0x80, '"'}, 3);
+		assertMalformed(new byte[]{'[', (byte) 0xE4, (byte) 0xB8, (byte) 0xAD, ']'}, 1);
+	}
+
+	public void testInMemory() throws Exception {
+		String s = "{\"a\":[1,2.5,\"x\\ty\"],\"b\":{\"c\":null}}";
+		JSONParser parser = new JSONParser();
+		Object expected = parser.parse(new StringReader(s));
+
+		assertEquals(expected, parser.parse(s));
+		assertEquals(expected, parser.parse(new StringBuilder(s)));
+		char[] chars = ("  " + s + "]]").toCharArray();
+		char[] copy = chars.clone();
+		assertEquals(expected, parser.parse(chars, 2, s.length(), null));
+		assertTrue(java.util.Arrays.equals(copy, chars));
+
+		// a reader parse after an in-place parse must not write into the caller's array
+		assertEquals(expected, parser.parse(new StringReader(s)));
+		assertTrue(java.util.Arrays.equals(copy, chars));
+
+		ParseException err = null;
+		try {
+			parser.parse(chars, 2, s.length() + 1, null);
+		} catch (ParseException e) {
+			err = e;
+			assertEquals(s.length(), e.getPosition());
+		}
+		assertNotNull(err);
+	}
+
+	public void testStrings() throws Exception {
+		String[] values = {"", "plain", "a\\\\b", "\\n", "tail\\t", "\\u00e9t\\u00E9", "п\\\"р", "x\\/y\\/z"};
+		String[] expected = {"", "plain", "a\\b", "\n", "tail\t", "été", "п\"р", "x/y/z"};
+		StringBuilder sb = new StringBuilder("[");
+		for (int i = 0; i < values.length; i++)
+			sb.append(i > 0 ? "," : "").append('"').append(values[i]).append('"');
+		String s = sb.append(']').toString();
+		byte[] b = s.getBytes(StandardCharsets.UTF_8);
+
+		JSONParser parser = new JSONParser();
+		java.util.List[] results = {
+				(java.util.List) parser.parse(s),
+				(java.util.List) parser.parse(b),
+				// single char and single byte reads move every pending run during a refill
+				(java.util.List) parser.parse(new java.io.FilterReader(new StringReader(s)) {
+					public int read(char[] buf, int off, int len) throws IOException {
+						return super.read(buf, off, Math.min(len, 1));
+					}
+				}),
+				(java.util.List) parser.parse(new FilterInputStream(new ByteArrayInputStream(b)) {
+					public int read(byte[] buf, int off, int len) throws IOException {
+						return super.read(buf, off, Math.min(len, 1));
+					}
+				})
+		};
+		for (java.util.List result : results)
+			assertEquals(java.util.Arrays.asList(expected), result);
+	}
+
+	public void testSymbolTable() throws Exception {
+		JSONSymbolTable symbols = new JSONSymbolTable(16);
+		JSONParser parser = new JSONParser();
+		parser.setSymbolTable(symbols);
+		String s = "[{\"id\":1,\"n\\u00e4me\":\"a\",\"имя\":\"id\"},{\"id\":2,\"näme\":\"b\",\"имя\":\"x\"}]";
+
+		for (Object parsed : new Object[]{parser.parse(s), parser.parse(s.getBytes(StandardCharsets.UTF_8))}) {
+			JSONArray array = (JSONArray) parsed;
+			assertEquals(2, array.size());
+			assertEquals(3, ((JSONObject) array.get(1)).size());
+			for (Object o : array) {
+				for (Object key : ((JSONObject) o).keySet())
+					assertSame(key, symbols.intern((String) key));
+			}
+			assertEquals("id", ((JSONObject) array.get(0)).get("имя"));
+		}
+
+		// the table stays bounded and keeps answering with equal strings
+		for (int i = 0; i < 1000; i++)
+			assertEquals("key" + i, symbols.intern(("key" + i).toCharArray(), 0, ("key" + i).length()));
+
+		// keys are never taken for dates
+		JSONObject object = (JSONObject) new JSONParser().parse("{\"2020-01-01T10:00:00.000Z\":\"2020-01-01T10:00:00.000Z\"}");
+		assertEquals(java.time.Instant.parse("2020-01-01T10:00:00.000Z"), object.get("2020-01-01T10:00:00.000Z"));
+	}
+
+	public void testTemporals() throws Exception {
+		String s = "[\"2020-01-01T10:00:00.000Z\",\"2020-01-01T10:00:00.000\",\"2020-01-01T10:00:00.000+01:00[Europe/Paris]\","
+				+ "\"2020-01-01T10:00:00.000+01:00[Paris]\",\"2020-01-01T10:00:00.000ZZ\",\"2020-01-01 10:00:00.000\",\"2020\"]";
+		JSONParser parser = new JSONParser();
+		JSONArray array = (JSONArray) parser.parse(s);
+		System.out.println(array);
+		assertEquals(java.time.Instant.parse("2020-01-01T10:00:00.000Z"), array.get(0));
+		assertEquals(java.time.LocalDateTime.parse("2020-01-01T10:00:00.000"), array.get(1));
+		assertEquals(java.time.ZonedDateTime.parse("2020-01-01T10:00:00.000+01:00[Europe/Paris]"), array.get(2));
+		for (int i = 3; i < array.size(); i++)
+			assertTrue(array.get(i) instanceof String);
+
+		// date time shapes that are not date times stay strings
+		String impossible = "[\"2020-02-30T00:00:00.000+01:00[Europe/Paris]\",\"2020-01-01T10:00:00.000+01:00[Nowhere/Else]\","
+				+ "\"2020-13-01T00:00:00.000\",\"2020-01-01T25:00:00.000Z\"]";
+		for (Object o : (JSONArray) parser.parse(impossible))
+			assertTrue(o instanceof String);
+		assertEquals(parser.parse(impossible), parser.parse(impossible.getBytes(StandardCharsets.UTF_8)));
+
+		parser.setTemporalTypes(java.time.Instant.class);
+		array = (JSONArray) parser.parse(s);
+		assertTrue(array.get(0) instanceof java.time.Instant);
+		assertTrue(array.get(1) instanceof String);
+		assertTrue(array.get(2) instanceof String);
+
+		parser.setTemporalTypes();
+		array = (JSONArray) parser.parse(s);
+		for (Object o : array)
+			assertTrue(o instanceof String);
+
+		try {
+			parser.setTemporalTypes(java.util.Date.class);
+			fail();
+		} catch (IllegalArgumentException expected) {
+		}
+	}
+
+	public void testNumbers() throws Exception {
+		JSONParser parser = new JSONParser();
+		String s = "[2147483647,-2147483648,2147483648,9223372036854775807,-9223372036854775808,9223372036854775808,007]";
+		for (Object parsed : new Object[]{parser.parse(s), parser.parse(s.getBytes(StandardCharsets.UTF_8))}) {
+			JSONArray array = (JSONArray) parsed;
+			System.out.println(array);
+			// the list is widened to Long before the BigInteger is added
+			assertEquals((long) Integer.MAX_VALUE, array.get(0));
+			assertEquals((long) Integer.MIN_VALUE, array.get(1));
+			assertEquals(2147483648L, array.get(2));
+			assertEquals(Long.MAX_VALUE, array.get(3));
+			assertEquals(Long.MIN_VALUE, array.get(4));
+			assertEquals(new java.math.BigInteger("9223372036854775808"), array.get(5));
+			assertEquals(7, array.get(6));
+		}
+		assertEquals(-2147483648, parser.parse("-2147483648"));
+
+		String[] decimals = {"0.1", "-0.0", "1e23", "2.2250738585072014e-308", "4.9e-324", "2.4703282292062327e-324",
+				"9007199254740993.0", "1.7976931348623157e308", "123456789012345678901234567890.5", "000123.5e-2",
+				"1E-400", "3.0e+5"};
+		for (String decimal : decimals) {
+			assertEquals(decimal, Double.valueOf(decimal), parser.parse(decimal));
+			assertEquals(decimal, Double.valueOf(decimal), parser.parse(decimal.getBytes(StandardCharsets.UTF_8)));
+		}
+		java.util.Random random = new java.util.Random(8);
+		for (int i = 0; i < 10000; i++) {
+			String decimal = Double.toString(Double.longBitsToDouble(random.nextLong() >>> 1)).replace("E", "e");
+			if (!decimal.startsWith("N") && !decimal.startsWith("I"))
+				assertEquals(decimal, Double.valueOf(decimal), parser.parse(decimal));
+		}
+
+		assertEquals(new java.math.BigDecimal("1e400"), parser.parse("1e400"));
+		assertEquals(new java.math.BigDecimal("-1.7976931348623159e308"), parser.parse("-1.7976931348623159e308"));
+		assertEquals(new java.math.BigDecimal("1e1000000000"), parser.parse("1e1000000000"));
+
+		// every decimal beyond the double range is a BigDecimal, one beyond the BigDecimal range is an error
+		String beyond = "[1E400,1e99999999999]";
+		for (boolean lazy : new boolean[]{false, true}) {
+			parser.setLazyNumbers(lazy);
+			Object[] inputs = {beyond, beyond.getBytes(StandardCharsets.UTF_8), new StringReader(beyond), "1e-99999999999"};
+			for (Object input : inputs) {
+				try {
+					if (input instanceof String)
+						parser.parse((String) input);
+					else if (input instanceof byte[])
+						parser.parse((byte[]) input);
+					else
+						parser.parse((java.io.Reader) input);
+					fail(input.toString());
+				} catch (ParseException e) {
+					assertEquals(ParseException.ERROR_NUMBER_RANGE, e.getErrorType());
+					assertEquals(input instanceof String && ((String) input).startsWith("1") ? 0 : 7, e.getPosition());
+				}
+			}
+		}
+		parser.setLazyNumbers(false);
+	}
+
+	public void testTokenAllocation() throws Exception {
+		java.lang.management.ThreadMXBean bean = java.lang.management.ManagementFactory.getThreadMXBean();
+		if (!(bean instanceof com.sun.management.ThreadMXBean))
+			return;
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+		if (!threads.isThreadAllocatedMemorySupported() || !threads.isThreadAllocatedMemoryEnabled())
+			return;
+
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 1000; i++)
+			sb.append("[{},[true,false,null],{}],\n");
+		char[] text = sb.toString().toCharArray();
+		Yylex lexer = new Yylex((java.io.Reader) null);
+
+		long tokens = 0;
+		long allocated = 0;
+		for (int round = 0; round < 20; round++) {
+			lexer.yyreset(text, 0, text.length);
+			long before = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+			long count = 0;
+			while (lexer.yylex() != null)
+				count++;
+			long after = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+			assertEquals(16000, count);
+			// the first rounds run interpreted and may allocate for class loading
+			if (round >= 10) {
+				tokens += count;
+				allocated += after - before;
+			}
+		}
+		double bytesPerToken = (double) allocated / tokens;
+		System.out.println("bytes allocated per token: " + bytesPerToken);
+		assertTrue("bytes allocated per token: " + bytesPerToken, bytesPerToken < 0.5);
+	}
+
+	private static void assertMalformed(byte[] b, int position) {
+		ParseException err = null;
+		try {
+			new JSONParser().parse(b);
+		} catch (ParseException e) {
+			err = e;
+			assertEquals(ParseException.ERROR_UNEXPECTED_CHAR, e.getErrorType());
+			assertEquals(position, e.getPosition());
+		}
+		assertNotNull(err);
+	}
+
+	public void testBufferSize() throws Exception {
+		StringBuilder sb = new StringBuilder("{\"blob\":\"");
+		for (int i = 0; i < 5000; i++)
+			sb.append(i % 100 == 0 ? "\\/" : "x");
+		String big = sb.append("\",\"n\":[1,2.5]}").toString();
+		String small = "{\"id\":1,\"name\":\"abc\"}";
+
+		JSONParser parser = new JSONParser();
+		Object expected = parser.parse(big);
+		parser.setBufferSize(16);
+		assertEquals(expected, parser.parse(new StringReader(big)));
+		assertEquals(expected, parser.parse(new ByteArrayInputStream(big.getBytes(StandardCharsets.UTF_8))));
+		assertEquals(expected, parser.parse(big));
+		assertEquals(parser.parse(new StringReader(small)), parser.parse(small));
+		try {
+			parser.setBufferSize(0);
+			fail();
+		} catch (IllegalArgumentException expected0) {
+		}
+
+		java.lang.management.ThreadMXBean bean = java.lang.management.ManagementFactory.getThreadMXBean();
+		if (!(bean instanceof com.sun.management.ThreadMXBean))
+			return;
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+		if (!threads.isThreadAllocatedMemorySupported() || !threads.isThreadAllocatedMemoryEnabled())
+			return;
+		long allocated = 0;
+		for (int round = 0; round < 20; round++) {
+			long before = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+			new JSONParser().parse(small);
+			long after = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+			allocated = after - before;
+		}
+		// a new parser sizes its buffer to a short string instead of allocating 16K chars
+		System.out.println("bytes allocated per small parse: " + allocated);
+		assertTrue("bytes allocated per small parse: " + allocated, allocated < 4096);
+	}
+
+	public void testSkip() throws Exception {
+		String s = "{\"skip\":{\"s\":\"a\\\"}]\\\\\",\"n\":[1,-2.5e3,[true,null],{}]},\"keep\":[1,\"x\"],\"skip\":-12,"
+				+ "\"skip\" : \"\\u00e9}\" ,\"skip\":[],\"keep\":{\"skip\":\"п\"}}";
+		final StringBuilder events = new StringBuilder();
+		ContentHandler handler = new ContentHandler() {
+			public void startJSON() {
+			}
+
+			public void endJSON() {
+				events.append("end");
+			}
+
+			public boolean startObject() {
+				events.append('{');
+				return true;
+			}
+
+			public boolean endObject() {
+				events.append('}');
+				return true;
+			}
+
+			public boolean skipObjectEntry(String key) {
+				return key.equals("skip");
+			}
+
+			public boolean startObjectEntry(String key) {
+				events.append(key).append(':');
+				return true;
+			}
+
+			public boolean endObjectEntry() {
+				events.append(';');
+				return true;
+			}
+
+			public boolean startArray() {
+				events.append('[');
+				return true;
+			}
+
+			public boolean endArray() {
+				events.append(']');
+				return true;
+			}
+
+			public boolean primitive(Object value) {
+				events.append(value).append(',');
+				return true;
+			}
+		};
+		byte[] b = s.getBytes(StandardCharsets.UTF_8);
+		JSONParser parser = new JSONParser();
+		parser.parse(s, handler);
+		assertEquals("{keep:[1,x,];keep:{};}end", events.toString());
+		events.setLength(0);
+		parser.parse(b, handler);
+		assertEquals("{keep:[1,x,];keep:{};}end", events.toString());
+		events.setLength(0);
+		parser.parse(new java.io.FilterReader(new StringReader(s)) {
+			public int read(char[] buf, int off, int len) throws IOException {
+				return super.read(buf, off, Math.min(len, 1));
+			}
+		}, handler);
+		assertEquals("{keep:[1,x,];keep:{};}end", events.toString());
+		events.setLength(0);
+		parser.parse(new FilterInputStream(new ByteArrayInputStream(b)) {
+			public int read(byte[] buf, int off, int len) throws IOException {
+				return super.read(buf, off, Math.min(len, 1));
+			}
+		}, handler);
+		assertEquals("{keep:[1,x,];keep:{};}end", events.toString());
+
+		// like the parser, skipping takes a missing colon or repeated colons before the value
+		String[] lenient = {"{\"skip\" 1,\"keep\":2}", "{\"skip\"::[1],\"keep\":2}"};
+		for (String text : lenient) {
+			events.setLength(0);
+			parser.parse(text, handler);
+			assertEquals(text, "{keep:2,;}end", events.toString());
+		}
+
+		String[] malformed = {"{\"skip\":}", "{\"skip\":[1,2", "{\"skip\":\"abc", "{\"skip\"}", "{\"skip\":[1],\"b\":x}"};
+		int[] positions = {8, 12, 12, 7, 16};
+		for (int i = 0; i < malformed.length; i++) {
+			try {
+				parser.parse(malformed[i], handler);
+				fail(malformed[i]);
+			} catch (ParseException e) {
+				assertEquals(malformed[i], positions[i], e.getPosition());
+			}
+		}
+	}
+
+	public void testNumericListType() throws Exception {
+		JSONParser parser = new JSONParser();
+		assertEquals("[1,2,3]", JSONWriter.toJSONString((JSONArray) parser.parse("[1,2,3]")));
+		assertEquals(Integer.class, ((JSONArray) parser.parse("[1,2,3]")).get(2).getClass());
+		assertEquals(Long.class, ((JSONArray) parser.parse("[1,5000000000,3]")).get(0).getClass());
+		assertEquals(Long.class, ((JSONArray) parser.parse("[1,5000000000,3]")).get(2).getClass());
+		assertEquals("[1.0,5.0E9,2.5,3.0]", JSONWriter.toJSONString((JSONArray) parser.parse("[1,5000000000,2.5,3]")));
+		assertEquals("[1,\"x\",2.5]", JSONWriter.toJSONString((JSONArray) parser.parse("[1,\"x\",2.5]")));
+		assertEquals("[1,{},5000000000]", JSONWriter.toJSONString((JSONArray) parser.parse("[1,{},5000000000]")));
+		assertEquals("[1.0,2.5,[],3]", JSONWriter.toJSONString((JSONArray) parser.parse("[1,2.5,[],3]")));
+		assertEquals("[[1.0,0.5],[7]]", JSONWriter.toJSONString((JSONArray) parser.parse("[[1,0.5],[7]]")));
+
+		ContainerFactory linkedLists = new ContainerFactory() {
+			public java.util.Map createObjectContainer() {
+				return null;
+			}
+
+			public java.util.List creatArrayContainer() {
+				return new java.util.LinkedList();
+			}
+		};
+		assertEquals("[1.0,2.0,0.5]", JSONWriter.toJSONString((java.util.List) parser.parse("[1,2,0.5]", linkedLists)));
+	}
+
+	public void testDeepNesting() throws Exception {
+		StringBuilder sb = new StringBuilder();
+		int depth = 10000;
+		for (int i = 0; i < depth; i++)
+			sb.append("{\"a\":[");
+		sb.append("true");
+		for (int i = 0; i < depth; i++)
+			sb.append("]}");
+		JSONParser parser = new JSONParser();
+		Object value = parser.parse(sb.toString());
+		for (int i = 0; i < depth; i++)
+			value = ((JSONArray) ((JSONObject) value).get("a")).get(0);
+		assertEquals(Boolean.TRUE, value);
+
+		// the stacks are reused by the next parse
+		assertEquals("{\"b\":[]}", parser.parse("{\"b\":[]}").toString());
+	}
+
 	public void testLongAndInt() {
 		JSONArray<Integer> list1 = new JSONArray<Integer>() {{
 			add(1);
@@ -144,4 +577,50 @@ public class YylexTest extends TestCase {
 		Object object1Read = JSONReader.readObject(object1Str);
 		assertEquals(object1Read, object1);
 	}
+
+	/**
+	 * A reader returning one char per read, so that the lexer refills its buffer for every char.
+	 */
+	private static java.io.Reader oneCharReader(String s) {
+		return new java.io.FilterReader(new StringReader(s)) {
+			public int read(char[] buf, int off, int len) throws IOException {
+				return super.read(buf, off, Math.min(len, 1));
+			}
+		};
+	}
+
+	public void testPositionPast2GB() throws Exception {
+		// the input starts 4 chars before Integer.MAX_VALUE, the x is past it
+		long start = Integer.MAX_VALUE - 4L;
+		Yylex lexer = new Yylex(oneCharReader("[1,1,1]x"));
+		lexer.yyposition(start);
+		assertEquals(Yytoken.TYPE_LEFT_SQUARE, lexer.yylex().type);
+		assertEquals(Integer.MAX_VALUE - 4, lexer.getPosition());
+		assertEquals(Yytoken.TYPE_VALUE, lexer.yylex().type);
+		assertEquals(Integer.MAX_VALUE - 3, lexer.getPosition());
+		lexer.yyskip(1);
+		try {
+			lexer.yylex();
+			fail();
+		} catch (ParseException e) {
+			assertEquals(ParseException.ERROR_UNEXPECTED_CHAR, e.getErrorType());
+			assertEquals('x', e.getUnexpectedObject());
+			assertEquals(-1, e.getPosition());
+		}
+		assertEquals(-1, lexer.getPosition());
+
+		lexer = new Yylex(oneCharReader("[1,1,1]"));
+		lexer.yyposition(start);
+		lexer.limited = true;
+		lexer.maxLength = Integer.MAX_VALUE + 1L;
+		assertEquals(Yytoken.TYPE_LEFT_SQUARE, lexer.yylex().type);
+		try {
+			lexer.yyskip(1);
+			fail();
+		} catch (ParseException e) {
+			assertEquals(ParseException.ERROR_LENGTH_LIMIT, e.getErrorType());
+			assertEquals(Integer.MAX_VALUE + 1L, e.getUnexpectedObject());
+			assertEquals(-1, e.getPosition());
+		}
+	}
 }
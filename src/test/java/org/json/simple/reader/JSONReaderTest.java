@@ -101,4 +101,16 @@ public class JSONReaderTest extends TestCase {
 
 		assertEquals(jsonArray.toJSONString(), JSONReader.read(jsonArray.toString()).toJSONString());
 	}
+
+	public void testImpossibleDateTime() {
+		String s = "{\"a\":\"2020-02-30T00:00:00.000+01:00[Europe/Paris]\",\"b\":\"2020-01-01T10:00:00.000+01:00[Nowhere/Else]\","
+				+ "\"c\":\"2020-13-01T00:00:00.000\",\"d\":\"2020-01-01T25:00:00.000Z\"}";
+		JSONObject<String, Object> object = JSONReader.readObject(s, true);
+		assertEquals("2020-02-30T00:00:00.000+01:00[Europe/Paris]", object.get("a"));
+		assertEquals("2020-01-01T10:00:00.000+01:00[Nowhere/Else]", object.get("b"));
+		assertEquals("2020-13-01T00:00:00.000", object.get("c"));
+		assertEquals("2020-01-01T25:00:00.000Z", object.get("d"));
+		// an exponent beyond the BigDecimal range is a parse error
+		assertNull(JSONReader.readArray("[1e99999999999,-1e99999999999]", true));
+	}
 }